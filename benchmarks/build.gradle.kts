@@ -0,0 +1,17 @@
+plugins {
+  java
+  id("me.champeau.gradle.jmh") version "0.5.3"
+}
+
+dependencies {
+  jmh(project(":main"))
+  jmh("com.sedmelluq:lavaplayer-test-samples:1.3.11")
+  jmh("org.slf4j:slf4j-simple:1.7.25")
+}
+
+jmh {
+  jmhVersion = "1.29"
+  fork = 1
+  warmupIterations = 2
+  iterations = 5
+}
@@ -0,0 +1,33 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Access to the sample files of the test-samples module, so that the benchmarks do not need network access.
+ */
+public class BenchmarkSamples {
+  /**
+   * @param filename File name of the sample, for example demo-mp3cbr-48000.mp3
+   * @return Contents of the sample file
+   * @throws IOException If the sample is not on the classpath or could not be read
+   */
+  public static byte[] load(String filename) throws IOException {
+    try (InputStream input = BenchmarkSamples.class.getResourceAsStream("/test-samples/" + filename)) {
+      if (input == null) {
+        throw new IOException("Sample " + filename + " is missing, test-samples must be on the classpath.");
+      }
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int length;
+
+      while ((length = input.read(buffer)) != -1) {
+        output.write(buffer, 0, length);
+      }
+
+      return output.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame buffer which never blocks and drops every frame it receives, only keeping count of the frames and their size.
+ * Used as the output of decoding benchmarks so that the whole track can be processed in a single invocation.
+ */
+public class DiscardingFrameBuffer implements AudioFrameBuffer {
+  private long frameCount;
+  private long byteCount;
+  private Long lastTimecode;
+
+  /**
+   * @return Number of frames received since the last reset
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return Total data length of the frames received since the last reset
+   */
+  public long getByteCount() {
+    return byteCount;
+  }
+
+  /**
+   * Reset the frame and byte counters.
+   */
+  public void reset() {
+    frameCount = 0;
+    byteCount = 0;
+    lastTimecode = null;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) {
+    frameCount++;
+    byteCount += frame.getDataLength();
+    lastTimecode = frame.getTimecode();
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    // Nothing to rebuild
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public void waitForTermination() {
+    // Never holds any frames
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    // Never provides any frames
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    // Never holds any frames
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return false;
+  }
+
+  @Override
+  public void clear() {
+    // Never holds any frames
+  }
+
+  @Override
+  public void lockBuffer() {
+    // Frames are dropped anyway
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return frameCount > 0;
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    return lastTimecode;
+  }
+
+  @Override
+  public AudioFrame provide() {
+    return null;
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) {
+    return null;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    return false;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit) {
+    return false;
+  }
+}
@@ -0,0 +1,86 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackInfo;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackProvider;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameReader;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decodes a whole FLAC sample per invocation. {@link #readFrames()} only measures the frame and subframe readers,
+ * {@link #provideFrames()} also includes passing the samples through the output pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FlacDecodeBenchmark {
+  @Param({"demo-flac-48000-16bit.flac", "demo-flac-48000-24bit.flac"})
+  public String sample;
+
+  private byte[] data;
+  private DiscardingFrameBuffer frameBuffer;
+  private AudioProcessingContext context;
+
+  @Setup
+  public void setUp() throws IOException {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOutputFormat(StandardAudioDataFormats.DISCORD_PCM_S16_BE);
+
+    data = BenchmarkSamples.load(sample);
+    frameBuffer = new DiscardingFrameBuffer();
+    context = new AudioProcessingContext(configuration, frameBuffer, new AudioPlayerOptions(),
+        configuration.getOutputFormat());
+  }
+
+  @Benchmark
+  public long readFrames() throws IOException {
+    MemorySeekableInputStream inputStream = new MemorySeekableInputStream(data);
+    FlacTrackInfo info = new FlacFileLoader(inputStream).parseHeaders();
+
+    BitStreamReader reader = new BitStreamReader(inputStream);
+    int channelCount = info.stream.channelCount;
+    int[][] rawSampleBuffers = new int[channelCount][info.stream.maximumBlockSize];
+    short[][] sampleBuffers = new short[channelCount][info.stream.maximumBlockSize];
+    int[] temporaryBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
+
+    long totalSamples = 0;
+    int sampleCount;
+
+    while ((sampleCount = FlacFrameReader.readFlacFrame(inputStream, reader, info.stream, rawSampleBuffers,
+        sampleBuffers, temporaryBuffer)) != 0) {
+
+      totalSamples += sampleCount;
+    }
+
+    return totalSamples;
+  }
+
+  @Benchmark
+  public long provideFrames() throws IOException, InterruptedException {
+    frameBuffer.reset();
+
+    FlacTrackProvider provider = new FlacFileLoader(new MemorySeekableInputStream(data)).loadTrack(context);
+
+    try {
+      provider.provideFrames();
+    } finally {
+      provider.close();
+    }
+
+    return frameBuffer.getByteCount();
+  }
+}
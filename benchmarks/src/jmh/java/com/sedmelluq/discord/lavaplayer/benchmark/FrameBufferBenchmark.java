@@ -0,0 +1,98 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AtomicIndexAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
+import com.sedmelluq.discord.lavaplayer.track.playback.DirectAudioFrameBufferFactory;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of passing frames through the frame buffer implementations. Each invocation fills the buffer completely and
+ * then drains it into a direct buffer, like the send system would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FrameBufferBenchmark {
+  private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+  private static final int BUFFER_DURATION = 5000;
+  private static final int FRAME_COUNT = 200;
+
+  @Param({"allocating", "non-allocating", "atomic-index", "direct"})
+  public String implementation;
+
+  private AudioFrameBufferFactory factory;
+  private AudioFrameBuffer buffer;
+  private MutableAudioFrame inputFrame;
+  private MutableAudioFrame outputFrame;
+
+  @Setup
+  public void setUp() {
+    switch (implementation) {
+      case "allocating":
+        factory = AllocatingAudioFrameBuffer::new;
+        break;
+      case "non-allocating":
+        factory = NonAllocatingAudioFrameBuffer::new;
+        break;
+      case "atomic-index":
+        factory = AtomicIndexAudioFrameBuffer::new;
+        break;
+      default:
+        factory = new DirectAudioFrameBufferFactory();
+        break;
+    }
+
+    buffer = factory.create(BUFFER_DURATION, FORMAT, new AtomicBoolean());
+
+    ByteBuffer packet = ByteBuffer.allocateDirect(FORMAT.expectedChunkSize());
+    packet.put(new byte[FORMAT.expectedChunkSize()]);
+    packet.flip();
+
+    inputFrame = new MutableAudioFrame();
+    inputFrame.setFormat(FORMAT);
+    inputFrame.setVolume(100);
+    inputFrame.setBuffer(packet);
+
+    outputFrame = new MutableAudioFrame();
+    outputFrame.setBuffer(ByteBuffer.allocateDirect(FORMAT.maximumChunkSize()));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAME_COUNT)
+  public int fillAndDrain() throws InterruptedException {
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      inputFrame.setTimecode(i * 20L);
+      buffer.consume(inputFrame);
+    }
+
+    int provided = 0;
+
+    while (buffer.provide(outputFrame)) {
+      provided += outputFrame.getDataLength();
+    }
+
+    return provided;
+  }
+
+  @Benchmark
+  public AudioFrameBuffer createBuffer() {
+    return factory.create(BUFFER_DURATION, FORMAT, new AtomicBoolean());
+  }
+}
@@ -0,0 +1,60 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3TrackProvider;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decodes a whole MP3 sample with {@link Mp3TrackProvider#provideFrames()} per invocation. The output format has the
+ * same sample rate as the samples, so the resampler is not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Mp3DecodeBenchmark {
+  @Param({"demo-mp3cbr-48000.mp3", "demo-mp3vbr-48000.mp3"})
+  public String sample;
+
+  private byte[] data;
+  private DiscardingFrameBuffer frameBuffer;
+  private AudioProcessingContext context;
+
+  @Setup
+  public void setUp() throws IOException {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOutputFormat(StandardAudioDataFormats.DISCORD_PCM_S16_BE);
+
+    data = BenchmarkSamples.load(sample);
+    frameBuffer = new DiscardingFrameBuffer();
+    context = new AudioProcessingContext(configuration, frameBuffer, new AudioPlayerOptions(),
+        configuration.getOutputFormat());
+  }
+
+  @Benchmark
+  public long provideFrames() throws IOException, InterruptedException {
+    frameBuffer.reset();
+
+    Mp3TrackProvider provider = new Mp3TrackProvider(context, new MemorySeekableInputStream(data));
+
+    try {
+      provider.parseHeaders();
+      provider.provideFrames();
+    } finally {
+      provider.close();
+    }
+
+    return frameBuffer.getByteCount();
+  }
+}
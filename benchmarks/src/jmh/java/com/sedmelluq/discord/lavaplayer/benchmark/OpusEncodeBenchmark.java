@@ -0,0 +1,89 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.BufferingPostProcessor;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.OpusChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of encoding one 20ms stereo chunk of generated audio to Opus, both with the encoder alone and through
+ * {@link BufferingPostProcessor}, which is the last step of the output pipeline for Opus output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpusEncodeBenchmark {
+  private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+
+  @Param({"10", "5"})
+  public int quality;
+
+  private ShortBuffer input;
+  private ByteBuffer output;
+  private OpusChunkEncoder encoder;
+  private BufferingPostProcessor postProcessor;
+  private DiscardingFrameBuffer frameBuffer;
+  private long timecode;
+
+  @Setup
+  public void setUp() {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOpusEncodingQuality(quality);
+    configuration.setOutputFormat(FORMAT);
+
+    input = ByteBuffer.allocateDirect(FORMAT.totalSampleCount() * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+
+    for (int i = 0; i < FORMAT.chunkSampleCount; i++) {
+      for (int channel = 0; channel < FORMAT.channelCount; channel++) {
+        double sample = Math.sin(2 * Math.PI * (440 + channel * 110) * i / FORMAT.sampleRate) * 0.5;
+        input.put((short) (sample * Short.MAX_VALUE));
+      }
+    }
+
+    input.flip();
+    output = ByteBuffer.allocateDirect(FORMAT.maximumChunkSize());
+    encoder = new OpusChunkEncoder(configuration, FORMAT);
+
+    frameBuffer = new DiscardingFrameBuffer();
+    AudioProcessingContext context = new AudioProcessingContext(configuration, frameBuffer, new AudioPlayerOptions(),
+        FORMAT);
+    postProcessor = new BufferingPostProcessor(context, new OpusChunkEncoder(configuration, FORMAT));
+  }
+
+  @TearDown
+  public void tearDown() {
+    encoder.close();
+    postProcessor.close();
+  }
+
+  @Benchmark
+  public ByteBuffer encode() {
+    input.position(0);
+    output.clear();
+    encoder.encode(input, output);
+    return output;
+  }
+
+  @Benchmark
+  public long bufferingPostProcessor() throws InterruptedException {
+    input.position(0);
+    postProcessor.process(timecode += 20, input);
+    return frameBuffer.getByteCount();
+  }
+}
@@ -0,0 +1,156 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsPacketHeader;
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsStreamReader;
+import com.sedmelluq.discord.lavaplayer.container.common.AacPacketRouter;
+import com.sedmelluq.discord.lavaplayer.container.common.OpusPacketRouter;
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Routes all packets of a sample through the packet routers used by the Matroska and MP4 containers. The packets are
+ * extracted from the OGG Opus and ADTS samples beforehand, so only the routing, decoding and output pipeline are
+ * measured. With Opus output, Opus packets go through the passthrough path of the router.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PacketRouterBenchmark {
+  private static final String OPUS_SAMPLE = "demo-oggopus-48000.ogg";
+  private static final String AAC_SAMPLE = "demo-adts-48000.aac";
+
+  @Param({"opus", "pcm"})
+  public String output;
+
+  private DiscardingFrameBuffer frameBuffer;
+  private AudioProcessingContext context;
+  private ByteBuffer[] opusPackets;
+  private int opusChannelCount;
+  private ByteBuffer[] aacPackets;
+  private AdtsPacketHeader aacHeader;
+
+  @Setup
+  public void setUp() throws IOException {
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOutputFormat("opus".equals(output) ? StandardAudioDataFormats.DISCORD_OPUS :
+        StandardAudioDataFormats.DISCORD_PCM_S16_BE);
+
+    frameBuffer = new DiscardingFrameBuffer();
+    context = new AudioProcessingContext(configuration, frameBuffer, new AudioPlayerOptions(),
+        configuration.getOutputFormat());
+
+    loadOpusPackets();
+    loadAacPackets();
+  }
+
+  @Benchmark
+  public long opusRouter() throws InterruptedException {
+    frameBuffer.reset();
+
+    OpusPacketRouter router = new OpusPacketRouter(context, 48000, opusChannelCount);
+
+    try {
+      for (ByteBuffer packet : opusPackets) {
+        packet.position(0);
+        router.process(packet);
+      }
+
+      router.flush();
+    } finally {
+      router.close();
+    }
+
+    return frameBuffer.getByteCount();
+  }
+
+  @Benchmark
+  public long aacRouter() throws InterruptedException {
+    frameBuffer.reset();
+
+    AacPacketRouter router = new AacPacketRouter(context, decoder ->
+        decoder.configure(aacHeader.profile, aacHeader.sampleRate, aacHeader.channels));
+
+    try {
+      for (ByteBuffer packet : aacPackets) {
+        packet.position(0);
+        router.processInput(packet);
+      }
+
+      router.flush();
+    } finally {
+      router.close();
+    }
+
+    return frameBuffer.getByteCount();
+  }
+
+  private void loadOpusPackets() throws IOException {
+    OggPacketInputStream packetInputStream = new OggPacketInputStream(
+        new MemorySeekableInputStream(BenchmarkSamples.load(OPUS_SAMPLE)), false);
+
+    DirectBufferStreamBroker broker = new DirectBufferStreamBroker(1024);
+    List<ByteBuffer> packets = new ArrayList<>();
+
+    packetInputStream.startNewTrack();
+
+    while (packetInputStream.startNewPacket()) {
+      broker.consumeNext(packetInputStream, Integer.MAX_VALUE, Integer.MAX_VALUE);
+      packets.add(toDirectBuffer(broker.extractBytes()));
+    }
+
+    // The first two packets are the OpusHead and OpusTags headers.
+    opusChannelCount = packets.get(0).get(9) & 0xFF;
+    opusPackets = packets.subList(2, packets.size()).toArray(new ByteBuffer[0]);
+  }
+
+  private void loadAacPackets() throws IOException {
+    MemorySeekableInputStream inputStream = new MemorySeekableInputStream(BenchmarkSamples.load(AAC_SAMPLE));
+    AdtsStreamReader streamReader = new AdtsStreamReader(inputStream);
+    DataInputStream dataInput = new DataInputStream(inputStream);
+    List<ByteBuffer> packets = new ArrayList<>();
+    AdtsPacketHeader header;
+
+    while ((header = streamReader.findPacketHeader()) != null) {
+      if (aacHeader == null) {
+        aacHeader = header;
+      }
+
+      byte[] payload = new byte[header.payloadLength];
+
+      if (inputStream.available() < payload.length) {
+        break;
+      }
+
+      dataInput.readFully(payload);
+      packets.add(toDirectBuffer(payload));
+      streamReader.nextPacket();
+    }
+
+    aacPackets = packets.toArray(new ByteBuffer[0]);
+  }
+
+  private static ByteBuffer toDirectBuffer(byte[] data) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+    buffer.put(data);
+    buffer.flip();
+    return buffer;
+  }
+}
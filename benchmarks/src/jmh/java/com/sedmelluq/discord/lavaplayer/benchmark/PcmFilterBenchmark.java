@@ -0,0 +1,159 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.converter.ToFloatAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.equalizer.Equalizer;
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of the PCM filters for one 20ms stereo chunk of generated audio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PcmFilterBenchmark {
+  private static final int CHANNEL_COUNT = 2;
+  private static final int CHUNK_SAMPLES = 960;
+  private static final int VOLUME = 70;
+
+  private float[][] floatInput;
+  private short[] shortInput;
+  private ShortBuffer shortBuffer;
+  private Equalizer equalizer;
+  private ToFloatAudioFilter equalizerConverter;
+  private PcmVolumeProcessor volumeProcessor;
+  private CountingFilter sink;
+
+  @Setup
+  public void setUp() {
+    floatInput = new float[CHANNEL_COUNT][CHUNK_SAMPLES];
+    shortInput = new short[CHANNEL_COUNT * CHUNK_SAMPLES];
+
+    for (int i = 0; i < CHUNK_SAMPLES; i++) {
+      for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+        float sample = (float) Math.sin(2 * Math.PI * (440 + channel * 110) * i / 48000.0) * 0.5f;
+        floatInput[channel][i] = sample;
+        shortInput[i * CHANNEL_COUNT + channel] = (short) (sample * Short.MAX_VALUE);
+      }
+    }
+
+    shortBuffer = ShortBuffer.allocate(shortInput.length);
+    sink = new CountingFilter();
+    equalizer = new Equalizer(CHANNEL_COUNT, sink);
+
+    for (int band = 0; band < Equalizer.BAND_COUNT; band++) {
+      equalizer.setGain(band, band % 2 == 0 ? 0.2f : -0.1f);
+    }
+
+    equalizerConverter = new ToFloatAudioFilter(equalizer, CHANNEL_COUNT);
+    volumeProcessor = new PcmVolumeProcessor(100);
+  }
+
+  @TearDown
+  public void tearDown() {
+    equalizer.close();
+  }
+
+  @Benchmark
+  public long resample(ResamplerState state) throws InterruptedException {
+    state.resampler.process(floatInput, 0, CHUNK_SAMPLES);
+    return state.sink.sampleCount;
+  }
+
+  @Benchmark
+  public long equalizer() throws InterruptedException {
+    equalizer.process(floatInput, 0, CHUNK_SAMPLES);
+    return sink.sampleCount;
+  }
+
+  /**
+   * Short input converted to float in the same pass as the equalizer is applied, as set up by the filter chain builder.
+   */
+  @Benchmark
+  public long equalizerShortInput() throws InterruptedException {
+    equalizer.process(shortInput, 0, shortInput.length);
+    return sink.sampleCount;
+  }
+
+  /**
+   * Short input converted to float by a separate converter filter in front of the equalizer.
+   */
+  @Benchmark
+  public long equalizerShortInputUnfused() throws InterruptedException {
+    equalizerConverter.process(shortInput, 0, shortInput.length);
+    return sink.sampleCount;
+  }
+
+  @Benchmark
+  public ShortBuffer volume() {
+    shortBuffer.clear();
+    shortBuffer.put(shortInput);
+    shortBuffer.flip();
+
+    volumeProcessor.applyVolume(100, VOLUME, shortBuffer);
+    return shortBuffer;
+  }
+
+  /**
+   * Resampler from 44100Hz to 48000Hz, separate so that only the resampling benchmark runs for each quality.
+   */
+  @State(Scope.Thread)
+  public static class ResamplerState {
+    @Param({"LOW", "MEDIUM", "HIGH"})
+    public AudioConfiguration.ResamplingQuality quality;
+
+    private CountingFilter sink;
+    private ResamplingPcmAudioFilter resampler;
+
+    @Setup
+    public void setUp() {
+      AudioConfiguration configuration = new AudioConfiguration();
+      configuration.setResamplingQuality(quality);
+
+      sink = new CountingFilter();
+      resampler = new ResamplingPcmAudioFilter(configuration, CHANNEL_COUNT, sink, 44100, 48000);
+    }
+
+    @TearDown
+    public void tearDown() {
+      resampler.close();
+    }
+  }
+
+  private static class CountingFilter implements FloatPcmAudioFilter {
+    private long sampleCount;
+
+    @Override
+    public void process(float[][] input, int offset, int length) {
+      sampleCount += length;
+    }
+
+    @Override
+    public void seekPerformed(long requestedTime, long providedTime) {
+      // Nothing to do
+    }
+
+    @Override
+    public void flush() {
+      // Nothing to do
+    }
+
+    @Override
+    public void close() {
+      // Nothing to do
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.tools.VirtualThreadTools;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares platform and virtual playback threads. Each track is simulated by a thread which keeps its frame buffer
+ * full, one benchmark operation is a single send tick which takes one frame from every track, waking up every
+ * producer thread. Virtual thread runs fail on JVMs which do not support them, run only the platform ones there with
+ * {@code -p threads=platform}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaybackThreadBenchmark {
+  private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+  private static final int BUFFER_DURATION = 200;
+
+  @Param({"1000", "5000", "20000"})
+  public int trackCount;
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  private ExecutorService executor;
+  private AtomicBoolean stopping;
+  private AudioFrameBuffer[] buffers;
+  private MutableAudioFrame targetFrame;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    if ("virtual".equals(threads)) {
+      if (!VirtualThreadTools.isSupported()) {
+        throw new IllegalStateException("Virtual threads are not supported by this JVM.");
+      }
+
+      executor = VirtualThreadTools.createPerTaskExecutor("benchmark");
+    } else {
+      executor = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS, new SynchronousQueue<>(),
+          new DaemonThreadFactory("benchmark"));
+    }
+
+    stopping = new AtomicBoolean(false);
+    buffers = new AudioFrameBuffer[trackCount];
+    targetFrame = new MutableAudioFrame();
+    targetFrame.setBuffer(ByteBuffer.allocate(FORMAT.maximumChunkSize()));
+
+    AudioFrame frame = new ImmutableAudioFrame(0, new byte[FORMAT.expectedChunkSize()], 100, FORMAT);
+
+    for (int i = 0; i < trackCount; i++) {
+      AudioFrameBuffer buffer = new NonAllocatingAudioFrameBuffer(BUFFER_DURATION, FORMAT, stopping);
+      buffers[i] = buffer;
+      executor.execute(() -> produce(buffer, frame));
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws InterruptedException {
+    stopping.set(true);
+    executor.shutdownNow();
+    executor.awaitTermination(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public int sendTick() {
+    int provided = 0;
+
+    for (AudioFrameBuffer buffer : buffers) {
+      if (buffer.provide(targetFrame)) {
+        provided++;
+      }
+    }
+
+    return provided;
+  }
+
+  private static void produce(AudioFrameBuffer buffer, AudioFrame frame) {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        buffer.consume(frame);
+      }
+    } catch (InterruptedException e) {
+      // Benchmark iteration finished.
+    }
+  }
+}
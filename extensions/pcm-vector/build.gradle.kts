@@ -0,0 +1,39 @@
+plugins {
+  `java-library`
+  `maven-publish`
+}
+
+val moduleName = "lavaplayer-ext-pcm-vector"
+version = "0.1.0"
+
+java {
+  sourceCompatibility = JavaVersion.VERSION_17
+  targetCompatibility = JavaVersion.VERSION_17
+
+  toolchain {
+    languageVersion.set(JavaLanguageVersion.of(17))
+  }
+}
+
+tasks.withType<JavaCompile> {
+  options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
+dependencies {
+  compileOnly(project(":main"))
+}
+
+val sourcesJar by tasks.registering(Jar::class) {
+  archiveClassifier.set("sources")
+  from(sourceSets["main"].allSource)
+}
+
+publishing {
+  publications {
+    create<MavenPublication>("mavenJava") {
+      from(components["java"])
+      artifactId = moduleName
+      artifact(sourcesJar)
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.sedmelluq.lavaplayer.extensions.pcm.vector;
+
+import com.sedmelluq.discord.lavaplayer.filter.ScalarPcmOperations;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.ASHR;
+import static jdk.incubator.vector.VectorOperators.F2I;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.I2F;
+import static jdk.incubator.vector.VectorOperators.LE;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.S2I;
+
+/**
+ * PCM operations implemented with the incubating Vector API. Produces exactly the same output as the scalar
+ * implementation it extends, which it also uses for the remainders that do not fill a whole vector and for inputs the
+ * vectorized code cannot handle exactly. The JVM must be started with <code>--add-modules jdk.incubator.vector</code>,
+ * otherwise this class cannot be loaded and the scalar implementation is used instead.
+ *
+ * <p>Requires JDK 21 or newer at runtime. Older JVMs do not intrinsify the lane conversions used here, which makes
+ * the vectorized loops several times slower than the scalar ones.</p>
+ */
+public class VectorPcmOperations extends ScalarPcmOperations {
+  private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, INTS.vectorShape());
+  private static final VectorSpecies<Short> HALF_SHORTS = VectorSpecies.of(short.class,
+      VectorShape.forBitSize(INTS.vectorBitSize() / 2));
+
+  private static final long MAXIMUM_EXACT_QUOTIENT = 1 << 22;
+  private static final int MINIMUM_FEATURE_VERSION = 21;
+
+  /**
+   * Creates an instance, fails if the JVM is older than JDK 21 or the platform does not support vectors of at least
+   * 128 bits.
+   */
+  public VectorPcmOperations() {
+    if (Runtime.version().feature() < MINIMUM_FEATURE_VERSION) {
+      throw new UnsupportedOperationException("Vector API is too slow on JDK " + Runtime.version().feature() + ".");
+    }
+
+    if (INTS.vectorBitSize() < 128) {
+      throw new UnsupportedOperationException("Preferred vector size " + INTS.vectorBitSize() + " is too small.");
+    }
+  }
+
+  // Pairs of short samples are processed as int lanes, with the first sample of the pair in the low half. Lane
+  // reinterpretation uses little-endian order, so this matches the order of the samples in the short array.
+
+  @Override
+  public void scale(short[] samples, int offset, int length, int multiplier, int divisor) {
+    long maximumProduct = Math.abs((long) multiplier) * 32768L;
+
+    // The quotient is estimated with float division, which is exact to one unit only for small enough quotients.
+    if (maximumProduct > Integer.MAX_VALUE || maximumProduct / divisor >= MAXIMUM_EXACT_QUOTIENT) {
+      super.scale(samples, offset, length, multiplier, divisor);
+      return;
+    }
+
+    int end = offset + length;
+    int vectorEnd = offset + SHORTS.loopBound(length);
+    int position = offset;
+
+    for (; position < vectorEnd; position += SHORTS.length()) {
+      IntVector pairs = (IntVector) ShortVector.fromArray(SHORTS, samples, position).reinterpretShape(INTS, 0);
+
+      IntVector low = scale(lowHalf(pairs), multiplier, divisor);
+      IntVector high = scale(highHalf(pairs), multiplier, divisor);
+
+      combine(low, high).intoArray(samples, position);
+    }
+
+    super.scale(samples, position, end - position, multiplier, divisor);
+  }
+
+  @Override
+  public void deinterleaveToFloat(short[] input, int offset, float[][] output, int outputOffset, int length) {
+    if (output.length != 2) {
+      super.deinterleaveToFloat(input, offset, output, outputOffset, length);
+      return;
+    }
+
+    int vectorLength = INTS.loopBound(length);
+    int position = 0;
+
+    for (; position < vectorLength; position += INTS.length()) {
+      IntVector pairs = (IntVector) ShortVector.fromArray(SHORTS, input, offset + position * 2)
+          .reinterpretShape(INTS, 0);
+
+      toFloat(lowHalf(pairs)).intoArray(output[0], outputOffset + position);
+      toFloat(highHalf(pairs)).intoArray(output[1], outputOffset + position);
+    }
+
+    super.deinterleaveToFloat(input, offset + position * 2, output, outputOffset + position, length - position);
+  }
+
+  @Override
+  public void interleaveToShort(float[] first, float[] second, int offset, short[] output, int outputOffset,
+                                int length) {
+
+    int vectorLength = FLOATS.loopBound(length);
+    int position = 0;
+
+    for (; position < vectorLength; position += FLOATS.length()) {
+      IntVector left = toShortRange(FloatVector.fromArray(FLOATS, first, offset + position));
+      IntVector right = toShortRange(FloatVector.fromArray(FLOATS, second, offset + position));
+
+      combine(left, right).intoArray(output, outputOffset + position * 2);
+    }
+
+    super.interleaveToShort(first, second, offset + position, output, outputOffset + position * 2,
+        length - position);
+  }
+
+  @Override
+  public void interleave(short[] first, short[] second, int offset, short[] output, int outputOffset, int length) {
+    int vectorLength = INTS.loopBound(length);
+    int position = 0;
+
+    for (; position < vectorLength; position += INTS.length()) {
+      IntVector left = (IntVector) ShortVector.fromArray(HALF_SHORTS, first, offset + position)
+          .convertShape(S2I, INTS, 0);
+      IntVector right = (IntVector) ShortVector.fromArray(HALF_SHORTS, second, offset + position)
+          .convertShape(S2I, INTS, 0);
+
+      combine(left, right).intoArray(output, outputOffset + position * 2);
+    }
+
+    super.interleave(first, second, offset + position, output, outputOffset + position * 2, length - position);
+  }
+
+  @Override
+  public String toString() {
+    return "VectorPcmOperations{bits=" + INTS.vectorBitSize() + "}";
+  }
+
+  private static IntVector lowHalf(IntVector pairs) {
+    return pairs.lanewise(LSHL, 16).lanewise(ASHR, 16);
+  }
+
+  private static IntVector highHalf(IntVector pairs) {
+    return pairs.lanewise(ASHR, 16);
+  }
+
+  private static ShortVector combine(IntVector low, IntVector high) {
+    return (ShortVector) high.lanewise(LSHL, 16).or(low.and(0xFFFF)).reinterpretShape(SHORTS, 0);
+  }
+
+  private static IntVector scale(IntVector samples, int multiplier, int divisor) {
+    IntVector product = samples.mul(multiplier);
+    FloatVector estimate = ((FloatVector) product.convertShape(I2F, FLOATS, 0)).div((float) divisor);
+    IntVector quotient = (IntVector) estimate.convertShape(F2I, INTS, 0);
+    IntVector remainder = product.sub(quotient.mul(divisor));
+
+    // Correct the estimate by one where it is off, so that it matches integer division rounding towards zero.
+    VectorMask<Integer> negative = product.lt(0);
+    VectorMask<Integer> positive = negative.not();
+    VectorMask<Integer> increment = positive.and(remainder.compare(GE, divisor))
+        .or(negative.and(remainder.compare(GT, 0)));
+    VectorMask<Integer> decrement = positive.and(remainder.lt(0))
+        .or(negative.and(remainder.compare(LE, -divisor)));
+
+    return quotient.add(1, increment).sub(1, decrement).max(-32767).min(32767);
+  }
+
+  private static FloatVector toFloat(IntVector samples) {
+    return ((FloatVector) samples.convertShape(I2F, FLOATS, 0)).div(32768.0f);
+  }
+
+  private static IntVector toShortRange(FloatVector samples) {
+    return (IntVector) samples.mul(32768.0f).max(-32768.0f).min(32767.0f).convertShape(F2I, INTS, 0);
+  }
+
+}
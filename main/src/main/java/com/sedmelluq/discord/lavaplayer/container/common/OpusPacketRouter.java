@@ -19,15 +19,25 @@ import org.slf4j.LoggerFactory;
  * A router for opus packets to the output specified by an audio processing context. It automatically detects if the
  * packets can go clean through to the output without any decoding and encoding steps on each packet and rebuilds the
  * pipeline of the output if necessary.
+ *
+ * Muted audio is also passed through, since frames with volume 0 are replaced with silence when provided. When
+ * switching to decoding mid-stream, the decoder is primed with the last few passed through packets so that its output
+ * continues from the previous audio instead of starting from a cold state. Switching back to passthrough is delayed
+ * for a while, so that volume changes passing through 100 do not keep recreating the decoding pipeline.
  */
 public class OpusPacketRouter {
   private static final Logger log = LoggerFactory.getLogger(OpusPacketRouter.class);
 
+  private static final int PRIMING_PACKET_COUNT = 2;
+  private static final int PASSTHROUGH_SWITCH_DELAY = 50;
+
   private final AudioProcessingContext context;
   private final int inputFrequency;
   private final int inputChannels;
   private final byte[] headerBytes;
   private final MutableAudioFrame offeredFrame;
+  private final byte[][] recentPackets;
+  private final int[] recentPacketLengths;
 
   private long currentFrameDuration;
   private long currentTimecode;
@@ -38,6 +48,9 @@ public class OpusPacketRouter {
   private ShortBuffer frameBuffer;
   private AudioDataFormat inputFormat;
   private int lastFrameSize;
+  private int recentPacketCount;
+  private int nextRecentPacket;
+  private int passthroughSwitchCounter;
 
   /**
    * @param context Configuration and output information for processing
@@ -51,6 +64,8 @@ public class OpusPacketRouter {
     this.headerBytes = new byte[2];
     this.offeredFrame = new MutableAudioFrame();
     this.lastFrameSize = 0;
+    this.recentPackets = new byte[PRIMING_PACKET_COUNT][];
+    this.recentPacketLengths = new int[PRIMING_PACKET_COUNT];
 
     offeredFrame.setVolume(100);
     offeredFrame.setFormat(context.outputFormat);
@@ -65,6 +80,7 @@ public class OpusPacketRouter {
   public void seekPerformed(long requestedTimecode, long providedTimecode) {
     this.requestedTimecode = requestedTimecode;
     currentTimecode = providedTimecode;
+    recentPacketCount = 0;
 
     if (downstream != null) {
       downstream.seekPerformed(requestedTimecode, providedTimecode);
@@ -133,6 +149,11 @@ public class OpusPacketRouter {
   }
 
   private void passDownstream(ByteBuffer buffer, int frameSize) throws InterruptedException {
+    decodePacket(buffer, frameSize);
+    downstream.process(frameBuffer);
+  }
+
+  private void decodePacket(ByteBuffer buffer, int frameSize) {
     ByteBuffer nativeBuffer;
 
     if (!buffer.isDirect()) {
@@ -157,10 +178,11 @@ public class OpusPacketRouter {
     frameBuffer.limit(frameSize);
 
     opusDecoder.decode(nativeBuffer, frameBuffer);
-    downstream.process(frameBuffer);
   }
 
   private void passThrough(ByteBuffer buffer) throws InterruptedException {
+    rememberPacket(buffer);
+
     if (requestedTimecode < currentTimecode) {
       offeredFrame.setTimecode(currentTimecode);
       offeredFrame.setBuffer(buffer);
@@ -169,20 +191,67 @@ public class OpusPacketRouter {
     }
   }
 
+  private void rememberPacket(ByteBuffer buffer) {
+    int length = buffer.remaining();
+    byte[] packet = recentPackets[nextRecentPacket];
+
+    if (packet == null || packet.length < length) {
+      packet = new byte[length];
+      recentPackets[nextRecentPacket] = packet;
+    }
+
+    buffer.mark();
+    buffer.get(packet, 0, length);
+    buffer.reset();
+
+    recentPacketLengths[nextRecentPacket] = length;
+    nextRecentPacket = (nextRecentPacket + 1) % PRIMING_PACKET_COUNT;
+    recentPacketCount = Math.min(recentPacketCount + 1, PRIMING_PACKET_COUNT);
+  }
+
+  private void primeDecoder() {
+    for (int i = recentPacketCount; i > 0; i--) {
+      int index = (nextRecentPacket - i + PRIMING_PACKET_COUNT) % PRIMING_PACKET_COUNT;
+      byte[] packet = recentPackets[index];
+      int length = recentPacketLengths[index];
+      int frameSize = OpusDecoder.getPacketFrameSize(inputFrequency, packet, 0, length);
+
+      if (frameSize != 0) {
+        // Output is discarded, this only brings the decoder state in line with what the receiver has already decoded.
+        decodePacket(ByteBuffer.wrap(packet, 0, length), frameSize);
+      }
+    }
+
+    recentPacketCount = 0;
+  }
+
   private void checkDecoderNecessity() {
-    if (AudioPipelineFactory.isProcessingRequired(context, inputFormat)) {
+    // Frames with volume 0 carry audio with volume 100 and are replaced with silence when provided.
+    if (AudioPipelineFactory.isProcessingRequiredUnlessMuted(context, inputFormat)) {
+      passthroughSwitchCounter = 0;
+
       if (opusDecoder == null) {
         log.debug("Enabling reencode mode on opus track.");
 
         initialiseDecoder();
+        primeDecoder();
 
         AudioFrameVolumeChanger.apply(context);
       }
-    } else {
-      if (opusDecoder != null) {
+    } else if (opusDecoder != null) {
+      if (++passthroughSwitchCounter >= PASSTHROUGH_SWITCH_DELAY) {
         log.debug("Enabling passthrough mode on opus track.");
 
         destroyDecoder();
+        offeredFrame.setVolume(context.playerOptions.volumeLevel.get());
+
+        AudioFrameVolumeChanger.apply(context);
+      }
+    } else {
+      int volume = context.playerOptions.volumeLevel.get();
+
+      if (offeredFrame.getVolume() != volume) {
+        offeredFrame.setVolume(volume);
 
         AudioFrameVolumeChanger.apply(context);
       }
@@ -124,6 +124,10 @@ public class MatroskaVorbisTrackConsumer implements MatroskaTrackConsumer {
   }
 
   private ByteBuffer getAsDirectBuffer(ByteBuffer data) {
+    if (data.isDirect()) {
+      return data;
+    }
+
     ByteBuffer buffer = getDirectBuffer(data.remaining());
 
     while (data.remaining() > 0) {
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.matroska.format;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferReadable;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
@@ -12,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 public class MatroskaFileReader {
   private final SeekableInputStream inputStream;
   private final DataInput dataInput;
+  private final ByteBufferReadable bufferInput;
   private final MutableMatroskaElement[] levels;
   private final MutableMatroskaBlock mutableBlock;
 
@@ -21,6 +23,7 @@ public class MatroskaFileReader {
   public MatroskaFileReader(SeekableInputStream inputStream) {
     this.inputStream = inputStream;
     this.dataInput = new DataInputStream(inputStream);
+    this.bufferInput = inputStream instanceof ByteBufferReadable ? (ByteBufferReadable) inputStream : null;
     this.levels = new MutableMatroskaElement[8];
     this.mutableBlock = new MutableMatroskaBlock();
   }
@@ -211,4 +214,11 @@ public class MatroskaFileReader {
   public DataInput getDataInput() {
     return dataInput;
   }
+
+  /**
+   * @return The input stream for reading data as views without copying it, null if the stream does not support it
+   */
+  public ByteBufferReadable getBufferInput() {
+    return bufferInput;
+  }
 }
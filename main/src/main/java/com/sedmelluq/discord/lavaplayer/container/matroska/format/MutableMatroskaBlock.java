@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.matroska.format;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferReadable;
 import java.io.DataInput;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -45,6 +46,11 @@ public class MutableMatroskaBlock implements MatroskaBlock {
     }
 
     int frameSize = frameSizes[index];
+    ByteBufferReadable bufferInput = reader.getBufferInput();
+
+    if (bufferInput != null) {
+      return bufferInput.readBuffer(frameSize);
+    }
 
     if (buffer == null || frameSize > buffer.capacity()) {
       buffer = ByteBuffer.allocate(frameSizes[index] * 2);
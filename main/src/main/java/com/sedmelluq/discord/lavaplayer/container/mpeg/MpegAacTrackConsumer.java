@@ -81,6 +81,23 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
     }
   }
 
+  @Override
+  public void consume(ByteBuffer data) throws InterruptedException {
+    if (!data.isDirect()) {
+      MpegTrackConsumer.super.consume(data);
+      return;
+    }
+
+    while (data.hasRemaining()) {
+      int chunk = Math.min(data.remaining(), inputBuffer.capacity());
+      ByteBuffer chunkBuffer = data.duplicate();
+      chunkBuffer.limit(chunkBuffer.position() + chunk);
+
+      packetRouter.processInput(chunkBuffer);
+      data.position(data.position() + chunk);
+    }
+  }
+
   @Override
   public void close() {
     packetRouter.close();
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.mpeg;
 
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 
 /**
@@ -40,6 +41,11 @@ public class MpegNoopTrackConsumer implements MpegTrackConsumer {
     // Nothing to do
   }
 
+  @Override
+  public void consume(ByteBuffer data) throws InterruptedException {
+    // Nothing to do
+  }
+
   @Override
   public void close() {
     // Nothing to do
@@ -1,5 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.container.mpeg;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 
 /**
@@ -38,6 +41,15 @@ public interface MpegTrackConsumer {
    */
   void consume(ReadableByteChannel channel, int length) throws InterruptedException;
 
+  /**
+   * Consume one chunk from the track which is already in memory, for example when the file is mapped into memory
+   * @param data Buffer with the chunk between its position and limit
+   * @throws InterruptedException When interrupted externally (or for seek/stop).
+   */
+  default void consume(ByteBuffer data) throws InterruptedException {
+    consume(Channels.newChannel(new ByteBufferInputStream(data)), data.remaining());
+  }
+
   /**
    * Free all resources
    */
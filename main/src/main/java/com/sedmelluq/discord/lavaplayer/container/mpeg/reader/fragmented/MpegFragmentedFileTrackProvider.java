@@ -6,6 +6,7 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegReader;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegSectionInfo;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegVersionedSectionInfo;
 import com.sedmelluq.discord.lavaplayer.tools.Units;
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferReadable;
 import com.sedmelluq.discord.lavaplayer.tools.io.DetachedByteChannel;
 import java.io.IOException;
 import java.nio.channels.Channels;
@@ -65,7 +66,7 @@ public class MpegFragmentedFileTrackProvider implements MpegFileTrackProvider {
         for (int i = 0; i < fragment.sampleSizes.length; i++) {
           handleSeeking(consumer, timecode);
 
-          consumer.consume(channel, fragment.sampleSizes[i]);
+          consumeSample(channel, fragment.sampleSizes[i]);
         }
 
         reader.skip(mdat);
@@ -154,6 +155,14 @@ public class MpegFragmentedFileTrackProvider implements MpegFileTrackProvider {
     globalSeekInfo = new MpegGlobalSeekInfo(timescale, sbix.offset + sbix.length, entries);
   }
 
+  private void consumeSample(ReadableByteChannel channel, int length) throws IOException, InterruptedException {
+    if (reader.seek instanceof ByteBufferReadable) {
+      consumer.consume(((ByteBufferReadable) reader.seek).readBuffer(length));
+    } else {
+      consumer.consume(channel, length);
+    }
+  }
+
   private void handleSeeking(MpegTrackConsumer consumer, long timecode) {
     if (seeking) {
       // Even though sample durations may be available, decoding doesn't work if we don't start from the beginning
@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackConsumer;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegFileTrackProvider;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegReader;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegVersionedSectionInfo;
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferReadable;
 import com.sedmelluq.discord.lavaplayer.tools.io.DetachedByteChannel;
 import java.io.IOException;
 import java.nio.channels.Channels;
@@ -71,7 +72,7 @@ public class MpegStandardFileTrackProvider implements MpegFileTrackProvider {
 
         int[] samples = seekInfo.chunkSamples[currentChunk];
         for (int i = 0; i < samples.length; i++) {
-          consumer.consume(channel, samples[i]);
+          consumeSample(channel, samples[i]);
         }
 
         currentChunk++;
@@ -144,6 +145,14 @@ public class MpegStandardFileTrackProvider implements MpegFileTrackProvider {
     builders.add(seekInfoBuilder);
   }
 
+  private void consumeSample(ReadableByteChannel channel, int length) throws IOException, InterruptedException {
+    if (reader.seek instanceof ByteBufferReadable) {
+      consumer.consume(((ByteBufferReadable) reader.seek).readBuffer(length));
+    } else {
+      consumer.consume(channel, length);
+    }
+  }
+
   private void parseTimeToSample(TrackSeekInfoBuilder seekInfoBuilder) throws IOException {
     int entries = reader.data.readInt();
     seekInfoBuilder.sampleTimeCounts = new int[entries];
@@ -21,6 +21,22 @@ public class AudioPipelineFactory {
         context.playerOptions.filterFactory.get() != null;
   }
 
+  /**
+   * Same as {@link #isProcessingRequired(AudioProcessingContext, AudioDataFormat)}, except that volume 0 does not
+   * require processing either. For producers which pass their frames through with the volume level recorded on them,
+   * since such frames are replaced with silence when provided.
+   *
+   * @param context Audio processing context to check output format from
+   * @param inputFormat Input format of the audio
+   * @return True if processing is required with this context and input format combination, unless the frames are muted
+   */
+  public static boolean isProcessingRequiredUnlessMuted(AudioProcessingContext context, AudioDataFormat inputFormat) {
+    int volume = context.playerOptions.volumeLevel.get();
+
+    return !context.outputFormat.equals(inputFormat) || (volume != 100 && volume != 0) ||
+        context.playerOptions.filterFactory.get() != null;
+  }
+
   /**
    * Creates an audio pipeline instance based on provided settings.
    *
@@ -31,27 +47,33 @@ public class AudioPipelineFactory {
   public static AudioPipeline create(AudioProcessingContext context, PcmFormat inputFormat) {
     int inputChannels = inputFormat.channelCount;
     int outputChannels = context.outputFormat.channelCount;
+    boolean userFiltersEnabled = context.filterHotSwapEnabled || context.playerOptions.filterFactory.get() != null;
+    boolean resamplingRequired = inputFormat.sampleRate != context.outputFormat.sampleRate;
+
+    // With nothing else in the chain, the final filter maps the channels itself while filling the output chunks.
+    int finalInputChannels = userFiltersEnabled || resamplingRequired ? outputChannels : inputChannels;
 
-    UniversalPcmAudioFilter end = new FinalPcmAudioFilter(context, createPostProcessors(context));
+    UniversalPcmAudioFilter end = new FinalPcmAudioFilter(context, createPostProcessors(context), finalInputChannels);
     FilterChainBuilder builder = new FilterChainBuilder();
     builder.addFirst(end);
 
-    if (context.filterHotSwapEnabled || context.playerOptions.filterFactory.get() != null) {
+    if (userFiltersEnabled) {
       UserProvidedAudioFilters userFilters = new UserProvidedAudioFilters(context, end);
       builder.addFirst(userFilters);
     }
 
-    if (inputFormat.sampleRate != context.outputFormat.sampleRate) {
+    if (resamplingRequired) {
       builder.addFirst(new ResamplingPcmAudioFilter(context.configuration, outputChannels,
           builder.makeFirstFloat(outputChannels), inputFormat.sampleRate, context.outputFormat.sampleRate));
     }
 
-    if (inputChannels != outputChannels) {
+    if (inputChannels != finalInputChannels) {
       builder.addFirst(new ChannelCountPcmAudioFilter(inputChannels, outputChannels,
           builder.makeFirstUniversal(outputChannels)));
     }
 
-    return new AudioPipeline(builder.build(null, inputChannels));
+    AudioFilterChain chain = builder.build(null, inputChannels);
+    return context.metrics != null ? new MeasuredAudioPipeline(chain, context.metrics) : new AudioPipeline(chain);
   }
 
   private static Collection<AudioPostProcessor> createPostProcessors(AudioProcessingContext context) {
@@ -31,7 +31,14 @@ public class BufferingPostProcessor implements AudioPostProcessor {
   @Override
   public void process(long timecode, ShortBuffer buffer) throws InterruptedException {
     outputBuffer.clear();
-    encoder.encode(buffer, outputBuffer);
+
+    if (context.metrics != null) {
+      long start = System.nanoTime();
+      encoder.encode(buffer, outputBuffer);
+      context.metrics.addEncodeTime(System.nanoTime() - start);
+    } else {
+      encoder.encode(buffer, outputBuffer);
+    }
 
     offeredFrame.setTimecode(timecode);
     offeredFrame.setVolume(context.playerOptions.volumeLevel.get());
@@ -11,6 +11,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Collects buffers of the required chunk size and passes them on to audio post processors.
+ *
+ * Samples are converted to the output representation in blocks which are copied to the chunk buffer at once. When the
+ * number of channels in the interleaved short input differs from the output, the channels are also mapped in the same
+ * pass, the same way as {@link ChannelCountPcmAudioFilter} does it, so that filter is not needed in front of this one.
  */
 public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
   private static final Logger log = LoggerFactory.getLogger(FinalPcmAudioFilter.class);
@@ -19,7 +23,12 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
   private final AudioDataFormat format;
   private final ShortBuffer frameBuffer;
   private final Collection<AudioPostProcessor> postProcessors;
+  private final PcmOperations operations;
+  private final int inputChannels;
+  private final short[] inputFrame;
+  private final short[] conversionBuffer;
 
+  private int inputFrameIndex;
   private long ignoredFrames;
   private long timecodeBase;
   private long timecodeSampleOffset;
@@ -29,24 +38,36 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
    * @param postProcessors Post processors to pass the final audio buffers to
    */
   public FinalPcmAudioFilter(AudioProcessingContext context, Collection<AudioPostProcessor> postProcessors) {
+    this(context, postProcessors, context.outputFormat.channelCount);
+  }
+
+  /**
+   * @param context Configuration and output information for processing
+   * @param postProcessors Post processors to pass the final audio buffers to
+   * @param inputChannels Number of channels in interleaved short input
+   */
+  public FinalPcmAudioFilter(AudioProcessingContext context, Collection<AudioPostProcessor> postProcessors,
+                             int inputChannels) {
+
     this.format = context.outputFormat;
     this.frameBuffer = ByteBuffer
         .allocateDirect(format.totalSampleCount() * 2)
         .order(ByteOrder.nativeOrder())
         .asShortBuffer();
     this.postProcessors = postProcessors;
+    this.operations = PcmOperationsProvider.get();
+    this.inputChannels = inputChannels;
+    this.inputFrame = new short[inputChannels];
+    this.conversionBuffer = new short[format.totalSampleCount()];
 
     timecodeBase = 0;
     timecodeSampleOffset = 0;
   }
 
-  private short decodeSample(float sample) {
-    return (short) Math.min(Math.max((int)(sample * 32768.f), -32768), 32767);
-  }
-
   @Override
   public void seekPerformed(long requestedTime, long providedTime) {
     frameBuffer.clear();
+    inputFrameIndex = 0;
     ignoredFrames = requestedTime > providedTime ? (requestedTime - providedTime) * format.channelCount * format.sampleRate / 1000L : 0;
     timecodeBase = Math.max(requestedTime, providedTime);
     timecodeSampleOffset = 0;
@@ -83,35 +104,40 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
 
   @Override
   public void process(short[] input, int offset, int length) throws InterruptedException {
-    for (int i = 0; i < length; i++) {
-      if (ignoredFrames > 0) {
-        ignoredFrames--;
-      } else {
-        frameBuffer.put(input[offset + i]);
-
-        dispatch();
-      }
+    if (inputChannels != format.channelCount) {
+      processRemapped(ShortBuffer.wrap(input, offset, length));
+    } else {
+      writeSamples(input, offset, length);
     }
   }
 
   @Override
   public void process(short[][] input, int offset, int length) throws InterruptedException {
-    int secondChannelIndex = Math.min(1, input.length - 1);
+    short[] first = input[0];
+    short[] second = input[Math.min(1, input.length - 1)];
+    int skipped = skipIgnoredFrames(length, format.channelCount);
+    int end = offset + length;
 
-    for (int i = 0; i < length; i++) {
-      if (ignoredFrames > 0) {
-        ignoredFrames -= format.channelCount;
-      } else {
-        frameBuffer.put(input[0][offset + i]);
-        frameBuffer.put(input[secondChannelIndex][offset + i]);
+    offset += skipped;
 
-        dispatch();
-      }
+    while (offset < end) {
+      int chunkLength = Math.min(end - offset, Math.max(frameBuffer.remaining() / 2, 1));
+
+      operations.interleave(first, second, offset, conversionBuffer, 0, chunkLength);
+      frameBuffer.put(conversionBuffer, 0, chunkLength * 2);
+      offset += chunkLength;
+
+      dispatch();
     }
   }
 
   @Override
   public void process(ShortBuffer buffer) throws InterruptedException {
+    if (inputChannels != format.channelCount) {
+      processRemapped(buffer);
+      return;
+    }
+
     if (ignoredFrames > 0) {
       long skipped = Math.min(buffer.remaining(), ignoredFrames);
       buffer.position(buffer.position() + (int) skipped);
@@ -134,20 +160,74 @@ public class FinalPcmAudioFilter implements UniversalPcmAudioFilter {
 
   @Override
   public void process(float[][] buffer, int offset, int length) throws InterruptedException {
-    int secondChannelIndex = Math.min(1, buffer.length - 1);
+    float[] first = buffer[0];
+    float[] second = buffer[Math.min(1, buffer.length - 1)];
+    int skipped = skipIgnoredFrames(length, 2);
+    int end = offset + length;
+
+    offset += skipped;
+
+    while (offset < end) {
+      int chunkLength = Math.min(end - offset, Math.max(frameBuffer.remaining() / 2, 1));
 
-    for (int i = 0; i < length; i++) {
-      if (ignoredFrames > 0) {
-        ignoredFrames -= 2;
-      } else {
-        frameBuffer.put(decodeSample(buffer[0][offset + i]));
-        frameBuffer.put(decodeSample(buffer[secondChannelIndex][offset + i]));
+      operations.interleaveToShort(first, second, offset, conversionBuffer, 0, chunkLength);
+      frameBuffer.put(conversionBuffer, 0, chunkLength * 2);
+      offset += chunkLength;
 
-        dispatch();
+      dispatch();
+    }
+  }
+
+  private void processRemapped(ShortBuffer buffer) throws InterruptedException {
+    int outputChannels = format.channelCount;
+
+    while (buffer.hasRemaining()) {
+      int count = 0;
+
+      while (buffer.hasRemaining() && count <= conversionBuffer.length - outputChannels) {
+        inputFrame[inputFrameIndex++] = buffer.get();
+
+        if (inputFrameIndex == inputChannels) {
+          for (int channel = 0; channel < outputChannels; channel++) {
+            conversionBuffer[count++] = inputFrame[channel < inputChannels ? channel : 0];
+          }
+
+          inputFrameIndex = 0;
+        }
       }
+
+      writeSamples(conversionBuffer, 0, count);
+    }
+  }
+
+  private void writeSamples(short[] samples, int offset, int length) throws InterruptedException {
+    if (ignoredFrames > 0) {
+      int skipped = (int) Math.min(length, ignoredFrames);
+      offset += skipped;
+      length -= skipped;
+      ignoredFrames -= skipped;
+    }
+
+    while (length > 0) {
+      int chunk = Math.min(length, frameBuffer.remaining());
+      frameBuffer.put(samples, offset, chunk);
+      offset += chunk;
+      length -= chunk;
+
+      dispatch();
     }
   }
 
+  private int skipIgnoredFrames(int length, int samplesPerFrame) {
+    if (ignoredFrames <= 0) {
+      return 0;
+    }
+
+    int skipped = (int) Math.min(length, (ignoredFrames + samplesPerFrame - 1) / samplesPerFrame);
+    ignoredFrames -= (long) skipped * samplesPerFrame;
+    return skipped;
+  }
+
   private void dispatch() throws InterruptedException {
     if (!frameBuffer.hasRemaining()) {
       long timecode = timecodeBase + timecodeSampleOffset * 1000 / format.sampleRate;
@@ -0,0 +1,65 @@
+package com.sedmelluq.discord.lavaplayer.filter;
+
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
+import java.nio.ShortBuffer;
+
+/**
+ * Audio pipeline which records the time spent in the filter chain into the metrics of the track. Only used when
+ * metrics are enabled, so that pipelines of tracks without metrics do not pay for the measurement.
+ */
+public class MeasuredAudioPipeline extends AudioPipeline {
+  private final AudioTrackMetrics metrics;
+
+  /**
+   * @param chain The top-level filter chain.
+   * @param metrics The metrics to record into.
+   */
+  public MeasuredAudioPipeline(AudioFilterChain chain, AudioTrackMetrics metrics) {
+    super(chain);
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void process(float[][] input, int offset, int length) throws InterruptedException {
+    metrics.pipelineStarted();
+
+    try {
+      super.process(input, offset, length);
+    } finally {
+      metrics.pipelineFinished();
+    }
+  }
+
+  @Override
+  public void process(short[] input, int offset, int length) throws InterruptedException {
+    metrics.pipelineStarted();
+
+    try {
+      super.process(input, offset, length);
+    } finally {
+      metrics.pipelineFinished();
+    }
+  }
+
+  @Override
+  public void process(ShortBuffer buffer) throws InterruptedException {
+    metrics.pipelineStarted();
+
+    try {
+      super.process(buffer);
+    } finally {
+      metrics.pipelineFinished();
+    }
+  }
+
+  @Override
+  public void process(short[][] input, int offset, int length) throws InterruptedException {
+    metrics.pipelineStarted();
+
+    try {
+      super.process(input, offset, length);
+    } finally {
+      metrics.pipelineFinished();
+    }
+  }
+}
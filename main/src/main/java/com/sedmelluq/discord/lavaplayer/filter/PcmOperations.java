@@ -0,0 +1,56 @@
+package com.sedmelluq.discord.lavaplayer.filter;
+
+/**
+ * Inner loops of PCM processing which are used by the filters and post processors. Implementations must produce
+ * exactly the same output as {@link ScalarPcmOperations}. Use {@link PcmOperationsProvider#get()} to get the best
+ * implementation supported by the current JVM.
+ */
+public interface PcmOperations {
+  /**
+   * Multiplies the samples by <code>multiplier / divisor</code> with integer arithmetic and clamps the result to
+   * [-32767, 32767].
+   *
+   * @param samples Samples to scale in place
+   * @param offset Offset of the first sample
+   * @param length Number of samples
+   * @param multiplier Multiplier of the samples
+   * @param divisor Divisor of the multiplied samples, must be positive
+   */
+  void scale(short[] samples, int offset, int length, int multiplier, int divisor);
+
+  /**
+   * Splits interleaved short samples into separate channels of float samples in the range [-1, 1).
+   *
+   * @param input Interleaved input samples
+   * @param offset Offset of the first input sample
+   * @param output Output arrays for each channel, the number of arrays is the number of channels in the input
+   * @param outputOffset Offset in the output arrays
+   * @param length Number of samples per channel
+   */
+  void deinterleaveToFloat(short[] input, int offset, float[][] output, int outputOffset, int length);
+
+  /**
+   * Interleaves two channels of float samples into short samples, clamping them to the range of short.
+   *
+   * @param first Samples of the first channel
+   * @param second Samples of the second channel
+   * @param offset Offset of the first sample in the input arrays
+   * @param output Output array for the interleaved samples
+   * @param outputOffset Offset in the output array
+   * @param length Number of samples per channel
+   */
+  void interleaveToShort(float[] first, float[] second, int offset, short[] output, int outputOffset, int length);
+
+  /**
+   * Interleaves two channels of short samples.
+   *
+   * @param first Samples of the first channel
+   * @param second Samples of the second channel
+   * @param offset Offset of the first sample in the input arrays
+   * @param output Output array for the interleaved samples
+   * @param outputOffset Offset in the output array
+   * @param length Number of samples per channel
+   */
+  void interleave(short[] first, short[] second, int offset, short[] output, int outputOffset, int length);
+
+}
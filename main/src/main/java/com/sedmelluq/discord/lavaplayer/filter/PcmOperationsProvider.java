@@ -0,0 +1,42 @@
+package com.sedmelluq.discord.lavaplayer.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the implementation of {@link PcmOperations} once per JVM. The vectorized implementation from the
+ * lavaplayer-ext-pcm-vector module is used when that module is on the class path and the JVM provides the incubating
+ * Vector API (JDK 21 or newer, started with <code>--add-modules jdk.incubator.vector</code>). Otherwise the scalar
+ * implementation is used, as the library itself targets Java 8.
+ */
+public class PcmOperationsProvider {
+  private static final Logger log = LoggerFactory.getLogger(PcmOperationsProvider.class);
+
+  private static final String VECTOR_IMPLEMENTATION =
+      "com.sedmelluq.lavaplayer.extensions.pcm.vector.VectorPcmOperations";
+
+  private static final PcmOperations operations = load();
+
+  /**
+   * @return The PCM operations implementation to use
+   */
+  public static PcmOperations get() {
+    return operations;
+  }
+
+  private static PcmOperations load() {
+    try {
+      Class<?> implementationClass = Class.forName(VECTOR_IMPLEMENTATION);
+      PcmOperations implementation = (PcmOperations) implementationClass.getConstructor().newInstance();
+
+      log.info("Using vectorized PCM operations: {}", implementation);
+      return implementation;
+    } catch (ClassNotFoundException e) {
+      log.debug("Vectorized PCM operations module is not present, using scalar implementation.");
+    } catch (ReflectiveOperationException | LinkageError e) {
+      log.info("Vectorized PCM operations are not supported by this JVM, using scalar implementation.", e);
+    }
+
+    return new ScalarPcmOperations();
+  }
+}
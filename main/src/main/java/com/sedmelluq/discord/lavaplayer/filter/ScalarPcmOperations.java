@@ -0,0 +1,50 @@
+package com.sedmelluq.discord.lavaplayer.filter;
+
+/**
+ * Plain Java implementation of the PCM operations, used when no vectorized implementation is available.
+ */
+public class ScalarPcmOperations implements PcmOperations {
+  @Override
+  public void scale(short[] samples, int offset, int length, int multiplier, int divisor) {
+    int end = offset + length;
+
+    for (int i = offset; i < end; i++) {
+      int value = samples[i] * multiplier / divisor;
+      samples[i] = (short) Math.max(-32767, Math.min(32767, value));
+    }
+  }
+
+  @Override
+  public void deinterleaveToFloat(short[] input, int offset, float[][] output, int outputOffset, int length) {
+    int channelCount = output.length;
+
+    for (int i = 0; i < length; i++) {
+      for (int channel = 0; channel < channelCount; channel++) {
+        output[channel][outputOffset + i] = input[offset++] / 32768.0f;
+      }
+    }
+  }
+
+  @Override
+  public void interleaveToShort(float[] first, float[] second, int offset, short[] output, int outputOffset,
+                                int length) {
+
+    for (int i = 0; i < length; i++) {
+      output[outputOffset++] = floatToShort(first[offset + i]);
+      output[outputOffset++] = floatToShort(second[offset + i]);
+    }
+  }
+
+  @Override
+  public void interleave(short[] first, short[] second, int offset, short[] output, int outputOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      output[outputOffset++] = first[offset + i];
+      output[outputOffset++] = second[offset + i];
+    }
+  }
+
+  protected static short floatToShort(float sample) {
+    return (short) Math.min(Math.max((int) (sample * 32768.f), -32768), 32767);
+  }
+
+}
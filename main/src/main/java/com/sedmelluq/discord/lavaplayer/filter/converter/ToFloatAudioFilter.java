@@ -1,6 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.filter.converter;
 
 import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.PcmOperations;
+import com.sedmelluq.discord.lavaplayer.filter.PcmOperationsProvider;
 import java.nio.ShortBuffer;
 
 /**
@@ -10,6 +12,8 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
   private final FloatPcmAudioFilter downstream;
   private final int channelCount;
   private final float[][] buffers;
+  private final PcmOperations operations;
+  private short[] inputBuffer;
 
   /**
    * @param downstream The float PCM filter to pass the output to.
@@ -19,6 +23,7 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
     this.downstream = downstream;
     this.channelCount = channelCount;
     this.buffers = new float[channelCount][];
+    this.operations = PcmOperationsProvider.get();
 
     for (int i = 0; i < channelCount; i++) {
       this.buffers[i] = new float[BUFFER_SIZE];
@@ -37,11 +42,8 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
     while (end - offset >= channelCount) {
       int chunkLength = Math.min((end - offset) / channelCount, BUFFER_SIZE);
 
-      for (int chunkPosition = 0; chunkPosition < chunkLength; chunkPosition++) {
-        for (int channel = 0; channel < channelCount; channel++) {
-          buffers[channel][chunkPosition] = shortToFloat(input[offset++]);
-        }
-      }
+      operations.deinterleaveToFloat(input, offset, buffers, 0, chunkLength);
+      offset += chunkLength * channelCount;
 
       downstream.process(buffers, 0, chunkLength);
     }
@@ -56,10 +58,17 @@ public class ToFloatAudioFilter extends ConverterAudioFilter {
         break;
       }
 
-      for (int chunkPosition = 0; chunkPosition < chunkLength; chunkPosition++) {
-        for (int channel = 0; channel < buffers.length; channel++) {
-          buffers[channel][chunkPosition] = shortToFloat(buffer.get());
+      if (buffer.hasArray()) {
+        operations.deinterleaveToFloat(buffer.array(), buffer.arrayOffset() + buffer.position(), buffers, 0,
+            chunkLength);
+        buffer.position(buffer.position() + chunkLength * channelCount);
+      } else {
+        if (inputBuffer == null) {
+          inputBuffer = new short[BUFFER_SIZE * channelCount];
         }
+
+        buffer.get(inputBuffer, 0, chunkLength * channelCount);
+        operations.deinterleaveToFloat(inputBuffer, 0, buffers, 0, chunkLength);
       }
 
       downstream.process(buffers, 0, chunkLength);
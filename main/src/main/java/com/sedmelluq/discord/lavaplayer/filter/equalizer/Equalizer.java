@@ -1,23 +1,30 @@
 package com.sedmelluq.discord.lavaplayer.filter.equalizer;
 
 import com.sedmelluq.discord.lavaplayer.filter.FloatPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.UniversalPcmAudioFilter;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import java.nio.ShortBuffer;
 import java.util.Arrays;
 
 /**
  * An equalizer PCM filter. Applies the equalizer with configuration specified by band multipliers (either set
  * externally or using {@link #setGain(int, float)}).
+ *
+ * Short PCM input is converted to float in the same pass as the equalizer is applied to it, so no separate converter
+ * filter is required in front of this one. The output is identical to converting the input first.
  */
-public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFilter {
+public class Equalizer extends EqualizerConfiguration implements UniversalPcmAudioFilter {
   /**
    * Number of bands in the equalizer.
    */
   public static final int BAND_COUNT = 15;
 
   private static final int SAMPLE_RATE = 48000;
+  private static final int BUFFER_SIZE = 4096;
 
   private final ChannelProcessor[] channels;
   private final FloatPcmAudioFilter next;
+  private float[][] buffers;
 
   private static final Coefficients[] coefficients48000 = {
       new Coefficients(9.9847546664e-01f, 7.6226668143e-04f, 1.9984647656e+00f),
@@ -74,6 +81,69 @@ public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFi
     next.process(input, offset, length);
   }
 
+  @Override
+  public void process(short[] input, int offset, int length) throws InterruptedException {
+    float[][] output = getBuffers();
+    int end = offset + length;
+
+    while (end - offset >= channels.length) {
+      int chunkLength = Math.min((end - offset) / channels.length, BUFFER_SIZE);
+
+      for (int channelIndex = 0; channelIndex < channels.length; channelIndex++) {
+        channels[channelIndex].process(input, offset + channelIndex, channels.length, output[channelIndex], chunkLength);
+      }
+
+      offset += chunkLength * channels.length;
+      next.process(output, 0, chunkLength);
+    }
+  }
+
+  @Override
+  public void process(ShortBuffer buffer) throws InterruptedException {
+    float[][] output = getBuffers();
+
+    while (buffer.hasRemaining()) {
+      int chunkLength = Math.min(buffer.remaining() / channels.length, BUFFER_SIZE);
+
+      if (chunkLength == 0) {
+        break;
+      }
+
+      for (int channelIndex = 0; channelIndex < channels.length; channelIndex++) {
+        channels[channelIndex].process(buffer, buffer.position() + channelIndex, channels.length, output[channelIndex],
+            chunkLength);
+      }
+
+      buffer.position(buffer.position() + chunkLength * channels.length);
+      next.process(output, 0, chunkLength);
+    }
+  }
+
+  @Override
+  public void process(short[][] input, int offset, int length) throws InterruptedException {
+    float[][] output = getBuffers();
+    int end = offset + length;
+
+    while (offset < end) {
+      int chunkLength = Math.min(end - offset, BUFFER_SIZE);
+
+      for (int channelIndex = 0; channelIndex < channels.length; channelIndex++) {
+        channels[channelIndex].process(input[channelIndex], offset, 1, output[channelIndex], chunkLength);
+      }
+
+      offset += chunkLength;
+      next.process(output, 0, chunkLength);
+    }
+  }
+
+  private float[][] getBuffers() {
+    if (buffers == null) {
+      buffers = new float[channels.length][BUFFER_SIZE];
+    }
+
+    return buffers;
+  }
+
   @Override
   public void seekPerformed(long requestedTime, long providedTime) {
     for (int channelIndex = 0; channelIndex < channels.length; channelIndex++) {
@@ -119,39 +189,54 @@ public class Equalizer extends EqualizerConfiguration implements FloatPcmAudioFi
 
     private void process(float[] samples, int startIndex, int endIndex) {
       for (int sampleIndex = startIndex; sampleIndex < endIndex; sampleIndex++) {
-        float sample = samples[sampleIndex];
-        float result = sample * 0.25f;
+        samples[sampleIndex] = processSample(samples[sampleIndex]);
+      }
+    }
 
-        for (int bandIndex = 0; bandIndex < BAND_COUNT; bandIndex++) {
-          int x = bandIndex * 6;
-          int y = x + 3;
+    private void process(short[] input, int offset, int stride, float[] output, int length) {
+      for (int i = 0; i < length; i++) {
+        output[i] = processSample(input[offset + i * stride] / 32768.0f);
+      }
+    }
+
+    private void process(ShortBuffer input, int offset, int stride, float[] output, int length) {
+      for (int i = 0; i < length; i++) {
+        output[i] = processSample(input.get(offset + i * stride) / 32768.0f);
+      }
+    }
 
-          Coefficients coefficients = coefficients48000[bandIndex];
+    private float processSample(float sample) {
+      float result = sample * 0.25f;
 
-          float bandResult = coefficients.alpha * (sample - history[x + minusTwo]) +
-              coefficients.gamma * history[y + minusOne] -
-              coefficients.beta * history[y + minusTwo];
+      for (int bandIndex = 0; bandIndex < BAND_COUNT; bandIndex++) {
+        int x = bandIndex * 6;
+        int y = x + 3;
 
-          history[x + current] = sample;
-          history[y + current] = bandResult;
+        Coefficients coefficients = coefficients48000[bandIndex];
 
-          result += bandResult * bandMultipliers[bandIndex];
-        }
+        float bandResult = coefficients.alpha * (sample - history[x + minusTwo]) +
+            coefficients.gamma * history[y + minusOne] -
+            coefficients.beta * history[y + minusTwo];
 
-        samples[sampleIndex] = Math.min(Math.max(result * 4.0f, -1.0f), 1.0f);
+        history[x + current] = sample;
+        history[y + current] = bandResult;
 
-        if (++current == 3) {
-          current = 0;
-        }
+        result += bandResult * bandMultipliers[bandIndex];
+      }
 
-        if (++minusOne == 3) {
-          minusOne = 0;
-        }
+      if (++current == 3) {
+        current = 0;
+      }
 
-        if (++minusTwo == 3) {
-          minusTwo = 0;
-        }
+      if (++minusOne == 3) {
+        minusOne = 0;
       }
+
+      if (++minusTwo == 3) {
+        minusTwo = 0;
+      }
+
+      return Math.min(Math.max(result * 4.0f, -1.0f), 1.0f);
     }
 
     private void reset() {
@@ -1,13 +1,17 @@
 package com.sedmelluq.discord.lavaplayer.filter.volume;
 
+import com.sedmelluq.discord.lavaplayer.filter.PcmOperations;
+import com.sedmelluq.discord.lavaplayer.filter.PcmOperationsProvider;
 import java.nio.ShortBuffer;
 
 /**
  * Class used to apply a volume level to short PCM buffers
  */
 public class PcmVolumeProcessor {
+  private final PcmOperations operations = PcmOperationsProvider.get();
   private int currentVolume = -1;
   private int integerMultiplier;
+  private short[] scratch;
 
   /**
    * @param initialVolume Initial volume level (only useful for getLastVolume() as specified with each call)
@@ -63,12 +67,7 @@ public class PcmVolumeProcessor {
       return;
     }
 
-    int endOffset = buffer.limit();
-
-    for (int i = buffer.position(); i < endOffset; i++) {
-      int value = buffer.get(i) * integerMultiplier / 10000;
-      buffer.put(i, (short) Math.max(-32767, Math.min(32767, value)));
-    }
+    scale(buffer, integerMultiplier, 10000);
   }
 
   private void unapplyCurrentVolume(ShortBuffer buffer) {
@@ -76,11 +75,33 @@ public class PcmVolumeProcessor {
       return;
     }
 
-    int endOffset = buffer.limit();
+    scale(buffer, 10000, integerMultiplier);
+  }
+
+  private void scale(ShortBuffer buffer, int multiplier, int divisor) {
+    if (buffer.hasArray()) {
+      operations.scale(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), multiplier,
+          divisor);
+    } else if (buffer.hasRemaining()) {
+      scaleWithCopy(buffer, multiplier, divisor);
+    }
+  }
+
+  private void scaleWithCopy(ShortBuffer buffer, int multiplier, int divisor) {
+    if (scratch == null) {
+      scratch = new short[Math.min(buffer.remaining(), 4096)];
+    }
+
+    ShortBuffer view = buffer.duplicate();
+
+    for (int position = buffer.position(); position < buffer.limit(); position += scratch.length) {
+      int chunk = Math.min(buffer.limit() - position, scratch.length);
 
-    for (int i = buffer.position(); i < endOffset; i++) {
-      int value = buffer.get(i) * 10000 / integerMultiplier;
-      buffer.put(i, (short) Math.max(-32767, Math.min(32767, value)));
+      view.position(position);
+      view.get(scratch, 0, chunk);
+      operations.scale(scratch, 0, chunk, multiplier, divisor);
+      view.position(position);
+      view.put(scratch, 0, chunk);
     }
   }
 }
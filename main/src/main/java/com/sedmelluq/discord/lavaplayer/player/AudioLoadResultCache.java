@@ -0,0 +1,251 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
+
+/**
+ * Cache for the results of loading items through the source managers, enabled with
+ * {@link DefaultAudioPlayerManager#setLoadResultCache(AudioLoadResultCache)}. Results are keyed by the identifier of
+ * the reference with surrounding whitespace removed. Concurrent loads of the same identifier share a single lookup,
+ * no matter whether the result ends up being cached. Only loaded tracks and playlists are cached, each caller receives
+ * its own clones of the cached tracks. Playlists are handed out as {@link BasicAudioPlaylist} instances.
+ *
+ * <p>The size of the cache is limited by weight, which is one for a track and the number of tracks for a playlist. The
+ * least recently used entries are evicted first once the weight is exceeded.</p>
+ */
+public class AudioLoadResultCache {
+  private final long maximumWeight;
+  private final long defaultTtl;
+  private final ConcurrentMap<Class<?>, Long> sourceTtls;
+  private final ConcurrentMap<String, CompletableFuture<AudioItem>> pendingLoads;
+  private final LinkedHashMap<String, CacheEntry> entries;
+  private long currentWeight;
+
+  /**
+   * @param maximumWeight Maximum total weight of the cached results
+   * @param defaultTtl Time to keep results of source managers which do not have a specific time configured
+   * @param unit Time unit of the default time to live
+   */
+  public AudioLoadResultCache(long maximumWeight, long defaultTtl, TimeUnit unit) {
+    this.maximumWeight = maximumWeight;
+    this.defaultTtl = unit.toNanos(defaultTtl);
+    this.sourceTtls = new ConcurrentHashMap<>();
+    this.pendingLoads = new ConcurrentHashMap<>();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Sets the time to keep results of a specific source manager, zero to not cache its results at all. Applies to
+   * results loaded after this call.
+   *
+   * @param sourceClass Class of the source manager
+   * @param ttl Time to keep the results loaded by that source manager
+   * @param unit Time unit of the time to live
+   */
+  public void setSourceTtl(Class<? extends AudioSourceManager> sourceClass, long ttl, TimeUnit unit) {
+    sourceTtls.put(sourceClass, unit.toNanos(ttl));
+  }
+
+  /**
+   * @param identifier Identifier of the item to remove from the cache
+   */
+  public synchronized void invalidate(String identifier) {
+    CacheEntry entry = entries.remove(normalise(identifier));
+
+    if (entry != null) {
+      currentWeight -= entry.weight;
+    }
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    currentWeight = 0;
+  }
+
+  /**
+   * @return Number of cached results, including the ones which have expired but not been removed yet
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the cached result for the reference, or loads it using the loader if it is not cached. If another thread
+   * is already loading the same identifier, waits for that load to finish and uses its result or exception. The wait
+   * ends early if the calling thread is interrupted, for example when the caller cancels the future of its load.
+   *
+   * @param reference Reference of the item to load
+   * @param loader Loader to use if the item is not cached
+   * @return A copy of the loaded item, null if there were no matches
+   */
+  AudioItem load(AudioReference reference, ItemLoader loader) {
+    String key = normalise(reference.identifier);
+    AudioItem cached = getCached(key);
+
+    if (cached != null) {
+      return copyOf(cached);
+    }
+
+    CompletableFuture<AudioItem> load = new CompletableFuture<>();
+    CompletableFuture<AudioItem> existingLoad = pendingLoads.putIfAbsent(key, load);
+
+    if (existingLoad != null) {
+      return copyOf(awaitLoad(existingLoad));
+    }
+
+    try {
+      // Another load may have finished between the first check and registering this one.
+      AudioItem item = getCached(key);
+
+      if (item == null) {
+        AudioSourceManager[] itemSource = new AudioSourceManager[1];
+        item = loader.load(reference, itemSource);
+        store(key, item, itemSource[0]);
+      }
+
+      load.complete(item);
+      return copyOf(item);
+    } catch (Throwable e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      pendingLoads.remove(key, load);
+    }
+  }
+
+  private synchronized AudioItem getCached(String key) {
+    CacheEntry entry = entries.get(key);
+
+    if (entry == null) {
+      return null;
+    } else if (entry.expiresAt - System.nanoTime() <= 0) {
+      entries.remove(key);
+      currentWeight -= entry.weight;
+      return null;
+    }
+
+    return entry.item;
+  }
+
+  private void store(String key, AudioItem item, AudioSourceManager itemSource) {
+    if (!(item instanceof AudioTrack) && !(item instanceof AudioPlaylist)) {
+      return;
+    }
+
+    Long sourceTtl = itemSource != null ? sourceTtls.get(itemSource.getClass()) : null;
+    long ttl = sourceTtl != null ? sourceTtl : defaultTtl;
+    long weight = item instanceof AudioPlaylist ? Math.max(1, ((AudioPlaylist) item).getTracks().size()) : 1;
+
+    if (ttl > 0 && weight <= maximumWeight) {
+      store(key, new CacheEntry(item, weight, System.nanoTime() + ttl));
+    }
+  }
+
+  private synchronized void store(String key, CacheEntry entry) {
+    CacheEntry previous = entries.put(key, entry);
+    currentWeight += entry.weight - (previous != null ? previous.weight : 0);
+
+    Iterator<CacheEntry> iterator = entries.values().iterator();
+
+    while (currentWeight > maximumWeight && iterator.hasNext()) {
+      currentWeight -= iterator.next().weight;
+      iterator.remove();
+    }
+  }
+
+  private static AudioItem awaitLoad(CompletableFuture<AudioItem> load) {
+    try {
+      return load.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FriendlyException("Interrupted while waiting for the item to be loaded.", COMMON, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      } else if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static AudioItem copyOf(AudioItem item) {
+    if (item instanceof AudioTrack) {
+      return ((AudioTrack) item).makeClone();
+    } else if (item instanceof AudioPlaylist) {
+      return copyOf((AudioPlaylist) item);
+    }
+
+    return item;
+  }
+
+  private static AudioPlaylist copyOf(AudioPlaylist playlist) {
+    List<AudioTrack> tracks = new ArrayList<>(playlist.getTracks().size());
+    AudioTrack selectedTrack = playlist.getSelectedTrack();
+    AudioTrack selectedCopy = null;
+
+    for (AudioTrack track : playlist.getTracks()) {
+      AudioTrack copy = track.makeClone();
+
+      if (track == selectedTrack) {
+        selectedCopy = copy;
+      }
+
+      tracks.add(copy);
+    }
+
+    if (selectedCopy == null && selectedTrack != null) {
+      selectedCopy = selectedTrack.makeClone();
+    }
+
+    return new BasicAudioPlaylist(playlist.getName(), tracks, selectedCopy, playlist.isSearchResult());
+  }
+
+  private static String normalise(String identifier) {
+    return identifier.trim();
+  }
+
+  /**
+   * Loader of items which are not in the cache.
+   */
+  interface ItemLoader {
+    /**
+     * @param reference Reference of the item to load
+     * @param itemSource Array whose first element is set to the source manager which loaded the item
+     * @return The loaded item, null if there were no matches
+     */
+    AudioItem load(AudioReference reference, AudioSourceManager[] itemSource);
+  }
+
+  private static class CacheEntry {
+    private final AudioItem item;
+    private final long weight;
+    private final long expiresAt;
+
+    private CacheEntry(AudioItem item, long weight, long expiresAt) {
+      this.item = item;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -2,7 +2,9 @@ package com.sedmelluq.discord.lavaplayer.player;
 
 import com.sedmelluq.discord.lavaplayer.filter.PcmFilterFactory;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventListener;
+import com.sedmelluq.discord.lavaplayer.player.event.TrackEndEvent;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProvider;
 
 /**
@@ -26,6 +28,43 @@ public interface AudioPlayer extends AudioFrameProvider {
    */
   boolean startTrack(AudioTrack track, boolean noInterrupt);
 
+  /**
+   * Starts loading a track which is going to be played next, so that playing it can start without delay. The track is
+   * resolved, connected to and decoded into its frame buffer in the background. If it is not started within the timeout
+   * configured in the player manager, the prepared state is released and starting it plays a clone of it instead.
+   * Players which do not support preparing tracks ignore this.
+   *
+   * @param track The track to prepare, it must not be playing or prepared on any other player
+   */
+  default void prepareTrack(AudioTrack track) {
+    // Preparing is only an optimisation, the track is loaded when it is started otherwise.
+  }
+
+  /**
+   * Set the track to continue with when the current track ends. The track is prepared once the current track has less
+   * than ten seconds left, or less than half of the prepared track timeout of the player manager if that is shorter,
+   * counting from the start of the crossfade window if a crossfade duration is set. It is then started without a gap as
+   * soon as the current track ends, or at the start of the crossfade window. After a track of unknown duration, such as
+   * a stream, the next track is only loaded when the current one ends. Listeners receive a {@link TrackEndEvent} with
+   * reason {@link AudioTrackEndReason#REPLACED} for the current track when this happens.
+   *
+   * @param track The track to continue with, null to end playback with the current track
+   * @return True if the player continues with the track, false if this player does not support next tracks
+   */
+  default boolean setNextTrack(AudioTrack track) {
+    return false;
+  }
+
+  /**
+   * @param duration Duration in milliseconds for which a track set with {@link #setNextTrack(AudioTrack)} overlaps with
+   *                 the end of the current one, zero to switch to it without a gap but without overlap. Does not apply
+   *                 to tracks of unknown duration, such as streams. Ignored by players which do not support next
+   *                 tracks.
+   */
+  default void setCrossfadeDuration(int duration) {
+    // Without next tracks there is nothing to crossfade to.
+  }
+
   /**
    * Stop currently playing track.
    */
@@ -7,6 +7,7 @@ import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetricsListener;
 import java.io.IOException;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
@@ -33,7 +34,8 @@ public interface AudioPlayerManager {
    * Configure to use remote nodes for playback. On consecutive calls, the connections with previously used nodes will
    * be severed and all remotely playing tracks will be stopped first.
    *
-   * @param nodeAddresses The addresses of the remote nodes
+   * @param nodeAddresses The addresses of the remote nodes. A host:port address polls the HTTP endpoint of the node,
+   *                      while tcp://host:port keeps a persistent stream open to its streaming port.
    */
   void useRemoteNodes(String... nodeAddresses);
 
@@ -179,6 +181,17 @@ public interface AudioPlayerManager {
    */
   void setItemLoaderThreadPoolSize(int poolSize);
 
+  /**
+   * Sets the listener for performance metrics of locally executed tracks, such as decoding, filtering and encoding time,
+   * bytes read, frame buffer underruns and seek latency. Nothing is measured while no listener is set. Applies to tracks
+   * started after this call. Managers which do not measure tracks ignore this.
+   *
+   * @param listener The listener, null to disable metrics.
+   */
+  default void setTrackMetricsListener(AudioTrackMetricsListener listener) {
+    // Metrics are optional, nothing is measured by default.
+  }
+
   /**
    * @return New audio player.
    */
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.player;
 
 import com.sedmelluq.discord.lavaplayer.filter.PcmFilterFactory;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEvent;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventListener;
 import com.sedmelluq.discord.lavaplayer.player.event.PlayerPauseEvent;
@@ -10,10 +11,11 @@ import com.sedmelluq.discord.lavaplayer.player.event.TrackExceptionEvent;
 import com.sedmelluq.discord.lavaplayer.player.event.TrackStartEvent;
 import com.sedmelluq.discord.lavaplayer.player.event.TrackStuckEvent;
 import com.sedmelluq.discord.lavaplayer.tools.CopyOnUpdateIdentityList;
-import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.Units;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
@@ -21,6 +23,11 @@ import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProviderTools;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,27 +46,47 @@ import static com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason.STOPPED
 public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
   private static final Logger log = LoggerFactory.getLogger(AudioPlayer.class);
 
+  private static final int MAXIMUM_PREPARED_TRACKS = 16;
+  private static final long NEXT_TRACK_PREPARE_LEAD = TimeUnit.SECONDS.toMillis(10);
+
   private volatile InternalAudioTrack activeTrack;
   private volatile long lastRequestTime;
   private volatile long lastReceiveTime;
   private volatile boolean stuckEventSent;
   private volatile InternalAudioTrack shadowTrack;
+  private volatile InternalAudioTrack nextTrack;
+  private volatile boolean nextTrackPrepared;
+  private volatile NextTrackTimecodes nextTrackTimecodes;
+  private volatile TrackCrossfade crossfade;
+  private volatile int crossfadeDuration;
   private final AtomicBoolean paused;
   private final DefaultAudioPlayerManager manager;
+  private final AudioDataFormat outputFormat;
   private final CopyOnUpdateIdentityList<AudioEventListener> listeners;
   private final Object trackSwitchLock;
   private final AudioPlayerOptions options;
+  private final Map<AudioTrack, PreparedTrack> preparedTracks;
 
   /**
    * @param manager Audio player manager which this player is attached to
    */
   public DefaultAudioPlayer(DefaultAudioPlayerManager manager) {
+    this(manager, null);
+  }
+
+  /**
+   * @param manager Audio player manager which this player is attached to
+   * @param outputFormat Format to output the tracks in, null to use the one in the configuration of the manager
+   */
+  DefaultAudioPlayer(DefaultAudioPlayerManager manager, AudioDataFormat outputFormat) {
     this.manager = manager;
+    this.outputFormat = outputFormat;
     activeTrack = null;
     paused = new AtomicBoolean();
     listeners = new CopyOnUpdateIdentityList<>();
     trackSwitchLock = new Object();
     options = new AudioPlayerOptions();
+    preparedTracks = new LinkedHashMap<>();
   }
 
   /**
@@ -82,8 +109,12 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
    * @return True if the track was started
    */
   public boolean startTrack(AudioTrack track, boolean noInterrupt) {
-    InternalAudioTrack newTrack = (InternalAudioTrack) track;
+    return startTrack((InternalAudioTrack) track, noInterrupt, false);
+  }
+
+  private boolean startTrack(InternalAudioTrack newTrack, boolean noInterrupt, boolean fadeOutPrevious) {
     InternalAudioTrack previousTrack;
+    PreparedTrack prepared;
 
     synchronized (trackSwitchLock) {
       previousTrack = activeTrack;
@@ -92,30 +123,221 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
         return false;
       }
 
+      endCrossfade();
+
+      prepared = newTrack != null ? preparedTracks.remove(newTrack) : null;
+
+      if (prepared != null && prepared.released) {
+        // The executor of the released track has been stopped, so the track instance cannot be played anymore.
+        newTrack = (InternalAudioTrack) newTrack.makeClone();
+        prepared = null;
+      }
+
       activeTrack = newTrack;
       lastRequestTime = System.currentTimeMillis();
       lastReceiveTime = System.nanoTime();
       stuckEventSent = false;
 
       if (previousTrack != null) {
-        previousTrack.stop();
+        if (fadeOutPrevious && newTrack != null) {
+          // The previous track keeps playing on its own until the new one provides audio, then fades out under it.
+          crossfade = new TrackCrossfade(newTrack, previousTrack, crossfadeDuration, getConfiguration());
+        } else {
+          previousTrack.stop();
+        }
+
         dispatchEvent(new TrackEndEvent(this, previousTrack, newTrack == null ? STOPPED : REPLACED));
 
+        dropShadowTrack();
         shadowTrack = previousTrack;
       }
     }
 
     if (newTrack == null) {
-      shadowTrack = null;
+      dropShadowTrack();
       return false;
     }
 
     dispatchEvent(new TrackStartEvent(this, newTrack));
 
-    manager.executeTrack(this, newTrack, manager.getConfiguration(), options);
+    if (prepared != null) {
+      prepared.attach(this);
+    } else {
+      manager.executeTrack(this, newTrack, getConfiguration(), options);
+    }
+
+    return true;
+  }
+
+  @Override
+  public void prepareTrack(AudioTrack track) {
+    PreparedTrack prepared = new PreparedTrack((InternalAudioTrack) track);
+    PreparedTrack evicted = null;
+
+    synchronized (trackSwitchLock) {
+      if (track == activeTrack || preparedTracks.containsKey(track)) {
+        return;
+      }
+
+      preparedTracks.put(track, prepared);
+
+      if (preparedTracks.size() > MAXIMUM_PREPARED_TRACKS) {
+        Iterator<PreparedTrack> iterator = preparedTracks.values().iterator();
+        evicted = iterator.next();
+        iterator.remove();
+      }
+    }
+
+    if (evicted != null) {
+      evicted.track.stop();
+    }
+
+    try {
+      manager.prepareTrack(prepared, prepared.track, getConfiguration(), options,
+          () -> releasePreparedTrack(prepared));
+    } catch (RuntimeException e) {
+      synchronized (trackSwitchLock) {
+        preparedTracks.remove(track, prepared);
+      }
+
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean setNextTrack(AudioTrack track) {
+    synchronized (trackSwitchLock) {
+      nextTrack = (InternalAudioTrack) track;
+      nextTrackPrepared = false;
+    }
+
     return true;
   }
 
+  @Override
+  public void setCrossfadeDuration(int duration) {
+    crossfadeDuration = Math.max(0, duration);
+  }
+
+  private void startNextTrack(InternalAudioTrack track, boolean fadeOut) {
+    synchronized (trackSwitchLock) {
+      InternalAudioTrack next = nextTrack;
+
+      if (activeTrack != track || next == null) {
+        return;
+      }
+
+      nextTrack = null;
+      startTrack(next, false, fadeOut);
+    }
+  }
+
+  private void checkNextTrack(InternalAudioTrack track, long timecode) {
+    InternalAudioTrack next = nextTrack;
+
+    if (next == null) {
+      return;
+    }
+
+    NextTrackTimecodes timecodes = getNextTrackTimecodes(track);
+
+    if (timecode >= timecodes.switchTimecode) {
+      startNextTrack(track, true);
+    } else if (!nextTrackPrepared && timecode >= timecodes.prepareTimecode) {
+      // Preparing only shortly before the track is needed, so that it is not released before that.
+      nextTrackPrepared = true;
+      prepareTrack(next);
+    }
+  }
+
+  private NextTrackTimecodes getNextTrackTimecodes(InternalAudioTrack track) {
+    NextTrackTimecodes timecodes = nextTrackTimecodes;
+    int duration = crossfadeDuration;
+
+    if (timecodes == null || timecodes.track != track || timecodes.crossfadeDuration != duration) {
+      long prepareLead = Math.min(NEXT_TRACK_PREPARE_LEAD, manager.getPreparedTrackTimeout() / 2);
+      timecodes = new NextTrackTimecodes(track, duration, track.getDuration(), prepareLead);
+      nextTrackTimecodes = timecodes;
+    }
+
+    return timecodes;
+  }
+
+  private AudioFrame processFrame(InternalAudioTrack track, AudioFrame frame) {
+    TrackCrossfade currentCrossfade = crossfade;
+
+    if (currentCrossfade == null) {
+      checkNextTrack(track, frame.getTimecode());
+      return frame;
+    } else if (currentCrossfade.isIncoming(track)) {
+      frame = currentCrossfade.mix(frame);
+      clearFinishedCrossfade(currentCrossfade);
+    }
+
+    return frame;
+  }
+
+  private void processFrame(InternalAudioTrack track, MutableAudioFrame frame) {
+    TrackCrossfade currentCrossfade = crossfade;
+
+    if (currentCrossfade == null) {
+      checkNextTrack(track, frame.getTimecode());
+    } else if (currentCrossfade.isIncoming(track)) {
+      currentCrossfade.mix(frame);
+      clearFinishedCrossfade(currentCrossfade);
+    }
+  }
+
+  private void clearFinishedCrossfade(TrackCrossfade finishedCrossfade) {
+    if (finishedCrossfade.isFinished()) {
+      synchronized (trackSwitchLock) {
+        if (crossfade == finishedCrossfade) {
+          crossfade = null;
+        }
+      }
+    }
+  }
+
+  private void endCrossfade() {
+    TrackCrossfade currentCrossfade = crossfade;
+
+    if (currentCrossfade != null) {
+      crossfade = null;
+      currentCrossfade.close();
+    }
+  }
+
+  private void releasePreparedTrack(PreparedTrack prepared) {
+    synchronized (trackSwitchLock) {
+      if (preparedTracks.get(prepared.track) != prepared || prepared.released) {
+        return;
+      }
+
+      prepared.released = true;
+    }
+
+    log.debug("Releasing prepared track {} which was not started in time.", prepared.track.getIdentifier());
+    prepared.track.stop();
+  }
+
+  /**
+   * @return Format in which the tracks of this player are output
+   */
+  AudioDataFormat getOutputFormat() {
+    return outputFormat != null ? outputFormat : manager.getConfiguration().getOutputFormat();
+  }
+
+  private AudioConfiguration getConfiguration() {
+    AudioConfiguration configuration = manager.getConfiguration();
+
+    if (outputFormat != null) {
+      configuration = configuration.copy();
+      configuration.setOutputFormat(outputFormat);
+    }
+
+    return configuration;
+  }
+
   /**
    * Stop currently playing track.
    */
@@ -124,12 +346,14 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
   }
 
   private void stopWithReason(AudioTrackEndReason reason) {
-    shadowTrack = null;
+    dropShadowTrack();
 
     synchronized (trackSwitchLock) {
       InternalAudioTrack previousTrack = activeTrack;
       activeTrack = null;
 
+      endCrossfade();
+
       if (previousTrack != null) {
         previousTrack.stop();
         dispatchEvent(new TrackEndEvent(this, previousTrack, reason));
@@ -137,6 +361,21 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
     }
   }
 
+  private void dropShadowTrack() {
+    InternalAudioTrack shadow = shadowTrack;
+
+    if (shadow != null) {
+      shadowTrack = null;
+
+      AudioTrackExecutor executor = shadow.getActiveExecutor();
+
+      // A track which is still playing may be in use by a crossfade, only the buffers of stopped tracks are discarded.
+      if (executor instanceof LocalAudioTrackExecutor && executor.getState() != AudioTrackState.PLAYING) {
+        ((LocalAudioTrackExecutor) executor).getAudioBuffer().discardUnread();
+      }
+    }
+  }
+
   private AudioFrame provideShadowFrame() {
     InternalAudioTrack shadow = shadowTrack;
     AudioFrame frame = null;
@@ -188,14 +427,16 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
 
       if (frame != null) {
         lastReceiveTime = System.nanoTime();
-        shadowTrack = null;
+        dropShadowTrack();
 
         if (frame.isTerminator()) {
           handleTerminator(track);
           continue;
         }
+
+        frame = processFrame(track, frame);
       } else if (timeout == 0) {
-        checkStuck(track);
+        checkStuck(track, System.nanoTime());
 
         frame = provideShadowFrame();
       }
@@ -208,12 +449,31 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
 
   @Override
   public boolean provide(MutableAudioFrame targetFrame) {
-    try {
-      return provide(targetFrame, 0, TimeUnit.MILLISECONDS);
-    } catch (TimeoutException | InterruptedException e) {
-      ExceptionTools.keepInterrupted(e);
-      throw new RuntimeException(e);
+    lastRequestTime = System.currentTimeMillis();
+
+    if (paused.get()) {
+      return false;
     }
+
+    return provideImmediately(targetFrame, System.nanoTime());
+  }
+
+  /**
+   * Same as {@link #provide(MutableAudioFrame)}, but with the clock readings shared by all players of a batch.
+   *
+   * @param targetFrame Frame to update with the provided frame
+   * @param requestTime Wall clock time in milliseconds at the start of the batch
+   * @param batchNanoTime Value of {@link System#nanoTime()} at the start of the batch
+   * @return True if a frame was provided
+   */
+  boolean provideInBatch(MutableAudioFrame targetFrame, long requestTime, long batchNanoTime) {
+    lastRequestTime = requestTime;
+
+    if (paused.get()) {
+      return false;
+    }
+
+    return provideImmediately(targetFrame, batchNanoTime);
   }
 
   @Override
@@ -228,20 +488,22 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
       return false;
     }
 
+    if (timeout == 0) {
+      return provideImmediately(targetFrame, System.nanoTime());
+    }
+
     while ((track = activeTrack) != null) {
-      if (timeout > 0 ? track.provide(targetFrame, timeout, unit) : track.provide(targetFrame)) {
+      if (track.provide(targetFrame, timeout, unit)) {
         lastReceiveTime = System.nanoTime();
-        shadowTrack = null;
+        dropShadowTrack();
 
         if (targetFrame.isTerminator()) {
           handleTerminator(track);
           continue;
         }
 
+        processFrame(track, targetFrame);
         return true;
-      } else if (timeout == 0) {
-        checkStuck(track);
-        return provideShadowFrame(targetFrame);
       } else {
         return false;
       }
@@ -250,18 +512,51 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
     return false;
   }
 
+  private boolean provideImmediately(MutableAudioFrame targetFrame, long nanoTime) {
+    InternalAudioTrack track;
+
+    while ((track = activeTrack) != null) {
+      if (track.provide(targetFrame)) {
+        lastReceiveTime = nanoTime;
+        dropShadowTrack();
+
+        if (targetFrame.isTerminator()) {
+          handleTerminator(track);
+          continue;
+        }
+
+        processFrame(track, targetFrame);
+        return true;
+      } else {
+        checkStuck(track, nanoTime);
+        return provideShadowFrame(targetFrame);
+      }
+    }
+
+    return false;
+  }
+
   private void handleTerminator(InternalAudioTrack track) {
     synchronized (trackSwitchLock) {
       if (activeTrack == track) {
         activeTrack = null;
 
         dispatchEvent(new TrackEndEvent(this, track, track.getActiveExecutor().failedBeforeLoad() ? LOAD_FAILED : FINISHED));
+
+        InternalAudioTrack next = nextTrack;
+
+        // The track has already ended on its own, so the next one is started as if nothing was playing before it.
+        // A listener of the end event may have started a track itself, which takes precedence.
+        if (next != null && activeTrack == null) {
+          nextTrack = null;
+          startTrack(next, false, false);
+        }
       }
     }
   }
 
-  private void checkStuck(AudioTrack track) {
-    if (!stuckEventSent && System.nanoTime() - lastReceiveTime > manager.getTrackStuckThresholdNanos()) {
+  private void checkStuck(AudioTrack track, long nanoTime) {
+    if (!stuckEventSent && nanoTime - lastReceiveTime > manager.getTrackStuckThresholdNanos()) {
       stuckEventSent = true;
 
       StackTraceElement[] stackTrace = getStackTrace(track);
@@ -329,6 +624,17 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
    */
   public void destroy() {
     stopTrack();
+
+    List<PreparedTrack> prepared;
+
+    synchronized (trackSwitchLock) {
+      prepared = new ArrayList<>(preparedTracks.values());
+      preparedTracks.clear();
+    }
+
+    for (PreparedTrack track : prepared) {
+      track.track.stop();
+    }
   }
 
   /**
@@ -387,4 +693,87 @@ public class DefaultAudioPlayer implements AudioPlayer, TrackStateListener {
       stopWithReason(CLEANUP);
     }
   }
+
+  /**
+   * Timecodes of the active track at which the next track is prepared and crossfaded to, computed once per track and
+   * crossfade duration instead of for every frame.
+   */
+  private static class NextTrackTimecodes {
+    private final InternalAudioTrack track;
+    private final int crossfadeDuration;
+    private final long switchTimecode;
+    private final long prepareTimecode;
+
+    private NextTrackTimecodes(InternalAudioTrack track, int crossfadeDuration, long trackDuration, long prepareLead) {
+      this.track = track;
+      this.crossfadeDuration = crossfadeDuration;
+
+      if (trackDuration == Units.DURATION_MS_UNKNOWN) {
+        switchTimecode = Long.MAX_VALUE;
+        prepareTimecode = Long.MAX_VALUE;
+      } else {
+        // Without a crossfade the next track is started when the active one ends.
+        switchTimecode = crossfadeDuration > 0 ? trackDuration - crossfadeDuration : Long.MAX_VALUE;
+        prepareTimecode = trackDuration - crossfadeDuration - prepareLead;
+      }
+    }
+  }
+
+  /**
+   * Track which is executing before it has been started. Holds back exceptions from it until it is started, since
+   * listeners of the player would otherwise receive events for a track which is not playing.
+   */
+  private static class PreparedTrack implements TrackStateListener {
+    private final InternalAudioTrack track;
+    private TrackStateListener target;
+    private FriendlyException pendingException;
+    private boolean released;
+
+    private PreparedTrack(InternalAudioTrack track) {
+      this.track = track;
+    }
+
+    private void attach(TrackStateListener target) {
+      FriendlyException exception;
+
+      synchronized (this) {
+        this.target = target;
+        exception = pendingException;
+        pendingException = null;
+      }
+
+      if (exception != null) {
+        target.onTrackException(track, exception);
+      }
+    }
+
+    @Override
+    public void onTrackException(AudioTrack track, FriendlyException exception) {
+      TrackStateListener currentTarget;
+
+      synchronized (this) {
+        currentTarget = target;
+
+        if (currentTarget == null) {
+          pendingException = exception;
+          return;
+        }
+      }
+
+      currentTarget.onTrackException(track, exception);
+    }
+
+    @Override
+    public void onTrackStuck(AudioTrack track, long thresholdMs) {
+      TrackStateListener currentTarget;
+
+      synchronized (this) {
+        currentTarget = target;
+      }
+
+      if (currentTarget != null) {
+        currentTarget.onTrackStuck(track, thresholdMs);
+      }
+    }
+  }
 }
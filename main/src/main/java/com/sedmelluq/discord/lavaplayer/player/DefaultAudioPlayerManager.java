@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.player;
 
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeRegistry;
@@ -10,6 +11,7 @@ import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor;
 import com.sedmelluq.discord.lavaplayer.tools.OrderedExecutor;
+import com.sedmelluq.discord.lavaplayer.tools.VirtualThreadTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
@@ -22,7 +24,10 @@ import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetricsListener;
+import com.sedmelluq.discord.lavaplayer.track.playback.DecodingConcurrencyLimiter;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
 import com.sedmelluq.lava.common.tools.ExecutorTools;
 import java.io.ByteArrayInputStream;
@@ -32,6 +37,7 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -65,6 +71,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
 
   private static final int DEFAULT_FRAME_BUFFER_DURATION = (int) TimeUnit.SECONDS.toMillis(5);
   private static final int DEFAULT_CLEANUP_THRESHOLD = (int) TimeUnit.MINUTES.toMillis(1);
+  private static final int DEFAULT_PREPARED_TRACK_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(30);
 
   private static final int MAXIMUM_LOAD_REDIRECTS = 5;
   private static final int DEFAULT_LOADER_POOL_SIZE = 10;
@@ -73,11 +80,12 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private static final Logger log = LoggerFactory.getLogger(DefaultAudioPlayerManager.class);
 
   private final List<AudioSourceManager> sourceManagers;
+  private volatile SourceRoutingIndex sourceRoutingIndex;
   private volatile Function<RequestConfig, RequestConfig> httpConfigurator;
   private volatile Consumer<HttpClientBuilder> httpBuilderConfigurator;
 
   // Executors
-  private final ExecutorService trackPlaybackExecutorService;
+  private volatile ExecutorService trackPlaybackExecutorService;
   private final ThreadPoolExecutor trackInfoExecutorService;
   private final ScheduledExecutorService scheduledExecutorService;
   private final OrderedExecutor orderedInfoExecutor;
@@ -87,7 +95,12 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private volatile AudioConfiguration configuration;
   private final AtomicLong cleanupThreshold;
   private volatile int frameBufferDuration;
+  private volatile long preparedTrackTimeout;
   private volatile boolean useSeekGhosting;
+  private volatile boolean useVirtualPlaybackThreads;
+  private volatile DecodingConcurrencyLimiter decodingLimiter;
+  private volatile AudioTrackMetricsListener trackMetricsListener;
+  private volatile AudioLoadResultCache loadResultCache;
 
   // Additional services
   private final RemoteNodeManager remoteNodeManager;
@@ -100,10 +113,10 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
    */
   public DefaultAudioPlayerManager() {
     sourceManagers = new ArrayList<>();
+    sourceRoutingIndex = new SourceRoutingIndex(sourceManagers);
 
     // Executors
-    trackPlaybackExecutorService = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS,
-        new SynchronousQueue<>(), new DaemonThreadFactory("playback"));
+    trackPlaybackExecutorService = createPlaybackExecutor(false);
     trackInfoExecutorService = ExecutorTools.createEagerlyScalingExecutor(1, DEFAULT_LOADER_POOL_SIZE,
         TimeUnit.SECONDS.toMillis(30), LOADER_QUEUE_CAPACITY, new DaemonThreadFactory("info-loader"));
     scheduledExecutorService = Executors.newScheduledThreadPool(1, new DaemonThreadFactory("manager"));
@@ -114,6 +127,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     configuration = new AudioConfiguration();
     cleanupThreshold = new AtomicLong(DEFAULT_CLEANUP_THRESHOLD);
     frameBufferDuration = DEFAULT_FRAME_BUFFER_DURATION;
+    preparedTrackTimeout = DEFAULT_PREPARED_TRACK_TIMEOUT;
     useSeekGhosting = true;
 
     // Additional services
@@ -138,6 +152,15 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     ExecutorTools.shutdownExecutor(scheduledExecutorService, "scheduled operations");
   }
 
+  private static ExecutorService createPlaybackExecutor(boolean virtualThreads) {
+    if (virtualThreads) {
+      return VirtualThreadTools.createPerTaskExecutor("playback");
+    } else {
+      return new ThreadPoolExecutor(1, Integer.MAX_VALUE, 10, TimeUnit.SECONDS, new SynchronousQueue<>(),
+          new DaemonThreadFactory("playback"));
+    }
+  }
+
   @Override
   public void useRemoteNodes(String... nodeAddresses) {
     if (nodeAddresses.length > 0) {
@@ -155,6 +178,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   @Override
   public void registerSourceManager(AudioSourceManager sourceManager) {
     sourceManagers.add(sourceManager);
+    sourceRoutingIndex = new SourceRoutingIndex(sourceManagers);
 
     if (sourceManager instanceof HttpConfigurable) {
       Function<RequestConfig, RequestConfig> configurator = httpConfigurator;
@@ -214,9 +238,17 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
       boolean[] reported = new boolean[1];
 
       try {
-        if (!checkSourcesForItem(reference, resultHandler, reported)) {
+        AudioItem item = loadItemThroughCache(reference);
+
+        if (item == null) {
           log.debug("No matches for track with identifier {}.", reference.identifier);
           resultHandler.noMatches();
+        } else if (item instanceof AudioTrack) {
+          reported[0] = true;
+          resultHandler.trackLoaded((AudioTrack) item);
+        } else if (item instanceof AudioPlaylist) {
+          reported[0] = true;
+          resultHandler.playlistLoaded((AudioPlaylist) item);
         }
       } catch (Throwable throwable) {
         if (reported[0]) {
@@ -348,6 +380,21 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     trackPlaybackExecutorService.execute(() -> executor.execute(listener));
   }
 
+  /**
+   * Starts executing a track before it is played, so that it has frames buffered by the time it is started.
+   * @param listener A listener for track state events
+   * @param track The audio track to execute
+   * @param configuration The audio configuration to use for executing
+   * @param playerOptions Options of the audio player
+   * @param timeoutHandler Called once the prepared track timeout has passed, regardless of whether it was started
+   */
+  public void prepareTrack(TrackStateListener listener, InternalAudioTrack track, AudioConfiguration configuration,
+                           AudioPlayerOptions playerOptions, Runnable timeoutHandler) {
+
+    executeTrack(listener, track, configuration, playerOptions);
+    scheduledExecutorService.schedule(timeoutHandler, preparedTrackTimeout, TimeUnit.MILLISECONDS);
+  }
+
   private AudioTrackExecutor createExecutorForTrack(InternalAudioTrack track, AudioConfiguration configuration,
                                                     AudioPlayerOptions playerOptions) {
 
@@ -362,7 +409,8 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
         return customExecutor;
       } else {
         int bufferDuration = Optional.ofNullable(playerOptions.frameBufferDuration.get()).orElse(frameBufferDuration);
-        return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration);
+        return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration,
+            decodingLimiter, trackMetricsListener);
       }
     }
   }
@@ -382,6 +430,36 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     this.useSeekGhosting = useSeekGhosting;
   }
 
+  /**
+   * @return True if local tracks are executed on virtual threads.
+   */
+  public boolean isUsingVirtualPlaybackThreads() {
+    return useVirtualPlaybackThreads;
+  }
+
+  /**
+   * Configures whether to execute local tracks on virtual threads instead of a pool of platform threads. Requires
+   * JDK 21 or newer, on older versions platform threads are kept and a warning is logged. Tracks which are already
+   * playing continue on the thread they were started on.
+   *
+   * @param useVirtualPlaybackThreads True to use virtual threads for executing tracks
+   */
+  public synchronized void setUseVirtualPlaybackThreads(boolean useVirtualPlaybackThreads) {
+    if (useVirtualPlaybackThreads == this.useVirtualPlaybackThreads) {
+      return;
+    } else if (useVirtualPlaybackThreads && !VirtualThreadTools.isSupported()) {
+      log.warn("Virtual threads are not supported by this JVM, using platform threads for playback.");
+      return;
+    }
+
+    ExecutorService previousExecutor = trackPlaybackExecutorService;
+    trackPlaybackExecutorService = createPlaybackExecutor(useVirtualPlaybackThreads);
+    this.useVirtualPlaybackThreads = useVirtualPlaybackThreads;
+
+    // Does not interrupt tracks which are already playing on it, just lets the threads go away once they finish.
+    previousExecutor.shutdown();
+  }
+
   @Override
   public int getFrameBufferDuration() {
     return frameBufferDuration;
@@ -392,6 +470,52 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     this.frameBufferDuration = Math.max(200, frameBufferDuration);
   }
 
+  /**
+   * @return Time in milliseconds after which tracks which were prepared but not started are stopped.
+   */
+  public long getPreparedTrackTimeout() {
+    return preparedTrackTimeout;
+  }
+
+  /**
+   * @param preparedTrackTimeout Time in milliseconds after which tracks which were prepared with
+   *                             {@link AudioPlayer#prepareTrack(AudioTrack)} but not started are stopped.
+   */
+  public void setPreparedTrackTimeout(long preparedTrackTimeout) {
+    this.preparedTrackTimeout = preparedTrackTimeout;
+  }
+
+  /**
+   * @return The limiter of the number of concurrently decoding local tracks, null if not limited.
+   */
+  public DecodingConcurrencyLimiter getDecodingLimiter() {
+    return decodingLimiter;
+  }
+
+  /**
+   * Sets the limiter of the number of local tracks decoding at the same time. Tracks only occupy a decoding slot while
+   * their frame buffer has room for more frames, so this keeps the number of runnable playback threads close to the
+   * number of slots no matter how many tracks are playing. Each track still has its own playback thread, so this does
+   * not reduce the number of threads. Applies to tracks started after this call.
+   *
+   * @param decodingLimiter The limiter to use, null to not limit the number of concurrently decoding tracks.
+   */
+  public void setDecodingLimiter(DecodingConcurrencyLimiter decodingLimiter) {
+    this.decodingLimiter = decodingLimiter;
+  }
+
+  /**
+   * @return The listener for performance metrics of locally executed tracks, null if metrics are disabled.
+   */
+  public AudioTrackMetricsListener getTrackMetricsListener() {
+    return trackMetricsListener;
+  }
+
+  @Override
+  public void setTrackMetricsListener(AudioTrackMetricsListener listener) {
+    this.trackMetricsListener = listener;
+  }
+
   @Override
   public void setTrackStuckThreshold(long trackStuckThreshold) {
     this.trackStuckThreshold = TimeUnit.MILLISECONDS.toNanos(trackStuckThreshold);
@@ -411,24 +535,51 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     trackInfoExecutorService.setMaximumPoolSize(poolSize);
   }
 
-  private boolean checkSourcesForItem(AudioReference reference, AudioLoadResultHandler resultHandler, boolean[] reported) {
+  /**
+   * @return The cache for load results, null if results are not cached.
+   */
+  public AudioLoadResultCache getLoadResultCache() {
+    return loadResultCache;
+  }
+
+  /**
+   * Sets the cache for the results of loading items. Besides caching loaded tracks and playlists, it makes concurrent
+   * loads of the same identifier share one lookup. References which specify a container descriptor are never cached.
+   *
+   * @param loadResultCache The cache to use, null to load every item from the source managers.
+   */
+  public void setLoadResultCache(AudioLoadResultCache loadResultCache) {
+    this.loadResultCache = loadResultCache;
+  }
+
+  private AudioItem loadItemThroughCache(AudioReference reference) {
+    AudioLoadResultCache cache = loadResultCache;
+
+    if (cache != null && reference.identifier != null && reference.containerDescriptor == null) {
+      return cache.load(reference, this::checkSourcesForItem);
+    } else {
+      return checkSourcesForItem(reference, new AudioSourceManager[1]);
+    }
+  }
+
+  private AudioItem checkSourcesForItem(AudioReference reference, AudioSourceManager[] itemSource) {
     AudioReference currentReference = reference;
 
     for (int redirects = 0; redirects < MAXIMUM_LOAD_REDIRECTS && currentReference.identifier != null; redirects++) {
-      AudioItem item = checkSourcesForItemOnce(currentReference, resultHandler, reported);
+      AudioItem item = checkSourcesForItemOnce(currentReference, itemSource);
       if (item == null) {
-        return false;
+        return null;
       } else if (!(item instanceof AudioReference)) {
-        return true;
+        return item;
       }
       currentReference = (AudioReference) item;
     }
 
-    return false;
+    return null;
   }
 
-  private AudioItem checkSourcesForItemOnce(AudioReference reference, AudioLoadResultHandler resultHandler, boolean[] reported) {
-    for (AudioSourceManager sourceManager : sourceManagers) {
+  private AudioItem checkSourcesForItemOnce(AudioReference reference, AudioSourceManager[] itemSource) {
+    for (AudioSourceManager sourceManager : sourceRoutingIndex.find(reference.identifier)) {
       if (reference.containerDescriptor != null && !(sourceManager instanceof ProbingAudioSourceManager)) {
         continue;
       }
@@ -438,13 +589,10 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
       if (item != null) {
         if (item instanceof AudioTrack) {
           log.debug("Loaded a track with identifier {} using {}.", reference.identifier, sourceManager.getClass().getSimpleName());
-          reported[0] = true;
-          resultHandler.trackLoaded((AudioTrack) item);
         } else if (item instanceof AudioPlaylist) {
           log.debug("Loaded a playlist with identifier {} using {}.", reference.identifier, sourceManager.getClass().getSimpleName());
-          reported[0] = true;
-          resultHandler.playlistLoaded((AudioPlaylist) item);
         }
+        itemSource[0] = sourceManager;
         return item;
       }
     }
@@ -456,9 +604,93 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     return trackPlaybackExecutorService;
   }
 
+  /**
+   * Provides one frame from each of the specified players in a single pass, writing the data of all frames after each
+   * other into one buffer. Frames are written starting from the current position of the buffer, which is advanced past
+   * the last written frame, and never past its limit. A player is only polled if the space left in the buffer fits a
+   * frame of the maximum size of its own output format, which for players created with
+   * {@link #createPlayer(AudioDataFormat)} may differ from the one of this manager. Players which are skipped for lack
+   * of space get a length of -1, the same as players which did not provide a frame.
+   *
+   * Only the clock readings used for stuck track detection are shared, they are read once for the whole pass instead
+   * of once or twice per player. Each player still goes through its own complete provide path, so pausing, stuck track
+   * detection, track end events and frames from the previous track after a seek are handled the same way as for
+   * individual calls, at the same cost.
+   *
+   * @param players Players to provide frames from
+   * @param target Buffer to write the data of the provided frames to
+   * @param offsets Set to the position in the buffer where the frame data of the player at the same index starts
+   * @param lengths Set to the length of the frame data of the player at the same index, -1 if no frame was provided
+   * @return The number of players that provided a frame
+   */
+  public int provideFrames(AudioPlayer[] players, ByteBuffer target, int[] offsets, int[] lengths) {
+    if (offsets.length < players.length || lengths.length < players.length) {
+      throw new IllegalArgumentException("Offset and length arrays must have at least one entry per player.");
+    }
+
+    int defaultChunkSize = configuration.getOutputFormat().maximumChunkSize();
+    MutableAudioFrame frame = new MutableAudioFrame();
+    long requestTime = System.currentTimeMillis();
+    long batchNanoTime = System.nanoTime();
+    int limit = target.limit();
+    int providedCount = 0;
+
+    for (int i = 0; i < players.length; i++) {
+      int offset = target.position();
+
+      offsets[i] = offset;
+      lengths[i] = -1;
+
+      if (limit - offset < getMaximumChunkSize(players[i], defaultChunkSize)) {
+        continue;
+      }
+
+      frame.setBuffer(target);
+
+      if (provideInBatch(players[i], frame, requestTime, batchNanoTime)) {
+        lengths[i] = frame.getDataLength();
+        providedCount++;
+      }
+
+      target.limit(limit);
+      target.position(offset + Math.max(lengths[i], 0));
+    }
+
+    return providedCount;
+  }
+
+  private static int getMaximumChunkSize(AudioPlayer player, int defaultChunkSize) {
+    if (player instanceof DefaultAudioPlayer) {
+      return ((DefaultAudioPlayer) player).getOutputFormat().maximumChunkSize();
+    } else {
+      return defaultChunkSize;
+    }
+  }
+
+  private static boolean provideInBatch(AudioPlayer player, MutableAudioFrame frame, long requestTime,
+                                        long batchNanoTime) {
+
+    if (player instanceof DefaultAudioPlayer) {
+      return ((DefaultAudioPlayer) player).provideInBatch(frame, requestTime, batchNanoTime);
+    } else {
+      return player.provide(frame);
+    }
+  }
+
   @Override
   public AudioPlayer createPlayer() {
-    AudioPlayer player = constructPlayer();
+    return registerPlayer(constructPlayer());
+  }
+
+  /**
+   * @param outputFormat Format to output the tracks of the player in instead of the configured one
+   * @return A new player, for example an input of a {@link MixingAudioPlayer} which expects PCM
+   */
+  public AudioPlayer createPlayer(AudioDataFormat outputFormat) {
+    return registerPlayer(new DefaultAudioPlayer(this, outputFormat));
+  }
+
+  private <T extends AudioPlayer> T registerPlayer(T player) {
     player.addListener(lifecycleManager);
 
     if (remoteNodeManager.isEnabled()) {
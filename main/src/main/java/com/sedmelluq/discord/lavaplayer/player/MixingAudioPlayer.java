@@ -0,0 +1,277 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.Pcm16AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProvider;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProviderTools;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Provides frames which are a mix of the audio of several players, for example to play sound effects over music. The
+ * inputs are regular audio players, so each of them has its own tracks, events, volume and filters. Their tracks are
+ * processed into PCM, which is mixed and then encoded into the output format once, instead of every input encoding its
+ * own output which would have to be decoded again for mixing.
+ */
+public class MixingAudioPlayer implements AudioFrameProvider {
+  private final DefaultAudioPlayerManager manager;
+  private final AudioDataFormat format;
+  private final AudioDataFormat inputFormat;
+  private final List<Input> inputs;
+  private final float[] mixBuffer;
+  private final ShortBuffer outputSamples;
+  private AudioChunkEncoder encoder;
+  private long timecode;
+
+  /**
+   * @param manager Audio player manager to create the inputs with, its current output format is used as the output
+   *                format of the mixer
+   */
+  public MixingAudioPlayer(DefaultAudioPlayerManager manager) {
+    this.manager = manager;
+    this.format = manager.getConfiguration().getOutputFormat();
+    this.inputFormat = new Pcm16AudioDataFormat(format.channelCount, format.sampleRate, format.chunkSampleCount, false);
+    this.inputs = new CopyOnWriteArrayList<>();
+    this.mixBuffer = new float[format.totalSampleCount()];
+    this.outputSamples = ByteBuffer
+        .allocateDirect(format.totalSampleCount() * 2)
+        .order(ByteOrder.nativeOrder())
+        .asShortBuffer();
+  }
+
+  /**
+   * @return A new input of this mixer, remove it with {@link #removeInput(AudioPlayer)} instead of destroying it
+   */
+  public AudioPlayer createInput() {
+    Input input = new Input(manager.createPlayer(inputFormat), inputFormat);
+    inputs.add(input);
+    return input.player;
+  }
+
+  /**
+   * @return The current inputs of this mixer
+   */
+  public List<AudioPlayer> getInputs() {
+    List<AudioPlayer> players = new ArrayList<>();
+
+    for (Input input : inputs) {
+      players.add(input.player);
+    }
+
+    return players;
+  }
+
+  /**
+   * @param player An input of this mixer
+   * @param gain Multiplier applied to the samples of the input when mixing. Unlike the volume of the player, changes
+   *             take effect with the next frame rather than after the buffered frames.
+   */
+  public void setGain(AudioPlayer player, float gain) {
+    findInput(player).gain = Math.max(0.0f, gain);
+  }
+
+  /**
+   * @param player An input of this mixer
+   * @return The gain of the input
+   */
+  public float getGain(AudioPlayer player) {
+    return findInput(player).gain;
+  }
+
+  /**
+   * Removes an input from this mixer and destroys it.
+   *
+   * @param player An input of this mixer
+   */
+  public void removeInput(AudioPlayer player) {
+    Input input = findInput(player);
+    inputs.remove(input);
+    input.player.destroy();
+  }
+
+  /**
+   * Destroys all inputs and releases the encoder.
+   */
+  public void destroy() {
+    for (Input input : inputs) {
+      inputs.remove(input);
+      input.player.destroy();
+    }
+
+    synchronized (this) {
+      if (encoder != null) {
+        encoder.close();
+        encoder = null;
+      }
+    }
+  }
+
+  private Input findInput(AudioPlayer player) {
+    for (Input input : inputs) {
+      if (input.player == player) {
+        return input;
+      }
+    }
+
+    throw new IllegalArgumentException("The player is not an input of this mixer.");
+  }
+
+  @Override
+  public AudioFrame provide() {
+    return AudioFrameProviderTools.delegateToTimedProvide(this);
+  }
+
+  @Override
+  public synchronized AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    if (!pollInputs(timeout, unit)) {
+      return null;
+    }
+
+    byte[] data = mixAndEncode();
+    return data != null ? new ImmutableAudioFrame(nextTimecode(), data, 100, format) : null;
+  }
+
+  @Override
+  public synchronized boolean provide(MutableAudioFrame targetFrame) {
+    return pollInputs() && storeMixedFrame(targetFrame);
+  }
+
+  @Override
+  public synchronized boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    return pollInputs(timeout, unit) && storeMixedFrame(targetFrame);
+  }
+
+  private boolean storeMixedFrame(MutableAudioFrame targetFrame) {
+    byte[] data = mixAndEncode();
+
+    if (data == null) {
+      return false;
+    }
+
+    targetFrame.setTimecode(nextTimecode());
+    targetFrame.setVolume(100);
+    targetFrame.setFormat(format);
+    targetFrame.setTerminator(false);
+    targetFrame.store(data, 0, data.length);
+    return true;
+  }
+
+  private boolean pollInputs() {
+    boolean provided = false;
+
+    for (Input input : inputs) {
+      input.hasFrame = input.player.provide(input.frame);
+      provided |= input.hasFrame;
+    }
+
+    return provided;
+  }
+
+  private boolean pollInputs(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    Input waitedInput = null;
+
+    if (timeout > 0) {
+      // Only wait for the first input which is playing something, the others either have a frame ready or are skipped.
+      for (Input input : inputs) {
+        if (input.player.getPlayingTrack() != null && !input.player.isPaused()) {
+          waitedInput = input;
+          break;
+        }
+      }
+    }
+
+    if (waitedInput == null) {
+      return pollInputs();
+    }
+
+    boolean provided = false;
+
+    for (Input input : inputs) {
+      if (input == waitedInput) {
+        input.hasFrame = input.player.provide(input.frame, timeout, unit);
+      } else {
+        input.hasFrame = input.player.provide(input.frame);
+      }
+
+      provided |= input.hasFrame;
+    }
+
+    return provided;
+  }
+
+  private byte[] mixAndEncode() {
+    if (inputs.isEmpty()) {
+      return null;
+    } else if (encoder == null) {
+      encoder = format.createEncoder(manager.getConfiguration());
+    }
+
+    Arrays.fill(mixBuffer, 0.0f);
+    boolean mixed = false;
+
+    for (Input input : inputs) {
+      if (input.hasFrame) {
+        input.hasFrame = false;
+        input.addTo(mixBuffer);
+        mixed = true;
+      }
+    }
+
+    if (!mixed) {
+      return null;
+    }
+
+    for (int i = 0; i < mixBuffer.length; i++) {
+      outputSamples.put(i, (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixBuffer[i])));
+    }
+
+    outputSamples.clear();
+    return encoder.encode(outputSamples);
+  }
+
+  private long nextTimecode() {
+    long current = timecode;
+    timecode += format.frameDuration();
+    return current;
+  }
+
+  private static class Input {
+    private final AudioPlayer player;
+    private final MutableAudioFrame frame;
+    private final ShortBuffer samples;
+    private volatile float gain;
+    private boolean hasFrame;
+
+    private Input(AudioPlayer player, AudioDataFormat format) {
+      ByteBuffer buffer = ByteBuffer.allocate(format.maximumChunkSize()).order(ByteOrder.LITTLE_ENDIAN);
+
+      this.player = player;
+      this.frame = new MutableAudioFrame();
+      this.frame.setBuffer(buffer);
+      this.samples = buffer.asShortBuffer();
+      this.gain = 1.0f;
+    }
+
+    private void addTo(float[] mixBuffer) {
+      float currentGain = gain;
+      int count = Math.min(mixBuffer.length, frame.getDataLength() / 2);
+
+      for (int i = 0; i < count; i++) {
+        mixBuffer[i] += samples.get(i) * currentGain;
+      }
+    }
+  }
+}
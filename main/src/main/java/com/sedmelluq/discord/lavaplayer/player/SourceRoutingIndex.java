@@ -0,0 +1,139 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the routes declared by source managers, used to find the source managers which may recognise an identifier
+ * without asking every one of them.
+ */
+class SourceRoutingIndex {
+  private final AudioSourceManager[] sourceManagers;
+  private final BitSet unrouted;
+  private final Map<String, BitSet> hosts;
+  private final List<String> prefixes;
+  private final List<Integer> prefixSources;
+  private final List<Pattern> patterns;
+  private final List<Integer> patternSources;
+
+  /**
+   * @param sourceManagers Source managers in the order they should be checked in
+   */
+  SourceRoutingIndex(List<AudioSourceManager> sourceManagers) {
+    this.sourceManagers = sourceManagers.toArray(new AudioSourceManager[0]);
+    this.unrouted = new BitSet();
+    this.hosts = new HashMap<>();
+    this.prefixes = new ArrayList<>();
+    this.prefixSources = new ArrayList<>();
+    this.patterns = new ArrayList<>();
+    this.patternSources = new ArrayList<>();
+
+    for (int i = 0; i < this.sourceManagers.length; i++) {
+      AudioSourceManager sourceManager = this.sourceManagers[i];
+      AudioSourceRoutes routes = sourceManager instanceof RoutableAudioSourceManager ?
+          ((RoutableAudioSourceManager) sourceManager).getRoutes() : null;
+
+      if (routes == null) {
+        unrouted.set(i);
+        continue;
+      }
+
+      for (String host : routes.getHosts()) {
+        hosts.computeIfAbsent(host, key -> new BitSet()).set(i);
+      }
+
+      for (String prefix : routes.getPrefixes()) {
+        prefixes.add(prefix);
+        prefixSources.add(i);
+      }
+
+      for (Pattern pattern : routes.getPatterns()) {
+        patterns.add(pattern);
+        patternSources.add(i);
+      }
+    }
+  }
+
+  /**
+   * @param identifier Identifier to find the source managers for
+   * @return Source managers which may recognise the identifier, in the order they should be checked in
+   */
+  List<AudioSourceManager> find(String identifier) {
+    BitSet candidates = (BitSet) unrouted.clone();
+
+    for (int i = 0; i < prefixes.size(); i++) {
+      if (identifier.startsWith(prefixes.get(i))) {
+        candidates.set(prefixSources.get(i));
+      }
+    }
+
+    if (!hosts.isEmpty()) {
+      addHostCandidates(extractHost(identifier), candidates);
+    }
+
+    for (int i = 0; i < patterns.size(); i++) {
+      if (!candidates.get(patternSources.get(i)) && patterns.get(i).matcher(identifier).matches()) {
+        candidates.set(patternSources.get(i));
+      }
+    }
+
+    List<AudioSourceManager> result = new ArrayList<>(candidates.cardinality());
+
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      result.add(sourceManagers[i]);
+    }
+
+    return result;
+  }
+
+  private void addHostCandidates(String host, BitSet candidates) {
+    // Check the host itself and every parent domain of it, so that routes also match subdomains.
+    for (int start = 0; start >= 0 && start < host.length(); ) {
+      BitSet sources = hosts.get(host.substring(start));
+
+      if (sources != null) {
+        candidates.or(sources);
+      }
+
+      int separator = host.indexOf('.', start);
+      start = separator >= 0 ? separator + 1 : -1;
+    }
+  }
+
+  private static String extractHost(String identifier) {
+    int start = skipScheme(identifier);
+    int end = start;
+
+    while (end < identifier.length() && "/?#:".indexOf(identifier.charAt(end)) < 0) {
+      end++;
+    }
+
+    return identifier.substring(start, end).toLowerCase(Locale.ROOT);
+  }
+
+  private static int skipScheme(String identifier) {
+    int separator = identifier.indexOf("://");
+
+    if (separator <= 0) {
+      return 0;
+    }
+
+    for (int i = 0; i < separator; i++) {
+      char c = identifier.charAt(i);
+
+      if (!Character.isLetterOrDigit(c) && c != '+' && c != '-' && c != '.') {
+        return 0;
+      }
+    }
+
+    return separator + 3;
+  }
+}
@@ -0,0 +1,190 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkDecoder;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * Mixes the frames of a track which is being replaced into the frames of the track replacing it, fading the former out
+ * and the latter in. The output of both tracks is decoded, mixed and encoded again once, which only happens for the
+ * frames within the crossfade window.
+ */
+class TrackCrossfade {
+  private final InternalAudioTrack incomingTrack;
+  private final InternalAudioTrack outgoingTrack;
+  private final long duration;
+  private final AudioConfiguration configuration;
+
+  private AudioDataFormat format;
+  private AudioChunkDecoder incomingDecoder;
+  private AudioChunkDecoder outgoingDecoder;
+  private AudioChunkEncoder encoder;
+  private ShortBuffer incomingSamples;
+  private ShortBuffer outgoingSamples;
+  private long frameIndex;
+  private long frameCount;
+  private boolean finished;
+
+  /**
+   * @param incomingTrack Track which fades in
+   * @param outgoingTrack Track which fades out, stopped when the crossfade ends
+   * @param duration Duration of the crossfade in milliseconds
+   * @param configuration Configuration to use for encoding the mixed frames
+   */
+  TrackCrossfade(InternalAudioTrack incomingTrack, InternalAudioTrack outgoingTrack, long duration,
+                 AudioConfiguration configuration) {
+
+    this.incomingTrack = incomingTrack;
+    this.outgoingTrack = outgoingTrack;
+    this.duration = duration;
+    this.configuration = configuration;
+  }
+
+  /**
+   * @param track Track to check
+   * @return True if the specified track is the one fading in
+   */
+  boolean isIncoming(AudioTrack track) {
+    return incomingTrack == track;
+  }
+
+  /**
+   * @param frame Frame from the incoming track
+   * @return The frame mixed with a frame from the outgoing track, or the same frame if there was nothing to mix
+   */
+  synchronized AudioFrame mix(AudioFrame frame) {
+    byte[] mixed = mix(frame.getData(), frame.getFormat());
+
+    if (mixed == null) {
+      return frame;
+    }
+
+    return new ImmutableAudioFrame(frame.getTimecode(), mixed, frame.getVolume(), frame.getFormat());
+  }
+
+  /**
+   * @param frame Frame from the incoming track, which is replaced with the mixed frame
+   */
+  synchronized void mix(MutableAudioFrame frame) {
+    byte[] mixed = mix(frame.getData(), frame.getFormat());
+
+    if (mixed != null) {
+      frame.store(mixed, 0, mixed.length);
+    }
+  }
+
+  /**
+   * @return True if the crossfade has ended, either by reaching the end of the window or the end of the outgoing track
+   */
+  synchronized boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Ends the crossfade, stopping the outgoing track and freeing the codecs.
+   */
+  synchronized void close() {
+    if (finished) {
+      return;
+    }
+
+    finished = true;
+    outgoingTrack.stop();
+
+    if (incomingDecoder != null) {
+      incomingDecoder.close();
+      outgoingDecoder.close();
+      encoder.close();
+    }
+  }
+
+  private byte[] mix(byte[] incoming, AudioDataFormat frameFormat) {
+    if (finished) {
+      return null;
+    }
+
+    AudioFrame outgoing = outgoingTrack.provide();
+    frameFormat = resolveFormat(frameFormat);
+
+    if (outgoing != null && (outgoing.isTerminator() || !frameFormat.equals(resolveFormat(outgoing.getFormat())))) {
+      close();
+      return null;
+    } else if (!setupCodecs(frameFormat)) {
+      close();
+      return null;
+    }
+
+    byte[] result = null;
+
+    // If the outgoing track has nothing buffered right now, its frame is skipped rather than delaying the fade.
+    if (outgoing != null) {
+      incomingDecoder.decode(incoming, incomingSamples);
+      outgoingDecoder.decode(outgoing.getData(), outgoingSamples);
+
+      mixSamples();
+
+      incomingSamples.clear();
+      result = encoder.encode(incomingSamples);
+    }
+
+    if (++frameIndex >= frameCount) {
+      close();
+    }
+
+    return result;
+  }
+
+  private AudioDataFormat resolveFormat(AudioDataFormat frameFormat) {
+    // Frame buffers do not set the format of mutable frames, tracks of a player always use its output format.
+    return frameFormat != null ? frameFormat : configuration.getOutputFormat();
+  }
+
+  private boolean setupCodecs(AudioDataFormat frameFormat) {
+    if (format != null) {
+      return format.equals(frameFormat);
+    }
+
+    format = frameFormat;
+    frameCount = Math.max(1, duration / format.frameDuration());
+    incomingSamples = allocateSamples(format);
+    outgoingSamples = allocateSamples(format);
+    incomingDecoder = format.createDecoder();
+    outgoingDecoder = format.createDecoder();
+    encoder = format.createEncoder(configuration);
+    return true;
+  }
+
+  private void mixSamples() {
+    int channelCount = format.channelCount;
+    int sampleCount = format.chunkSampleCount;
+    double totalSamples = (double) frameCount * sampleCount;
+
+    for (int i = 0; i < sampleCount; i++) {
+      // Equal power curves, so that the loudness stays constant for uncorrelated tracks.
+      double angle = (frameIndex * sampleCount + i) / totalSamples * (Math.PI / 2);
+      double incomingGain = Math.sin(angle);
+      double outgoingGain = Math.cos(angle);
+
+      for (int j = 0; j < channelCount; j++) {
+        int index = i * channelCount + j;
+        double value = incomingSamples.get(index) * incomingGain + outgoingSamples.get(index) * outgoingGain;
+        incomingSamples.put(index, (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+      }
+    }
+  }
+
+  private static ShortBuffer allocateSamples(AudioDataFormat format) {
+    return ByteBuffer
+        .allocateDirect(format.totalSampleCount() * 2)
+        .order(ByteOrder.nativeOrder())
+        .asShortBuffer();
+  }
+}
@@ -1,6 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.remote;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.TrackPlacement;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
@@ -17,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +48,7 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
   private volatile boolean hasReceivedData;
   private volatile boolean hasStarted;
   private volatile Throwable trackException;
+  private final AtomicReference<TrackMigration> migration = new AtomicReference<>();
 
   /**
    * @param track Audio track to play
@@ -92,6 +96,32 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
     return track;
   }
 
+  /**
+   * @return Description of the track for choosing a node for it
+   */
+  public TrackPlacement getPlacement() {
+    AudioSourceManager sourceManager = track.getSourceManager();
+    String sourceName = sourceManager != null ? sourceManager.getSourceName() : null;
+
+    return new TrackPlacement(track, sourceName, configuration.getOutputFormat(), volumeLevel.get());
+  }
+
+  /**
+   * @return The last migration of this track between nodes, null if it has not been migrated since it was started
+   */
+  TrackMigration getMigration() {
+    return migration.get();
+  }
+
+  /**
+   * @param expected The migration which the caller last saw for this track
+   * @param migration The migration of this track between nodes
+   * @return False if the migration of the track had been changed since the caller read it, in which case it is left as is
+   */
+  boolean replaceMigration(TrackMigration expected, TrackMigration migration) {
+    return this.migration.compareAndSet(expected, migration);
+  }
+
   /**
    * @return The position of a seek that has not completed. Value is -1 in case no seeking is in progress.
    */
@@ -59,6 +59,11 @@ public interface RemoteNode {
    */
   Map<String, Integer> getBalancerPenaltyDetails();
 
+  /**
+   * @return True if the node has been drained and receives no new tracks, see {@link RemoteNodeRegistry#drainNode}.
+   */
+  boolean isDraining();
+
   /**
    * Checks if a audio track is being played by this node.
    *
@@ -91,6 +96,11 @@ public interface RemoteNode {
      * The size of the uncompressed response in bytes.
      */
     public final int responseSize;
+    /**
+     * The time in milliseconds used for the request timing penalty. The duration of the request when polling, the
+     * longest write when streaming.
+     */
+    public final long timing;
 
     /**
      * @param startTime The time when the node processor started building the request to send to the node.
@@ -100,11 +110,24 @@ public interface RemoteNode {
      * @param responseSize The size of the uncompressed response in bytes.
      */
     public Tick(long startTime, long endTime, int responseCode, int requestSize, int responseSize) {
+      this(startTime, endTime, responseCode, requestSize, responseSize, endTime - startTime);
+    }
+
+    /**
+     * @param startTime The time when the node processor started building the request to send to the node.
+     * @param endTime The time when the processing the response data from the node was finished.
+     * @param responseCode Response code from the node. -1 in case of connection failure.
+     * @param requestSize The size of the request in bytes.
+     * @param responseSize The size of the uncompressed response in bytes.
+     * @param timing The time in milliseconds used for the request timing penalty.
+     */
+    public Tick(long startTime, long endTime, int responseCode, int requestSize, int responseSize, long timing) {
       this.startTime = startTime;
       this.endTime = endTime;
       this.responseCode = responseCode;
       this.requestSize = requestSize;
       this.responseSize = responseSize;
+      this.timing = timing;
     }
   }
 
@@ -3,21 +3,30 @@ package com.sedmelluq.discord.lavaplayer.remote;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.PenaltyNodeBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeLoad;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.Units;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
 import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
 import com.sedmelluq.lava.common.tools.ExecutorTools;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
@@ -25,6 +34,10 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Manager of remote nodes for audio processing.
  */
 public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRegistry, Runnable {
+  private static final Logger log = LoggerFactory.getLogger(RemoteNodeManager.class);
+
+  private static final long MIGRATION_LEAD = 2000;
+
   private final DefaultAudioPlayerManager playerManager;
   private final HttpInterfaceManager httpInterfaceManager;
   private final List<RemoteNodeProcessor> processors;
@@ -33,6 +46,7 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
   private final Object lock;
   private volatile ScheduledThreadPoolExecutor scheduler;
   private volatile List<RemoteNodeProcessor> activeProcessors;
+  private volatile RemoteNodeBalancer balancer;
 
   /**
    * @param playerManager Audio player manager
@@ -45,6 +59,7 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     this.enabled = new AtomicBoolean();
     this.lock = new Object();
     this.activeProcessors = new ArrayList<>();
+    this.balancer = new PenaltyNodeBalancer();
   }
 
   /**
@@ -119,7 +134,7 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
    * @param remoteExecutor The executor of the track
    */
   public void startPlaying(RemoteAudioTrackExecutor remoteExecutor) {
-    RemoteNodeProcessor processor = getNodeForNextTrack();
+    RemoteNodeProcessor processor = getNodeForNextTrack(remoteExecutor);
 
     processor.startPlaying(remoteExecutor);
   }
@@ -130,24 +145,74 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     scheduler = scheduledExecutor;
   }
 
-  private RemoteNodeProcessor getNodeForNextTrack() {
-    int lowestPenalty = Integer.MAX_VALUE;
-    RemoteNodeProcessor node = null;
+  private RemoteNodeProcessor getNodeForNextTrack(RemoteAudioTrackExecutor executor) {
+    RemoteNodeProcessor node = selectNode(executor, null);
+
+    if (node == null) {
+      throw new FriendlyException("No available machines for playing track.", SUSPICIOUS, null);
+    }
 
-    for (RemoteNodeProcessor processor : processors) {
-      int penalty = processor.getBalancerPenalty();
+    return node;
+  }
 
-      if (penalty < lowestPenalty) {
-        lowestPenalty = penalty;
-        node = processor;
+  private RemoteNodeProcessor selectNode(RemoteAudioTrackExecutor executor, RemoteNodeProcessor excluded) {
+    Map<RemoteNodeLoad, RemoteNodeProcessor> processorForLoad = new IdentityHashMap<>();
+    List<RemoteNodeLoad> loads = new ArrayList<>();
+
+    for (RemoteNodeProcessor processor : activeProcessors) {
+      RemoteNodeLoad load = processor != excluded ? processor.getLoad() : null;
+
+      if (load != null) {
+        processorForLoad.put(load, processor);
+        loads.add(load);
       }
     }
 
-    if (node == null) {
-      throw new FriendlyException("No available machines for playing track.", SUSPICIOUS, null);
+    RemoteNodeLoad selected = loads.isEmpty() ? null : balancer.selectNode(loads, executor.getPlacement());
+    return selected != null ? processorForLoad.get(selected) : null;
+  }
+
+  private RemoteNodeProcessor findProcessor(RemoteNode node) {
+    for (RemoteNodeProcessor processor : activeProcessors) {
+      if (processor == node) {
+        return processor;
+      }
     }
 
-    return node;
+    return null;
+  }
+
+  private boolean startMigration(RemoteAudioTrackExecutor executor, RemoteNodeProcessor source,
+                                 RemoteNodeProcessor target) {
+
+    TrackMigration previousMigration = executor.getMigration();
+    long duration = executor.getTrack().getDuration();
+    long startPosition = executor.getNextInputTimecode() + MIGRATION_LEAD;
+
+    if (target == null || target == source || target.getLoad() == null) {
+      return false;
+    } else if (executor.getState() != AudioTrackState.PLAYING || executor.getPendingSeek() != -1) {
+      return false;
+    } else if (previousMigration != null && previousMigration.isActive()) {
+      return false;
+    } else if (!executor.getTrack().isSeekable() || duration == Units.DURATION_MS_UNKNOWN ||
+        startPosition + MIGRATION_LEAD > duration) {
+      return false;
+    }
+
+    TrackMigration migration = new TrackMigration(executor, source, target, startPosition);
+
+    if (!executor.replaceMigration(previousMigration, migration)) {
+      // Another migration of this track was started since the checks above.
+      return false;
+    }
+
+    if (!target.startMigration(migration)) {
+      migration.cancel("the track already being on the target node");
+      return false;
+    }
+
+    return true;
   }
 
   @Override
@@ -185,4 +250,58 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
   public List<RemoteNode> getNodes() {
     return new ArrayList<>(activeProcessors);
   }
+
+  @Override
+  public void setBalancer(RemoteNodeBalancer balancer) {
+    this.balancer = balancer;
+  }
+
+  @Override
+  public boolean migrateTrack(AudioTrack track, RemoteNode target) {
+    AudioTrackExecutor executor = ((InternalAudioTrack) track).getActiveExecutor();
+
+    if (!(executor instanceof RemoteAudioTrackExecutor)) {
+      return false;
+    }
+
+    RemoteAudioTrackExecutor remoteExecutor = (RemoteAudioTrackExecutor) executor;
+    RemoteNodeProcessor source = (RemoteNodeProcessor) getNodeUsedForTrack(track);
+
+    if (source == null) {
+      return false;
+    }
+
+    RemoteNodeProcessor targetProcessor = target != null ? findProcessor(target) : selectNode(remoteExecutor, source);
+    return startMigration(remoteExecutor, source, targetProcessor);
+  }
+
+  @Override
+  public int drainNode(RemoteNode node) {
+    RemoteNodeProcessor source = findProcessor(node);
+    int migrationCount = 0;
+
+    if (source == null) {
+      return 0;
+    }
+
+    source.setDraining(true);
+
+    for (RemoteAudioTrackExecutor executor : source.getPlayingExecutors()) {
+      if (startMigration(executor, source, selectNode(executor, source))) {
+        migrationCount++;
+      }
+    }
+
+    log.info("Draining node {}, started migration of {} tracks.", source.getAddress(), migrationCount);
+    return migrationCount;
+  }
+
+  @Override
+  public void resumeNode(RemoteNode node) {
+    RemoteNodeProcessor processor = findProcessor(node);
+
+    if (processor != null) {
+      processor.setDraining(false);
+    }
+  }
 }
@@ -2,9 +2,14 @@ package com.sedmelluq.discord.lavaplayer.remote;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.BalancerPenaltyTools;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeLoad;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.TrackPlacement;
+import com.sedmelluq.discord.lavaplayer.remote.message.CodecVersionsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageType;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
@@ -24,11 +29,17 @@ import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,10 +51,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.http.Header;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -66,6 +81,14 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private static final int TRACK_KILL_THRESHOLD = 10000;
   private static final int TICK_MINIMUM_INTERVAL = 500;
   private static final int NODE_REQUEST_HISTORY = 200;
+  private static final String STREAMING_SCHEME = "tcp://";
+  private static final int STREAM_WRITE_INTERVAL = 20;
+  private static final int STREAM_MINIMUM_FRAMES = 5;
+  private static final int STREAM_KEEPALIVE_INTERVAL = 1000;
+  private static final long OVERLOAD_BACKOFF = TimeUnit.SECONDS.toMillis(5);
+
+  private static final ThreadFactory streamThreadFactory = new DaemonThreadFactory("remote-stream");
+  private static final CodecVersionsMessage localCodecVersions = CodecVersionsMessage.createLocal();
 
   private final DefaultAudioPlayerManager playerManager;
   private final String nodeAddress;
@@ -74,19 +97,24 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private final AbandonedTrackManager abandonedTrackManager;
   private final BlockingQueue<RemoteMessage> queuedMessages;
   private final ConcurrentMap<Long, RemoteAudioTrackExecutor> playingTracks;
+  private final ConcurrentMap<Long, TrackMigration> migratingTracks;
   private final RemoteMessageMapper mapper;
   private final AtomicBoolean threadRunning;
   private final AtomicInteger connectionState;
   private final ArrayDeque<RemoteNode.Tick> tickHistory;
+  private final Map<Long, StreamTrackState> streamStates;
   private volatile int aliveTickCounter;
   private volatile int requestTimingPenalty;
   private volatile long lastAliveTime;
   private volatile NodeStatisticsMessage lastStatistics;
+  private volatile CodecVersionsMessage nodeCodecVersions;
   private volatile boolean closed;
+  private volatile boolean draining;
+  private volatile long overloadedUntil;
 
   /**
    * @param playerManager Audio player manager
-   * @param nodeAddress Address of this node
+   * @param nodeAddress Address of this node, with a tcp:// prefix if the node should be used over a persistent stream
    * @param scheduledExecutor Scheduler to use to schedule reconnects
    * @param httpInterfaceManager HTTP interface manager to use for communicating with node
    * @param abandonedTrackManager Abandoned track manager, where the playing tracks are sent if node goes offline
@@ -102,10 +130,12 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     this.abandonedTrackManager = abandonedTrackManager;
     queuedMessages = new LinkedBlockingQueue<>();
     playingTracks = new ConcurrentHashMap<>();
+    migratingTracks = new ConcurrentHashMap<>();
     mapper = new RemoteMessageMapper();
     threadRunning = new AtomicBoolean();
     connectionState = new AtomicInteger(ConnectionState.OFFLINE.id());
     tickHistory = new ArrayDeque<>(NODE_REQUEST_HISTORY);
+    streamStates = new ConcurrentHashMap<>();
     closed = false;
   }
 
@@ -115,6 +145,12 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
    */
   public void startPlaying(RemoteAudioTrackExecutor executor) {
     AudioTrack track = executor.getTrack();
+    TrackMigration migration = executor.getMigration();
+
+    if (migration != null && !migration.isActive()) {
+      // The node which owned the track after the migration is gone, frames from this node must be accepted.
+      executor.replaceMigration(migration, null);
+    }
 
     if (playingTracks.putIfAbsent(executor.getExecutorId(), executor) == null) {
       long position = executor.getNextInputTimecode();
@@ -142,6 +178,86 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
       executor.detach();
     }
+
+    TrackMigration migration = migratingTracks.get(executor.getExecutorId());
+
+    if (migration != null) {
+      migration.cancel("the track being stopped");
+    }
+  }
+
+  /**
+   * Start playing a track on this node which another node is currently playing. The frames from this node are staged
+   * until the migration completes, see {@link TrackMigration}.
+   *
+   * @param migration The migration of the track to this node
+   * @return True if the track was not already playing or migrating to this node
+   */
+  boolean startMigration(TrackMigration migration) {
+    RemoteAudioTrackExecutor executor = migration.getExecutor();
+    AudioTrack track = executor.getTrack();
+
+    if (playingTracks.containsKey(executor.getExecutorId()) ||
+        migratingTracks.putIfAbsent(executor.getExecutorId(), migration) != null) {
+      return false;
+    }
+
+    log.info("Sending request to play {} {} from position {} for migration to node {}", track.getIdentifier(),
+        executor.getExecutorId(), migration.getStartPosition(), nodeAddress);
+
+    queuedMessages.add(new TrackStartRequestMessage(executor.getExecutorId(), track.getInfo(), playerManager.encodeTrackDetails(track),
+        executor.getVolume(), executor.getConfiguration(), migration.getStartPosition()));
+    return true;
+  }
+
+  /**
+   * Makes this node the node of a track which has been migrated to it.
+   * @param migration The completed migration
+   */
+  void completeMigration(TrackMigration migration) {
+    RemoteAudioTrackExecutor executor = migration.getExecutor();
+
+    if (migratingTracks.remove(executor.getExecutorId(), migration)) {
+      playingTracks.put(executor.getExecutorId(), executor);
+    }
+  }
+
+  /**
+   * Stops a track on this node which was being migrated to it.
+   * @param migration The cancelled migration
+   */
+  void removeMigration(TrackMigration migration) {
+    long executorId = migration.getExecutor().getExecutorId();
+
+    if (migratingTracks.remove(executorId, migration)) {
+      queuedMessages.add(new TrackStoppedMessage(executorId));
+    }
+  }
+
+  /**
+   * Stops a track on this node which another node has taken over, without ending the track.
+   * @param executor Executor of the track
+   */
+  void releaseTrack(RemoteAudioTrackExecutor executor) {
+    if (playingTracks.remove(executor.getExecutorId()) != null) {
+      log.info("Track {} released from node {} (context {})", executor.getTrack().getIdentifier(), nodeAddress, executor.getExecutorId());
+
+      queuedMessages.add(new TrackStoppedMessage(executor.getExecutorId()));
+    }
+  }
+
+  /**
+   * @return Executors of the tracks this node is playing
+   */
+  List<RemoteAudioTrackExecutor> getPlayingExecutors() {
+    return new ArrayList<>(playingTracks.values());
+  }
+
+  /**
+   * @param draining Whether this node should receive no new tracks
+   */
+  void setDraining(boolean draining) {
+    this.draining = draining;
   }
 
   /**
@@ -163,13 +279,15 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     log.debug("Trying to connect to node {}.", nodeAddress);
 
     connectionState.set(ConnectionState.PENDING.id());
+    nodeCodecVersions = null;
 
-    try (HttpInterface httpInterface = httpInterfaceManager.getInterface()) {
-      RingBufferMath timingAverage = new RingBufferMath(10, in -> Math.pow(in, 5.0), out -> Math.pow(out, 0.2));
+    try {
+      RingBufferMath timingAverage = BalancerPenaltyTools.createTimingAverage();
 
-      while (processOneTick(httpInterface, timingAverage)) {
-        aliveTickCounter = Math.max(1, aliveTickCounter + 1);
-        lastAliveTime = System.currentTimeMillis();
+      if (nodeAddress.startsWith(STREAMING_SCHEME)) {
+        processStream(timingAverage);
+      } else {
+        processTicks(timingAverage);
       }
     } catch (InterruptedException e) {
       log.info("Node {} processing was stopped.", nodeAddress);
@@ -215,6 +333,15 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     }
   }
 
+  private void processTicks(RingBufferMath timingAverage) throws Exception {
+    try (HttpInterface httpInterface = httpInterfaceManager.getInterface()) {
+      while (processOneTick(httpInterface, timingAverage)) {
+        aliveTickCounter = Math.max(1, aliveTickCounter + 1);
+        lastAliveTime = System.currentTimeMillis();
+      }
+    }
+  }
+
   private boolean processOneTick(HttpInterface httpInterface, RingBufferMath timingAverage) throws Exception {
     TickBuilder tickBuilder = new TickBuilder(System.currentTimeMillis());
 
@@ -224,7 +351,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
       }
     } finally {
       tickBuilder.endTime = System.currentTimeMillis();
-      recordTick(tickBuilder.build(), timingAverage);
+      recordTick(tickBuilder.build(tickBuilder.endTime - tickBuilder.startTime), timingAverage);
     }
 
     long sleepDuration = Math.max((tickBuilder.startTime + 500) - tickBuilder.endTime, 10);
@@ -241,6 +368,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
     ByteArrayEntity entity = new ByteArrayEntity(buildRequestBody());
     post.setEntity(entity);
+    post.setHeader(CodecVersionsMessage.HEADER_NAME, localCodecVersions.toHeaderValue());
 
     tickBuilder.requestSize = (int) entity.getContentLength();
 
@@ -261,6 +389,14 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
       lastAliveTime = System.currentTimeMillis();
 
+      Header versionsHeader = response.getFirstHeader(CodecVersionsMessage.HEADER_NAME);
+      CodecVersionsMessage versions = CodecVersionsMessage.fromHeaderValue(
+          versionsHeader != null ? versionsHeader.getValue() : null);
+
+      if (versions != null) {
+        handleCodecVersions(versions);
+      }
+
       if (!handleResponseBody(response.getEntity().getContent(), tickBuilder)) {
         return false;
       }
@@ -277,7 +413,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return true;
   }
 
-  private byte[] buildRequestBody() throws IOException {
+  private byte[] buildRequestBody() throws IOException, InterruptedException {
     ByteArrayOutputStream outputBytes = new ByteArrayOutputStream();
     DataOutputStream output = new DataOutputStream(outputBytes);
 
@@ -290,13 +426,19 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
     for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
       long pendingSeek = executor.getPendingSeek();
-
-      AudioFrameBuffer buffer = executor.getAudioBuffer();
-      int neededFrames = pendingSeek == -1 ? buffer.getRemainingCapacity() : buffer.getFullCapacity();
+      int neededFrames = getRequestCapacity(executor, pendingSeek);
 
       messages.add(new TrackFrameRequestMessage(executor.getExecutorId(), neededFrames, executor.getVolume(), pendingSeek));
     }
 
+    for (TrackMigration migration : migratingTracks.values()) {
+      RemoteAudioTrackExecutor executor = migration.getExecutor();
+      migration.update();
+
+      messages.add(new TrackFrameRequestMessage(executor.getExecutorId(), migration.getTargetRequestCapacity(),
+          executor.getVolume(), -1));
+    }
+
     for (RemoteMessage message : messages) {
       mapper.encode(output, message);
     }
@@ -312,15 +454,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
     try {
       while ((message = mapper.decode(input)) != null) {
-        if (message instanceof TrackStartResponseMessage) {
-          handleTrackStartResponse((TrackStartResponseMessage) message);
-        } else if (message instanceof TrackFrameDataMessage) {
-          handleTrackFrameData((TrackFrameDataMessage) message);
-        } else if (message instanceof TrackExceptionMessage) {
-          handleTrackException((TrackExceptionMessage) message);
-        } else if (message instanceof NodeStatisticsMessage) {
-          handleNodeStatistics((NodeStatisticsMessage) message);
-        }
+        handleMessage(message);
       }
     } catch (InterruptedException interruption) {
       log.error("Node {} processing thread was interrupted.", nodeAddress);
@@ -336,15 +470,175 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return true;
   }
 
+  private void processStream(RingBufferMath timingAverage) throws Exception {
+    URI address = URI.create(nodeAddress);
+
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(address.getHost(), address.getPort()), CONNECT_TIMEOUT);
+      socket.setSoTimeout(SOCKET_TIMEOUT);
+      socket.setTcpNoDelay(true);
+
+      StreamConnection connection = new StreamConnection(socket);
+      Thread readerThread = streamThreadFactory.newThread(connection);
+
+      streamStates.clear();
+      lastAliveTime = System.currentTimeMillis();
+
+      if (connectionState.compareAndSet(ConnectionState.PENDING.id(), ConnectionState.ONLINE.id())) {
+        log.info("Node {} came online.", nodeAddress);
+      }
+
+      // Only nodes which support streams accept the connection, so the versions can be exchanged as the first message.
+      mapper.encode(connection.output, localCodecVersions);
+      readerThread.start();
+
+      try {
+        while (processOneStreamWindow(connection, timingAverage)) {
+          aliveTickCounter = Math.max(1, aliveTickCounter + 1);
+        }
+      } finally {
+        connection.ended = true;
+        readerThread.interrupt();
+      }
+    }
+  }
+
+  private boolean processOneStreamWindow(StreamConnection connection, RingBufferMath timingAverage) throws Exception {
+    TickBuilder tickBuilder = new TickBuilder(System.currentTimeMillis());
+    long longestWrite = 0;
+
+    abandonedTrackManager.distribute(Collections.singletonList(this));
+
+    try {
+      while (System.currentTimeMillis() < tickBuilder.startTime + TICK_MINIMUM_INTERVAL) {
+        connection.checkFailure();
+
+        if (connectionState.get() != ConnectionState.ONLINE.id()) {
+          log.warn("Node {} stream is still open, but it had already lost control of its tracks.", nodeAddress);
+          return false;
+        }
+
+        RemoteMessage message = queuedMessages.poll(STREAM_WRITE_INTERVAL, TimeUnit.MILLISECONDS);
+        long writeStart = System.nanoTime();
+
+        writeStreamMessages(connection.output, message);
+        longestWrite = Math.max(longestWrite, System.nanoTime() - writeStart);
+      }
+
+      tickBuilder.responseCode = HttpStatus.SC_OK;
+    } finally {
+      tickBuilder.endTime = System.currentTimeMillis();
+      tickBuilder.requestSize = (int) connection.outputCounter.resetByteCount();
+      tickBuilder.responseSize = (int) connection.inputCounter.resetByteCount();
+
+      // The windows have a fixed length, the time spent writing is what shows how well the node keeps up.
+      recordTick(tickBuilder.build(TimeUnit.NANOSECONDS.toMillis(longestWrite)), timingAverage);
+    }
+
+    return true;
+  }
+
+  private void writeStreamMessages(DataOutputStream output, RemoteMessage firstMessage)
+      throws IOException, InterruptedException {
+
+    List<RemoteMessage> messages = new ArrayList<>();
+
+    if (firstMessage != null) {
+      messages.add(firstMessage);
+      queuedMessages.drainTo(messages);
+    }
+
+    for (RemoteMessage message : messages) {
+      if (message instanceof TrackStartRequestMessage) {
+        // Frames are only requested for tracks which the node has already been told to start.
+        streamStates.putIfAbsent(((TrackStartRequestMessage) message).executorId, new StreamTrackState());
+      }
+
+      mapper.encode(output, message);
+    }
+
+    long now = System.currentTimeMillis();
+    streamStates.keySet().removeIf(id -> !playingTracks.containsKey(id) && !migratingTracks.containsKey(id));
+
+    for (Map.Entry<Long, StreamTrackState> entry : streamStates.entrySet()) {
+      TrackFrameRequestMessage request = createStreamRequest(entry.getKey(), entry.getValue(), now);
+
+      if (request != null) {
+        mapper.encode(output, request);
+      }
+    }
+
+    output.flush();
+  }
+
+  private TrackFrameRequestMessage createStreamRequest(long executorId, StreamTrackState state, long now)
+      throws InterruptedException {
+
+    RemoteAudioTrackExecutor executor = playingTracks.get(executorId);
+
+    if (executor != null) {
+      long pendingSeek = executor.getPendingSeek();
+      return state.createRequest(executorId, getRequestCapacity(executor, pendingSeek), executor.getVolume(), pendingSeek, now);
+    }
+
+    TrackMigration migration = migratingTracks.get(executorId);
+
+    if (migration != null) {
+      migration.update();
+      return state.createRequest(executorId, migration.getTargetRequestCapacity(), migration.getExecutor().getVolume(), -1, now);
+    }
+
+    return null;
+  }
+
+  private int getRequestCapacity(RemoteAudioTrackExecutor executor, long pendingSeek) {
+    TrackMigration migration = executor.getMigration();
+
+    if (migration != null && migration.isHoldingSource()) {
+      return 0;
+    }
+
+    AudioFrameBuffer buffer = executor.getAudioBuffer();
+    return pendingSeek == -1 ? buffer.getRemainingCapacity() : buffer.getFullCapacity();
+  }
+
+  private void handleMessage(RemoteMessage message) throws Exception {
+    if (message instanceof TrackStartResponseMessage) {
+      handleTrackStartResponse((TrackStartResponseMessage) message);
+    } else if (message instanceof TrackFrameDataMessage) {
+      handleTrackFrameData((TrackFrameDataMessage) message);
+    } else if (message instanceof TrackExceptionMessage) {
+      handleTrackException((TrackExceptionMessage) message);
+    } else if (message instanceof NodeStatisticsMessage) {
+      handleNodeStatistics((NodeStatisticsMessage) message);
+    } else if (message instanceof CodecVersionsMessage) {
+      handleCodecVersions((CodecVersionsMessage) message);
+    }
+  }
+
   private void handleTrackStartResponse(TrackStartResponseMessage message) {
     if (message.success) {
       log.debug("Successful start confirmation from node {} for executor {}.", nodeAddress, message.executorId);
     } else {
       RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
 
-      if (executor != null) {
+      TrackMigration migration = migratingTracks.get(message.executorId);
+
+      if (message.overloaded) {
+        log.info("Node {} is overloaded, not placing tracks on it for {}ms.", nodeAddress, OVERLOAD_BACKOFF);
+        overloadedUntil = System.currentTimeMillis() + OVERLOAD_BACKOFF;
+      }
+
+      if (executor != null && message.overloaded) {
+        if (playingTracks.remove(message.executorId, executor)) {
+          log.debug("Start of {} deferred by overloaded node {}, putting it up for adoption.", executor, nodeAddress);
+          abandonedTrackManager.add(executor);
+        }
+      } else if (executor != null) {
         executor.dispatchException(new FriendlyException("Remote machine failed to start track: " + message.failureReason, SUSPICIOUS, null));
         executor.stop();
+      } else if (migration != null) {
+        migration.cancel("failure to start on the target node: " + message.failureReason);
       } else {
         log.debug("Received failed track start for an already stopped executor {} from node {}.", message.executorId, nodeAddress);
       }
@@ -353,43 +647,87 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
   private void handleTrackFrameData(TrackFrameDataMessage message) throws Exception {
     RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
+    StreamTrackState streamState = streamStates.get(message.executorId);
+
+    if (streamState != null) {
+      streamState.receivedFrames.addAndGet(message.getFrameCount());
+    }
 
     if (executor != null) {
-      if (message.seekedPosition >= 0) {
-        executor.clearSeek(message.seekedPosition);
+      TrackMigration migration = executor.getMigration();
+
+      if (migration != null) {
+        migration.handleOwnerFrames(this, message);
+      } else {
+        consumeFrames(executor, message);
       }
+    } else {
+      TrackMigration migration = migratingTracks.get(message.executorId);
 
-      AudioFrameBuffer buffer = executor.getAudioBuffer();
-      executor.receivedData();
+      if (migration != null) {
+        migration.handleTargetFrames(message);
+      }
+    }
+  }
 
-      AudioDataFormat format = executor.getConfiguration().getOutputFormat();
+  /**
+   * Adds the frames from a node to the frame buffer of the track.
+   *
+   * @param executor Executor of the track
+   * @param message The message with the frames
+   * @throws InterruptedException When interrupted
+   */
+  void consumeFrames(RemoteAudioTrackExecutor executor, TrackFrameDataMessage message) throws InterruptedException {
+    if (message.seekedPosition >= 0) {
+      executor.clearSeek(message.seekedPosition);
+    }
 
+    AudioFrameBuffer buffer = executor.getAudioBuffer();
+    executor.receivedData();
+
+    AudioDataFormat format = executor.getConfiguration().getOutputFormat();
+
+    if (message.packedFrames != null) {
+      message.packedFrames.transferTo(buffer, format);
+    } else {
       for (AudioFrame frame : message.frames) {
         buffer.consume(new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), frame.getVolume(), format));
       }
+    }
 
-      if (message.finished) {
-        buffer.setTerminateOnEmpty();
-        trackEnded(executor, false);
-      }
+    if (message.finished) {
+      buffer.setTerminateOnEmpty();
+      trackEnded(executor, false);
     }
   }
 
   private void handleTrackException(TrackExceptionMessage message) {
     RemoteAudioTrackExecutor executor = playingTracks.get(message.executorId);
+    TrackMigration migration = migratingTracks.get(message.executorId);
 
     if (executor != null) {
       executor.dispatchException(message.exception);
+    } else if (migration != null) {
+      migration.cancel("an exception on the target node: " + message.exception.getMessage());
     }
   }
 
   private void handleNodeStatistics(NodeStatisticsMessage message) {
-    log.trace("Received stats from node: {} {} {} {}", message.playingTrackCount, message.totalTrackCount,
-        message.processCpuUsage, message.systemCpuUsage);
+    log.trace("Received stats from node: {} {} {} {} {}", message.playingTrackCount, message.totalTrackCount,
+        message.processCpuUsage, message.systemCpuUsage, message.frameHeadroom);
 
     lastStatistics = message;
   }
 
+  private void handleCodecVersions(CodecVersionsMessage message) {
+    if (nodeCodecVersions == null) {
+      log.debug("Node {} supports frame data version {}.", nodeAddress,
+          message.getVersion(RemoteMessageType.TRACK_FRAME_DATA));
+    }
+
+    nodeCodecVersions = message;
+  }
+
   /**
    * @return An HTTP interface manager with appropriate timeouts for node requests.
    */
@@ -412,7 +750,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
    * @param terminate Whether to terminate without checking the threshold
    */
   public synchronized void processHealthCheck(boolean terminate) {
-    if (playingTracks.isEmpty() || (!terminate && lastAliveTime >= System.currentTimeMillis() - TRACK_KILL_THRESHOLD)) {
+    if ((playingTracks.isEmpty() && migratingTracks.isEmpty()) || (!terminate && lastAliveTime >= System.currentTimeMillis() - TRACK_KILL_THRESHOLD)) {
       return;
     }
 
@@ -425,16 +763,23 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     // There may be some racing that manages to add a track after this, it will be dealt with on the next iteration
     for (Long executorId : new ArrayList<>(playingTracks.keySet())) {
       RemoteAudioTrackExecutor executor = playingTracks.remove(executorId);
+      TrackMigration migration = executor != null ? executor.getMigration() : null;
 
-      if (executor != null) {
+      if (migration != null && migration.isActive()) {
+        migration.sourceFailed();
+      } else if (executor != null) {
         abandonedTrackManager.add(executor);
       }
     }
+
+    for (TrackMigration migration : new ArrayList<>(migratingTracks.values())) {
+      migration.cancel("the target node going offline");
+    }
   }
 
   private void recordTick(RemoteNode.Tick tick, RingBufferMath timingAverage) {
-    timingAverage.add(tick.endTime - tick.startTime);
-    requestTimingPenalty = (int) ((1450.0f / ((1450.0f - Math.min(timingAverage.mean(), 1440)) / 30.0f)) - 30.0f);
+    timingAverage.add(tick.timing);
+    requestTimingPenalty = BalancerPenaltyTools.getRequestTimingPenalty(timingAverage);
 
     synchronized (tickHistory) {
       if (tickHistory.size() == NODE_REQUEST_HISTORY) {
@@ -504,26 +849,8 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   }
 
   private boolean isUnavailableForTracks(NodeStatisticsMessage statistics) {
-    return statistics == null || connectionState.get() != ConnectionState.ONLINE.id();
-  }
-
-  private int getPenaltyForPlayingTracks(NodeStatisticsMessage statistics) {
-    int count = statistics.playingTrackCount;
-    int penalty = Math.min(count, 100);
-
-    if (count > 100) {
-      penalty += Math.pow(count - 100.0, 0.7);
-    }
-
-    return penalty * 3 / 2;
-  }
-
-  private int getPenaltyForPausedTracks(NodeStatisticsMessage statistics) {
-    return statistics.totalTrackCount - statistics.playingTrackCount;
-  }
-
-  private int getPenaltyForCpuUsage(NodeStatisticsMessage statistics) {
-    return (int) ((1.0f / ((1.0f - Math.min(statistics.systemCpuUsage, 0.99f)) / 30.0f)) - 30.0f);
+    return statistics == null || draining || overloadedUntil > System.currentTimeMillis() ||
+        connectionState.get() != ConnectionState.ONLINE.id();
   }
 
   @Override
@@ -534,9 +861,10 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     if (isUnavailableForTracks(statistics)) {
       details.put("unavailable", Integer.MAX_VALUE);
     } else {
-      details.put("playing", getPenaltyForPlayingTracks(statistics));
-      details.put("paused", getPenaltyForPausedTracks(statistics));
-      details.put("cpu", getPenaltyForCpuUsage(statistics));
+      details.put("playing", BalancerPenaltyTools.getPlayingTracksPenalty(statistics));
+      details.put("paused", BalancerPenaltyTools.getPausedTracksPenalty(statistics));
+      details.put("cpu", BalancerPenaltyTools.getCpuUsagePenalty(statistics));
+      details.put("headroom", BalancerPenaltyTools.getFrameHeadroomPenalty(statistics));
       details.put("timings", requestTimingPenalty);
     }
 
@@ -559,10 +887,35 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
       return Integer.MAX_VALUE;
     }
 
-    return getPenaltyForPlayingTracks(statistics) +
-        getPenaltyForPausedTracks(statistics) +
-        getPenaltyForCpuUsage(statistics) +
-        requestTimingPenalty;
+    return BalancerPenaltyTools.getTotalPenalty(statistics, requestTimingPenalty);
+  }
+
+  /**
+   * @return Current load of this node for the balancer, null if it cannot take tracks
+   */
+  public RemoteNodeLoad getLoad() {
+    NodeStatisticsMessage statistics = lastStatistics;
+
+    if (isUnavailableForTracks(statistics)) {
+      return null;
+    }
+
+    List<TrackPlacement> placements = new ArrayList<>();
+
+    for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
+      placements.add(executor.getPlacement());
+    }
+
+    for (TrackMigration migration : migratingTracks.values()) {
+      placements.add(migration.getExecutor().getPlacement());
+    }
+
+    return new RemoteNodeLoad(nodeAddress, statistics, getBalancerPenalty(), placements);
+  }
+
+  @Override
+  public boolean isDraining() {
+    return draining;
   }
 
   @Override
@@ -576,6 +929,87 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return false;
   }
 
+  private class StreamConnection implements Runnable {
+    private final Socket socket;
+    private final CountingInputStream inputCounter;
+    private final CountingOutputStream outputCounter;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+    private volatile Throwable failure;
+    private volatile boolean ended;
+
+    private StreamConnection(Socket socket) throws IOException {
+      this.socket = socket;
+      this.inputCounter = new CountingInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.outputCounter = new CountingOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      this.input = new DataInputStream(inputCounter);
+      this.output = new DataOutputStream(outputCounter);
+    }
+
+    @Override
+    public void run() {
+      try {
+        RemoteMessage message;
+
+        while ((message = mapper.decode(input)) != null) {
+          lastAliveTime = System.currentTimeMillis();
+          handleMessage(message);
+        }
+
+        failure = new IOException("Node closed the stream.");
+      } catch (Throwable e) {
+        if (!ended) {
+          failure = e;
+        }
+      } finally {
+        ended = true;
+        ExceptionTools.closeWithWarnings(socket);
+      }
+    }
+
+    private void checkFailure() throws Exception {
+      Throwable cause = failure;
+
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      } else if (cause != null) {
+        throw (Error) cause;
+      }
+    }
+  }
+
+  /**
+   * Frame requests of one track on a stream. As frames are pushed by the node whenever it has them, the requests grant
+   * it credit for a number of frames, which is never more than fits into the buffer along with the frames in flight.
+   */
+  private static class StreamTrackState {
+    private final AtomicLong receivedFrames = new AtomicLong();
+    private long requestedFrames;
+    private int lastVolume = -1;
+    private long lastSeek = -1;
+    private long lastRequestTime;
+
+    private TrackFrameRequestMessage createRequest(long executorId, int capacity, int volume, long pendingSeek,
+                                                   long now) {
+
+      long seekPosition = pendingSeek != lastSeek ? pendingSeek : -1;
+      int frames = (int) Math.max(0, capacity - (requestedFrames - receivedFrames.get()));
+
+      lastSeek = pendingSeek;
+
+      if (frames < STREAM_MINIMUM_FRAMES && seekPosition == -1 && volume == lastVolume &&
+          now - lastRequestTime < STREAM_KEEPALIVE_INTERVAL) {
+        return null;
+      }
+
+      requestedFrames += frames;
+      lastVolume = volume;
+      lastRequestTime = now;
+
+      return new TrackFrameRequestMessage(executorId, frames, volume, seekPosition);
+    }
+  }
+
   private static class TickBuilder {
     private final long startTime;
     private long endTime;
@@ -588,8 +1022,8 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
       this.responseCode = -1;
     }
 
-    private RemoteNode.Tick build() {
-      return new RemoteNode.Tick(startTime, endTime, responseCode, requestSize, responseSize);
+    private RemoteNode.Tick build(long timing) {
+      return new RemoteNode.Tick(startTime, endTime, responseCode, requestSize, responseSize, timing);
     }
   }
 }
@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.remote;
 
+import com.sedmelluq.discord.lavaplayer.remote.balancer.PenaltyNodeBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeBalancer;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import java.util.List;
 
@@ -24,4 +26,36 @@ public interface RemoteNodeRegistry {
    * @return List of all nodes currently in use (including ones which are offline).
    */
   List<RemoteNode> getNodes();
+
+  /**
+   * @param balancer Balancer which chooses the node for each new track, {@link PenaltyNodeBalancer} by default
+   */
+  void setBalancer(RemoteNodeBalancer balancer);
+
+  /**
+   * Moves a playing track to another node without a gap in playback. The target node starts the track a bit ahead of
+   * what the current node has buffered and takes over once its frames continue from those of the current node. The
+   * migration is cancelled if the track is sought or stopped, or if it does not complete in time, for example when the
+   * track is paused. Live streams and tracks close to their end cannot be migrated.
+   *
+   * @param track The track to move
+   * @param target The node to move it to, null to let the balancer choose one
+   * @return True if the migration was started
+   */
+  boolean migrateTrack(AudioTrack track, RemoteNode target);
+
+  /**
+   * Stops placing new tracks on a node and starts migrating its tracks to the other nodes, see
+   * {@link #migrateTrack(AudioTrack, RemoteNode)}. The node stays drained until {@link #resumeNode(RemoteNode)} is
+   * called, so this can also be called again to retry the tracks which could not be migrated.
+   *
+   * @param node The node to drain
+   * @return The number of tracks for which a migration was started
+   */
+  int drainNode(RemoteNode node);
+
+  /**
+   * @param node A drained node which should receive tracks again
+   */
+  void resumeNode(RemoteNode node);
 }
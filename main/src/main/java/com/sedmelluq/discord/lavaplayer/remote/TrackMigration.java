@@ -0,0 +1,248 @@
+package com.sedmelluq.discord.lavaplayer.remote;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves a playing track from one node to another. The target node starts the track ahead of the position the source
+ * node has reached and its frames are staged, while the source keeps filling the frame buffer of the executor. Once the
+ * staged frames continue from the last frame of the source, the source is not asked for more frames and the staged
+ * frames are moved to the frame buffer as soon as they fit, after which the target is the node of the track.
+ *
+ * Also records which node owns the track after the migration has ended, so that frames which the other node has
+ * already sent are discarded.
+ */
+class TrackMigration implements AudioFrameConsumer {
+  private static final Logger log = LoggerFactory.getLogger(TrackMigration.class);
+
+  private static final int STAGED_FRAMES = 25;
+  private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+  private final RemoteAudioTrackExecutor executor;
+  private final RemoteNodeProcessor source;
+  private final RemoteNodeProcessor target;
+  private final long startPosition;
+  private final long deadline;
+  private final AudioDataFormat format;
+  private final ArrayDeque<AudioFrame> stagedFrames;
+  private volatile State state;
+
+  /**
+   * @param executor Executor of the track
+   * @param source Node currently playing the track
+   * @param target Node to move the track to
+   * @param startPosition Position to start the track from on the target node
+   */
+  TrackMigration(RemoteAudioTrackExecutor executor, RemoteNodeProcessor source, RemoteNodeProcessor target,
+                 long startPosition) {
+
+    this.executor = executor;
+    this.source = source;
+    this.target = target;
+    this.startPosition = startPosition;
+    this.deadline = System.currentTimeMillis() + TIMEOUT;
+    this.format = executor.getConfiguration().getOutputFormat();
+    this.stagedFrames = new ArrayDeque<>();
+    this.state = State.ACTIVE;
+  }
+
+  /**
+   * @return Position to start the track from on the target node
+   */
+  long getStartPosition() {
+    return startPosition;
+  }
+
+  /**
+   * @return Executor of the track
+   */
+  RemoteAudioTrackExecutor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * @return True if the migration has neither completed nor been cancelled
+   */
+  boolean isActive() {
+    return state == State.ACTIVE;
+  }
+
+  /**
+   * @return True if the staged frames already continue from the source, so requesting more from it is pointless
+   */
+  synchronized boolean isHoldingSource() {
+    return state == State.ACTIVE && isAligned();
+  }
+
+  /**
+   * @return Number of frames to request from the target node
+   */
+  synchronized int getTargetRequestCapacity() {
+    return state == State.ACTIVE ? Math.max(0, STAGED_FRAMES - stagedFrames.size()) : 0;
+  }
+
+  /**
+   * Handles frames of the track received from a node which has it as a playing track.
+   *
+   * @param processor The node which sent the frames
+   * @param message The message with the frames
+   * @throws InterruptedException When interrupted
+   */
+  synchronized void handleOwnerFrames(RemoteNodeProcessor processor, TrackFrameDataMessage message)
+      throws InterruptedException {
+
+    if (processor != getOwner()) {
+      log.debug("Discarding frames of {} from node {} which no longer plays it.", executor, processor.getAddress());
+      return;
+    }
+
+    processor.consumeFrames(executor, message);
+
+    if (state == State.ACTIVE) {
+      if (message.finished) {
+        cancel("the track ended on the source node");
+      } else {
+        update();
+      }
+    }
+  }
+
+  /**
+   * Handles frames of the track received from the target node before the track has moved there.
+   *
+   * @param message The message with the frames
+   * @throws InterruptedException When interrupted
+   */
+  synchronized void handleTargetFrames(TrackFrameDataMessage message) throws InterruptedException {
+    if (state != State.ACTIVE) {
+      return;
+    } else if (message.finished) {
+      cancel("the track ended on the target node before the handover");
+      return;
+    }
+
+    if (message.packedFrames != null) {
+      message.packedFrames.transferTo(this, format);
+    } else {
+      for (AudioFrame frame : message.frames) {
+        consume(frame);
+      }
+    }
+
+    update();
+  }
+
+  /**
+   * Cancels the migration if it has taken too long or the track has been sought, otherwise completes it if the staged
+   * frames fit into the frame buffer.
+   *
+   * @throws InterruptedException When interrupted
+   */
+  synchronized void update() throws InterruptedException {
+    if (state != State.ACTIVE) {
+      return;
+    } else if (executor.getPendingSeek() != -1) {
+      cancel("the track was sought");
+    } else if (System.currentTimeMillis() > deadline) {
+      cancel("timeout");
+    } else if (isAligned() && executor.getAudioBuffer().getRemainingCapacity() >= stagedFrames.size()) {
+      complete();
+    }
+  }
+
+  /**
+   * Moves the track to the target without waiting for the frames to line up, as the source is no longer available.
+   */
+  synchronized void sourceFailed() {
+    if (state == State.ACTIVE) {
+      log.info("Source node {} failed during migration of {}, moving it to {} immediately.", source.getAddress(),
+          executor, target.getAddress());
+
+      trimStagedFrames();
+
+      try {
+        complete();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Stops the track on the target node, the source continues playing it.
+   *
+   * @param reason Reason for logging
+   */
+  synchronized void cancel(String reason) {
+    if (state == State.ACTIVE) {
+      log.info("Migration of {} from {} to {} cancelled due to {}.", executor, source.getAddress(), target.getAddress(),
+          reason);
+
+      state = State.CANCELLED;
+      stagedFrames.clear();
+      target.removeMigration(this);
+    }
+  }
+
+  @Override
+  public void consume(AudioFrame frame) {
+    stagedFrames.add(new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), frame.getVolume(), format));
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    // Staged frames are short lived, volume changes apply from the next frames the target sends.
+  }
+
+  private RemoteNodeProcessor getOwner() {
+    return state == State.COMPLETED ? target : source;
+  }
+
+  private boolean isAligned() {
+    trimStagedFrames();
+
+    AudioFrame first = stagedFrames.peekFirst();
+    return first != null && first.getTimecode() < executor.getNextInputTimecode() + format.frameDuration();
+  }
+
+  private void trimStagedFrames() {
+    long nextTimecode = executor.getNextInputTimecode();
+
+    while (!stagedFrames.isEmpty() && stagedFrames.peekFirst().getTimecode() < nextTimecode) {
+      stagedFrames.removeFirst();
+    }
+  }
+
+  private void complete() throws InterruptedException {
+    AudioFrameBuffer buffer = executor.getAudioBuffer();
+    AudioFrame frame;
+
+    // Only falls short of space when the source failed, the frames which do not fit are skipped then.
+    while (buffer.getRemainingCapacity() > 0 && (frame = stagedFrames.pollFirst()) != null) {
+      buffer.consume(frame);
+    }
+
+    stagedFrames.clear();
+
+    state = State.COMPLETED;
+    target.completeMigration(this);
+    source.releaseTrack(executor);
+
+    log.info("Migration of {} from {} to {} completed.", executor, source.getAddress(), target.getAddress());
+  }
+
+  private enum State {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED
+  }
+}
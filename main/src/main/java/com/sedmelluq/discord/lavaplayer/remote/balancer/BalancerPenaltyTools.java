@@ -0,0 +1,84 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import com.sedmelluq.discord.lavaplayer.tools.RingBufferMath;
+
+/**
+ * Penalty factors of remote nodes, used by the default balancer and for simulating it.
+ */
+public class BalancerPenaltyTools {
+  /**
+   * @param statistics Statistics of the node
+   * @return Penalty for the tracks which are not paused
+   */
+  public static int getPlayingTracksPenalty(NodeStatisticsMessage statistics) {
+    int count = statistics.playingTrackCount;
+    int penalty = Math.min(count, 100);
+
+    if (count > 100) {
+      penalty += Math.pow(count - 100.0, 0.7);
+    }
+
+    return penalty * 3 / 2;
+  }
+
+  /**
+   * @param statistics Statistics of the node
+   * @return Penalty for the paused tracks
+   */
+  public static int getPausedTracksPenalty(NodeStatisticsMessage statistics) {
+    return statistics.totalTrackCount - statistics.playingTrackCount;
+  }
+
+  /**
+   * @param statistics Statistics of the node
+   * @return Penalty for the CPU usage of the system, growing steeply when nearing full usage
+   */
+  public static int getCpuUsagePenalty(NodeStatisticsMessage statistics) {
+    return (int) ((1.0f / ((1.0f - Math.min(statistics.systemCpuUsage, 0.99f)) / 30.0f)) - 30.0f);
+  }
+
+  /**
+   * @param statistics Statistics of the node
+   * @return Additional penalty when the frame processing headroom measured by the node is lower than its CPU usage
+   *         suggests, 0 if the node does not measure it
+   */
+  public static int getFrameHeadroomPenalty(NodeStatisticsMessage statistics) {
+    if (statistics.frameHeadroom < 0) {
+      return 0;
+    }
+
+    float usage = Math.min(1.0f - statistics.frameHeadroom, 0.99f);
+    int penalty = (int) ((1.0f / ((1.0f - usage) / 30.0f)) - 30.0f);
+
+    return Math.max(0, penalty - getCpuUsagePenalty(statistics));
+  }
+
+  /**
+   * @param timingAverage Average of request timings, see {@link #createTimingAverage()}
+   * @return Penalty for slow requests to the node
+   */
+  public static int getRequestTimingPenalty(RingBufferMath timingAverage) {
+    return (int) ((1450.0f / ((1450.0f - Math.min(timingAverage.mean(), 1440)) / 30.0f)) - 30.0f);
+  }
+
+  /**
+   * @return Average of the last request timings which emphasises the slow ones
+   */
+  public static RingBufferMath createTimingAverage() {
+    return new RingBufferMath(10, in -> Math.pow(in, 5.0), out -> Math.pow(out, 0.2));
+  }
+
+  /**
+   * @param statistics Statistics of the node
+   * @param timingPenalty Penalty for request timings
+   * @return Sum of all penalties
+   */
+  public static int getTotalPenalty(NodeStatisticsMessage statistics, int timingPenalty) {
+    return getPlayingTracksPenalty(statistics) +
+        getPausedTracksPenalty(statistics) +
+        getCpuUsagePenalty(statistics) +
+        getFrameHeadroomPenalty(statistics) +
+        timingPenalty;
+  }
+}
@@ -0,0 +1,120 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chooses the node with the lowest projected CPU usage after taking the track. The CPU usage of one track is measured
+ * per node from its reported statistics, so nodes on faster hardware receive proportionally more tracks. Tracks placed
+ * since the last statistics of a node are included in the projection, so bursts of tracks are spread too.
+ */
+public class CpuWeightedNodeBalancer implements RemoteNodeBalancer {
+  private static final double DEFAULT_TRACK_CPU_USAGE = 0.01;
+
+  private final TrackCostEstimator costEstimator;
+  private final Map<String, PendingLoad> pendingLoads;
+
+  /**
+   * Create an instance which considers all tracks equal.
+   */
+  public CpuWeightedNodeBalancer() {
+    this(TrackCostEstimator.UNIFORM);
+  }
+
+  /**
+   * @param costEstimator Estimator for the relative cost of tracks
+   */
+  public CpuWeightedNodeBalancer(TrackCostEstimator costEstimator) {
+    this.costEstimator = costEstimator;
+    this.pendingLoads = new HashMap<>();
+  }
+
+  @Override
+  public synchronized RemoteNodeLoad selectNode(List<RemoteNodeLoad> nodes, TrackPlacement placement) {
+    double cost = costEstimator.estimateCost(placement);
+    double fallbackCpuUsage = getAverageCpuUsagePerCost(nodes);
+    RemoteNodeLoad selected = null;
+    double selectedCpuUsage = Double.MAX_VALUE;
+
+    for (RemoteNodeLoad node : nodes) {
+      double cpuUsagePerCost = getCpuUsagePerCost(node);
+
+      if (cpuUsagePerCost <= 0) {
+        cpuUsagePerCost = fallbackCpuUsage;
+      }
+
+      double cpuUsage = node.statistics.systemCpuUsage + (getPendingCost(node) + cost) * cpuUsagePerCost;
+
+      if (cpuUsage < selectedCpuUsage || (cpuUsage == selectedCpuUsage && node.penalty < selected.penalty)) {
+        selected = node;
+        selectedCpuUsage = cpuUsage;
+      }
+    }
+
+    if (selected != null) {
+      pendingLoads.computeIfAbsent(selected.address, address -> new PendingLoad()).add(selected.statistics, cost);
+    }
+
+    return selected;
+  }
+
+  private double getCpuUsagePerCost(RemoteNodeLoad node) {
+    NodeStatisticsMessage statistics = node.statistics;
+
+    if (statistics.playingTrackCount == 0 || statistics.processCpuUsage <= 0) {
+      return 0;
+    }
+
+    double averageCost = 1.0;
+
+    if (!node.placements.isEmpty()) {
+      double totalCost = 0;
+
+      for (TrackPlacement placement : node.placements) {
+        totalCost += costEstimator.estimateCost(placement);
+      }
+
+      averageCost = totalCost / node.placements.size();
+    }
+
+    return statistics.processCpuUsage / (statistics.playingTrackCount * averageCost);
+  }
+
+  private double getAverageCpuUsagePerCost(List<RemoteNodeLoad> nodes) {
+    double total = 0;
+    int count = 0;
+
+    for (RemoteNodeLoad node : nodes) {
+      double cpuUsagePerCost = getCpuUsagePerCost(node);
+
+      if (cpuUsagePerCost > 0) {
+        total += cpuUsagePerCost;
+        count++;
+      }
+    }
+
+    return count > 0 ? total / count : DEFAULT_TRACK_CPU_USAGE;
+  }
+
+  private double getPendingCost(RemoteNodeLoad node) {
+    PendingLoad pending = pendingLoads.get(node.address);
+    return pending != null ? pending.getCost(node.statistics) : 0;
+  }
+
+  private static class PendingLoad {
+    private NodeStatisticsMessage statistics;
+    private double cost;
+
+    private void add(NodeStatisticsMessage currentStatistics, double addedCost) {
+      cost = getCost(currentStatistics) + addedCost;
+      statistics = currentStatistics;
+    }
+
+    private double getCost(NodeStatisticsMessage currentStatistics) {
+      // New statistics from the node already include the tracks placed before them.
+      return currentStatistics == statistics ? cost : 0;
+    }
+  }
+}
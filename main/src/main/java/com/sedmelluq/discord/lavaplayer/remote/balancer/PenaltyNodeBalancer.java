@@ -0,0 +1,21 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import java.util.List;
+
+/**
+ * Chooses the node with the lowest penalty. The default balancer.
+ */
+public class PenaltyNodeBalancer implements RemoteNodeBalancer {
+  @Override
+  public RemoteNodeLoad selectNode(List<RemoteNodeLoad> nodes, TrackPlacement placement) {
+    RemoteNodeLoad selected = null;
+
+    for (RemoteNodeLoad node : nodes) {
+      if (selected == null || node.penalty < selected.penalty) {
+        selected = node;
+      }
+    }
+
+    return selected;
+  }
+}
@@ -0,0 +1,37 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets another balancer choose between two random nodes. Avoids every master sending its tracks to the same node
+ * between statistics updates, while still mostly avoiding the busiest nodes.
+ */
+public class PowerOfTwoChoicesNodeBalancer implements RemoteNodeBalancer {
+  private final RemoteNodeBalancer delegate;
+
+  /**
+   * @param delegate Balancer which chooses between the two nodes
+   */
+  public PowerOfTwoChoicesNodeBalancer(RemoteNodeBalancer delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public RemoteNodeLoad selectNode(List<RemoteNodeLoad> nodes, TrackPlacement placement) {
+    if (nodes.size() <= 2) {
+      return delegate.selectNode(nodes, placement);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(nodes.size());
+    int second = random.nextInt(nodes.size() - 1);
+
+    if (second >= first) {
+      second++;
+    }
+
+    return delegate.selectNode(Arrays.asList(nodes.get(first), nodes.get(second)), placement);
+  }
+}
@@ -0,0 +1,15 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import java.util.List;
+
+/**
+ * Strategy for choosing the remote node which plays the next track. Called concurrently for different tracks.
+ */
+public interface RemoteNodeBalancer {
+  /**
+   * @param nodes Current load of the nodes which are online and able to take tracks, never empty
+   * @param placement Track that is being placed
+   * @return The node to play the track on, null if none of the nodes should take it
+   */
+  RemoteNodeLoad selectNode(List<RemoteNodeLoad> nodes, TrackPlacement placement);
+}
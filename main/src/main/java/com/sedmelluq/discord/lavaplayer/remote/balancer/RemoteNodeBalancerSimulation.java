@@ -0,0 +1,199 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNode;
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import com.sedmelluq.discord.lavaplayer.tools.RingBufferMath;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.http.HttpStatus;
+
+/**
+ * Replays track placements against recorded tick histories of nodes (see {@link RemoteNode#getLastTicks(boolean)}) to
+ * compare balancers offline. The placements are spread evenly over the recorded period and each placed track is
+ * assumed to play until its end. A node is unavailable while its last tick has failed and its request timing penalty
+ * follows its ticks the same way as for a live node. Its statistics are its idle statistics plus the cost of the
+ * tracks placed on it, scaled by the CPU usage per cost of that node.
+ */
+public class RemoteNodeBalancerSimulation {
+  private final TrackCostEstimator costEstimator;
+  private final List<SimulatedNode> nodes;
+
+  /**
+   * @param costEstimator Estimator for the actual cost of tracks on the simulated nodes
+   */
+  public RemoteNodeBalancerSimulation(TrackCostEstimator costEstimator) {
+    this.costEstimator = costEstimator;
+    this.nodes = new ArrayList<>();
+  }
+
+  /**
+   * @param address Address of the node
+   * @param ticks Recorded ticks of the node, in chronological order
+   * @param idleStatistics Statistics of the node without any of the simulated tracks
+   * @param cpuUsagePerCost System CPU usage that a track with a cost of 1 adds on this node
+   */
+  public void addNode(String address, List<RemoteNode.Tick> ticks, NodeStatisticsMessage idleStatistics,
+                      double cpuUsagePerCost) {
+
+    nodes.add(new SimulatedNode(address, new ArrayList<>(ticks), idleStatistics, cpuUsagePerCost));
+  }
+
+  /**
+   * @param balancer Balancer to simulate
+   * @param placements Tracks to place, in order
+   * @return Result of the simulation
+   */
+  public Result run(RemoteNodeBalancer balancer, List<TrackPlacement> placements) {
+    List<NodeState> states = new ArrayList<>();
+    long startTime = Long.MAX_VALUE;
+    long endTime = Long.MIN_VALUE;
+
+    for (SimulatedNode node : nodes) {
+      states.add(new NodeState(node));
+
+      if (!node.ticks.isEmpty()) {
+        startTime = Math.min(startTime, node.ticks.get(0).startTime);
+        endTime = Math.max(endTime, node.ticks.get(node.ticks.size() - 1).endTime);
+      }
+    }
+
+    if (startTime > endTime) {
+      startTime = endTime = 0;
+    }
+
+    int unplacedCount = 0;
+
+    for (int i = 0; i < placements.size(); i++) {
+      long time = startTime + (endTime - startTime) * i / placements.size();
+
+      if (!placeTrack(balancer, states, placements.get(i), time)) {
+        unplacedCount++;
+      }
+    }
+
+    Map<String, Integer> trackCounts = new HashMap<>();
+    Map<String, Double> cpuUsages = new HashMap<>();
+
+    for (NodeState state : states) {
+      trackCounts.put(state.node.address, state.placements.size());
+      cpuUsages.put(state.node.address, (double) state.getStatistics().systemCpuUsage);
+    }
+
+    return new Result(trackCounts, cpuUsages, unplacedCount);
+  }
+
+  private boolean placeTrack(RemoteNodeBalancer balancer, List<NodeState> states, TrackPlacement placement, long time) {
+    List<RemoteNodeLoad> loads = new ArrayList<>();
+    List<NodeState> loadStates = new ArrayList<>();
+
+    for (NodeState state : states) {
+      state.advance(time);
+
+      if (state.online) {
+        NodeStatisticsMessage statistics = state.getStatistics();
+        int penalty = BalancerPenaltyTools.getTotalPenalty(statistics, state.timingPenalty);
+
+        loads.add(new RemoteNodeLoad(state.node.address, statistics, penalty, Collections.unmodifiableList(state.placements)));
+        loadStates.add(state);
+      }
+    }
+
+    RemoteNodeLoad selected = loads.isEmpty() ? null : balancer.selectNode(loads, placement);
+
+    if (selected == null) {
+      return false;
+    }
+
+    NodeState state = loadStates.get(loads.indexOf(selected));
+    state.placements.add(placement);
+    state.cost += costEstimator.estimateCost(placement);
+    return true;
+  }
+
+  /**
+   * Result of a simulation.
+   */
+  public static class Result {
+    /**
+     * Number of tracks placed on each node, by address
+     */
+    public final Map<String, Integer> trackCounts;
+    /**
+     * System CPU usage of each node at the end of the simulation, by address
+     */
+    public final Map<String, Double> cpuUsages;
+    /**
+     * Number of tracks for which the balancer did not choose any node
+     */
+    public final int unplacedCount;
+
+    /**
+     * @param trackCounts Number of tracks placed on each node, by address
+     * @param cpuUsages System CPU usage of each node at the end of the simulation, by address
+     * @param unplacedCount Number of tracks for which the balancer did not choose any node
+     */
+    public Result(Map<String, Integer> trackCounts, Map<String, Double> cpuUsages, int unplacedCount) {
+      this.trackCounts = trackCounts;
+      this.cpuUsages = cpuUsages;
+      this.unplacedCount = unplacedCount;
+    }
+  }
+
+  private static class SimulatedNode {
+    private final String address;
+    private final List<RemoteNode.Tick> ticks;
+    private final NodeStatisticsMessage idleStatistics;
+    private final double cpuUsagePerCost;
+
+    private SimulatedNode(String address, List<RemoteNode.Tick> ticks, NodeStatisticsMessage idleStatistics,
+                          double cpuUsagePerCost) {
+
+      this.address = address;
+      this.ticks = ticks;
+      this.idleStatistics = idleStatistics;
+      this.cpuUsagePerCost = cpuUsagePerCost;
+    }
+  }
+
+  private static class NodeState {
+    private final SimulatedNode node;
+    private final RingBufferMath timingAverage;
+    private final List<TrackPlacement> placements;
+    private int tickIndex;
+    private boolean online;
+    private int timingPenalty;
+    private double cost;
+
+    private NodeState(SimulatedNode node) {
+      this.node = node;
+      this.timingAverage = BalancerPenaltyTools.createTimingAverage();
+      this.placements = new ArrayList<>();
+      this.online = node.ticks.isEmpty() || node.ticks.get(0).responseCode == HttpStatus.SC_OK;
+    }
+
+    private void advance(long time) {
+      while (tickIndex < node.ticks.size() && node.ticks.get(tickIndex).startTime <= time) {
+        RemoteNode.Tick tick = node.ticks.get(tickIndex++);
+
+        online = tick.responseCode == HttpStatus.SC_OK;
+        timingAverage.add(tick.timing);
+        timingPenalty = BalancerPenaltyTools.getRequestTimingPenalty(timingAverage);
+      }
+    }
+
+    private NodeStatisticsMessage getStatistics() {
+      NodeStatisticsMessage idle = node.idleStatistics;
+      double cpuUsage = cost * node.cpuUsagePerCost;
+
+      return new NodeStatisticsMessage(
+          idle.playingTrackCount + placements.size(),
+          idle.totalTrackCount + placements.size(),
+          (float) Math.min(1.0, idle.systemCpuUsage + cpuUsage),
+          (float) Math.min(1.0, idle.processCpuUsage + cpuUsage)
+      );
+    }
+  }
+}
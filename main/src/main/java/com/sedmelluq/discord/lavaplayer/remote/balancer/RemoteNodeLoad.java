@@ -0,0 +1,39 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+import java.util.List;
+
+/**
+ * Snapshot of the load of a remote node at the time of placing a track on one.
+ */
+public class RemoteNodeLoad {
+  /**
+   * Address of the node
+   */
+  public final String address;
+  /**
+   * Last statistics reported by the node, which cover the tracks of all masters using the node
+   */
+  public final NodeStatisticsMessage statistics;
+  /**
+   * Balancer penalty of the node, see {@link BalancerPenaltyTools}
+   */
+  public final int penalty;
+  /**
+   * Tracks that this master is playing on the node
+   */
+  public final List<TrackPlacement> placements;
+
+  /**
+   * @param address Address of the node
+   * @param statistics Last statistics reported by the node
+   * @param penalty Balancer penalty of the node
+   * @param placements Tracks that this master is playing on the node
+   */
+  public RemoteNodeLoad(String address, NodeStatisticsMessage statistics, int penalty, List<TrackPlacement> placements) {
+    this.address = address;
+    this.statistics = statistics;
+    this.penalty = penalty;
+    this.placements = placements;
+  }
+}
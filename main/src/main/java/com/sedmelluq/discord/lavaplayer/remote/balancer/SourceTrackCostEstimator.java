@@ -0,0 +1,72 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.format.OpusAudioDataFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the cost of a track by its source. Tracks of sources which usually provide Opus can be passed through
+ * without decoding when the output is Opus and the volume is not changed, which costs a fraction of transcoding.
+ */
+public class SourceTrackCostEstimator implements TrackCostEstimator {
+  private static final double DEFAULT_PASSTHROUGH_COST = 0.15;
+
+  private final Map<String, Double> transcodeCosts;
+  private final Set<String> opusSources;
+  private volatile double passthroughCost;
+
+  /**
+   * Create an instance which assumes that YouTube tracks are Opus and that transcoding costs the same for every source.
+   */
+  public SourceTrackCostEstimator() {
+    this.transcodeCosts = new ConcurrentHashMap<>();
+    this.opusSources = ConcurrentHashMap.newKeySet();
+    this.passthroughCost = DEFAULT_PASSTHROUGH_COST;
+
+    opusSources.add("youtube");
+  }
+
+  /**
+   * @param sourceName Name of the source manager
+   * @param cost Cost of transcoding a track of the source, relative to the default of 1
+   */
+  public void setTranscodeCost(String sourceName, double cost) {
+    transcodeCosts.put(sourceName, cost);
+  }
+
+  /**
+   * @param sourceName Name of the source manager
+   * @param opus Whether the tracks of the source are usually Opus
+   */
+  public void setOpusSource(String sourceName, boolean opus) {
+    if (opus) {
+      opusSources.add(sourceName);
+    } else {
+      opusSources.remove(sourceName);
+    }
+  }
+
+  /**
+   * @param passthroughCost Cost of a track which is passed through without transcoding
+   */
+  public void setPassthroughCost(double passthroughCost) {
+    this.passthroughCost = passthroughCost;
+  }
+
+  @Override
+  public double estimateCost(TrackPlacement placement) {
+    if (placement.sourceName == null) {
+      return 1.0;
+    } else if (isPassthrough(placement)) {
+      return passthroughCost;
+    }
+
+    return transcodeCosts.getOrDefault(placement.sourceName, 1.0);
+  }
+
+  private boolean isPassthrough(TrackPlacement placement) {
+    return placement.volume == 100 && OpusAudioDataFormat.CODEC_NAME.equals(placement.format.codecName()) &&
+        opusSources.contains(placement.sourceName);
+  }
+}
@@ -0,0 +1,79 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Places tracks with the same key, such as the guild they are played in, on the same node while it is not overloaded.
+ * This keeps the source connections and caches of the node warm for the following tracks of the key. Tracks without a
+ * key and the first track of a key are placed by another balancer.
+ */
+public class StickyNodeBalancer implements RemoteNodeBalancer {
+  private static final int DEFAULT_MAXIMUM_PENALTY = 750;
+  private static final int MAXIMUM_KEYS = 10000;
+
+  private final Function<TrackPlacement, Object> keyFunction;
+  private final RemoteNodeBalancer delegate;
+  private final int maximumPenalty;
+  private final Map<Object, String> nodeForKey;
+
+  /**
+   * @param keyFunction Function which returns the key of a track, or null if it has none
+   * @param delegate Balancer for tracks which are not placed by key
+   */
+  public StickyNodeBalancer(Function<TrackPlacement, Object> keyFunction, RemoteNodeBalancer delegate) {
+    this(keyFunction, delegate, DEFAULT_MAXIMUM_PENALTY);
+  }
+
+  /**
+   * @param keyFunction Function which returns the key of a track, or null if it has none
+   * @param delegate Balancer for tracks which are not placed by key
+   * @param maximumPenalty Penalty from which a node is considered overloaded and no longer receives tracks by key
+   */
+  public StickyNodeBalancer(Function<TrackPlacement, Object> keyFunction, RemoteNodeBalancer delegate,
+                            int maximumPenalty) {
+
+    this.keyFunction = keyFunction;
+    this.delegate = delegate;
+    this.maximumPenalty = maximumPenalty;
+    this.nodeForKey = new LinkedHashMap<Object, String>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+        return size() > MAXIMUM_KEYS;
+      }
+    };
+  }
+
+  @Override
+  public RemoteNodeLoad selectNode(List<RemoteNodeLoad> nodes, TrackPlacement placement) {
+    Object key = keyFunction.apply(placement);
+
+    if (key == null) {
+      return delegate.selectNode(nodes, placement);
+    }
+
+    String address;
+
+    synchronized (nodeForKey) {
+      address = nodeForKey.get(key);
+    }
+
+    for (RemoteNodeLoad node : nodes) {
+      if (node.address.equals(address) && node.penalty < maximumPenalty) {
+        return node;
+      }
+    }
+
+    RemoteNodeLoad selected = delegate.selectNode(nodes, placement);
+
+    if (selected != null) {
+      synchronized (nodeForKey) {
+        nodeForKey.put(key, selected.address);
+      }
+    }
+
+    return selected;
+  }
+}
@@ -0,0 +1,17 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+/**
+ * Predicts the relative processing cost of a track on a node, where 1 is the cost of a fully transcoded track.
+ */
+public interface TrackCostEstimator {
+  /**
+   * Estimator which considers all tracks equal.
+   */
+  TrackCostEstimator UNIFORM = placement -> 1.0;
+
+  /**
+   * @param placement The track
+   * @return Relative cost of the track
+   */
+  double estimateCost(TrackPlacement placement);
+}
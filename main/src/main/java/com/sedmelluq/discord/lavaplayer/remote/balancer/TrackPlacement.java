@@ -0,0 +1,39 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+/**
+ * Description of a track for the purpose of choosing a node for it.
+ */
+public class TrackPlacement {
+  /**
+   * The track, null for placements which are only simulated
+   */
+  public final AudioTrack track;
+  /**
+   * Name of the source manager of the track, null if unknown
+   */
+  public final String sourceName;
+  /**
+   * Format that the node has to produce
+   */
+  public final AudioDataFormat format;
+  /**
+   * Volume of the track
+   */
+  public final int volume;
+
+  /**
+   * @param track The track, null for placements which are only simulated
+   * @param sourceName Name of the source manager of the track, null if unknown
+   * @param format Format that the node has to produce
+   * @param volume Volume of the track
+   */
+  public TrackPlacement(AudioTrack track, String sourceName, AudioDataFormat format, int volume) {
+    this.track = track;
+    this.sourceName = sourceName;
+    this.format = format;
+    this.volume = volume;
+  }
+}
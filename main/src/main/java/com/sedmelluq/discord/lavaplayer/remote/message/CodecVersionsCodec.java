@@ -0,0 +1,40 @@
+package com.sedmelluq.discord.lavaplayer.remote.message;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codec for codec versions message.
+ */
+public class CodecVersionsCodec implements RemoteMessageCodec<CodecVersionsMessage> {
+  @Override
+  public Class<CodecVersionsMessage> getMessageClass() {
+    return CodecVersionsMessage.class;
+  }
+
+  @Override
+  public int version(RemoteMessage message) {
+    return 1;
+  }
+
+  @Override
+  public void encode(DataOutput out, CodecVersionsMessage message) throws IOException {
+    out.writeByte(message.versions.length);
+
+    for (int version : message.versions) {
+      out.writeByte(version);
+    }
+  }
+
+  @Override
+  public CodecVersionsMessage decode(DataInput in, int version) throws IOException {
+    int[] versions = new int[in.readByte() & 0xFF];
+
+    for (int i = 0; i < versions.length; i++) {
+      versions[i] = in.readByte() & 0xFF;
+    }
+
+    return new CodecVersionsMessage(versions);
+  }
+}
@@ -0,0 +1,88 @@
+package com.sedmelluq.discord.lavaplayer.remote.message;
+
+/**
+ * Message listing the latest version of each message codec that the sender can decode, after which the receiver can
+ * use newer versions of the messages it sends. Over HTTP, the versions are exchanged in the {@link #HEADER_NAME} header
+ * of the tick request and response, which nodes and masters that predate it ignore, so they keep using the initial
+ * versions. The message itself is only sent as the handshake of a persistent stream, which older nodes do not accept.
+ */
+public class CodecVersionsMessage implements RemoteMessage {
+  /**
+   * Name of the HTTP header with the versions, see {@link #toHeaderValue()}
+   */
+  public static final String HEADER_NAME = "X-Lavaplayer-Codec-Versions";
+
+  /**
+   * Latest supported version of each message type, indexed by the ordinal of {@link RemoteMessageType}
+   */
+  public final int[] versions;
+
+  /**
+   * @param versions Latest supported version of each message type
+   */
+  public CodecVersionsMessage(int[] versions) {
+    this.versions = versions;
+  }
+
+  /**
+   * @param type Message type
+   * @return Latest version of the message type that the sender of this message supports
+   */
+  public int getVersion(RemoteMessageType type) {
+    return type.ordinal() < versions.length ? versions[type.ordinal()] : 1;
+  }
+
+  /**
+   * @return The versions as a comma separated list for the {@link #HEADER_NAME} header
+   */
+  public String toHeaderValue() {
+    StringBuilder builder = new StringBuilder();
+
+    for (int i = 0; i < versions.length; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+
+      builder.append(versions[i]);
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * @param value Value of the {@link #HEADER_NAME} header
+   * @return The versions in the header, null if the header is missing or malformed
+   */
+  public static CodecVersionsMessage fromHeaderValue(String value) {
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+
+    String[] parts = value.split(",");
+    int[] versions = new int[parts.length];
+
+    try {
+      for (int i = 0; i < parts.length; i++) {
+        versions[i] = Integer.parseInt(parts[i].trim());
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+
+    return new CodecVersionsMessage(versions);
+  }
+
+  /**
+   * @return Message with the latest versions of the codecs in this build
+   */
+  public static CodecVersionsMessage createLocal() {
+    RemoteMessageType[] types = RemoteMessageType.class.getEnumConstants();
+    int[] versions = new int[types.length];
+
+    for (int i = 0; i < types.length; i++) {
+      versions[i] = types[i].codec.version(null);
+    }
+
+    return new CodecVersionsMessage(versions);
+  }
+}
@@ -5,9 +5,12 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 /**
- * Codec for node statistics message.
+ * Codec for node statistics message. Version 2 adds the frame processing headroom.
  */
 public class NodeStatisticsCodec implements RemoteMessageCodec<NodeStatisticsMessage> {
+  private static final int VERSION_INITIAL = 1;
+  private static final int VERSION_WITH_HEADROOM = 2;
+
   @Override
   public Class<NodeStatisticsMessage> getMessageClass() {
     return NodeStatisticsMessage.class;
@@ -15,19 +18,41 @@ public class NodeStatisticsCodec implements RemoteMessageCodec<NodeStatisticsMes
 
   @Override
   public int version(RemoteMessage message) {
-    return 1;
+    // Backwards compatibility with older masters.
+    return message != null ? VERSION_INITIAL : VERSION_WITH_HEADROOM;
+  }
+
+  @Override
+  public int version(RemoteMessage message, int maximumVersion) {
+    return Math.min(VERSION_WITH_HEADROOM, maximumVersion);
   }
 
   @Override
   public void encode(DataOutput out, NodeStatisticsMessage message) throws IOException {
+    encode(out, message, VERSION_INITIAL);
+  }
+
+  @Override
+  public void encode(DataOutput out, NodeStatisticsMessage message, int version) throws IOException {
     out.writeInt(message.playingTrackCount);
     out.writeInt(message.totalTrackCount);
     out.writeFloat(message.systemCpuUsage);
     out.writeFloat(message.processCpuUsage);
+
+    if (version >= VERSION_WITH_HEADROOM) {
+      out.writeFloat(message.frameHeadroom);
+    }
   }
 
   @Override
   public NodeStatisticsMessage decode(DataInput in, int version) throws IOException {
-    return new NodeStatisticsMessage(in.readInt(), in.readInt(), in.readFloat(), in.readFloat());
+    int playingTrackCount = in.readInt();
+    int totalTrackCount = in.readInt();
+    float systemCpuUsage = in.readFloat();
+    float processCpuUsage = in.readFloat();
+    float frameHeadroom = version >= VERSION_WITH_HEADROOM ? in.readFloat() : -1.0f;
+
+    return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage,
+        frameHeadroom);
   }
 }
@@ -20,6 +20,11 @@ public class NodeStatisticsMessage implements RemoteMessage {
    * CPU usage of the node process
    */
   public final float processCpuUsage;
+  /**
+   * Share of the processing capacity of the node which is left after producing frames for its tracks in real time,
+   * measured from the processing time of the frames. Negative if the node does not measure it.
+   */
+  public final float frameHeadroom;
 
   /**
    * @param playingTrackCount The number of tracks that are not paused
@@ -28,9 +33,23 @@ public class NodeStatisticsMessage implements RemoteMessage {
    * @param processCpuUsage CPU usage of the node process
    */
   public NodeStatisticsMessage(int playingTrackCount, int totalTrackCount, float systemCpuUsage, float processCpuUsage) {
+    this(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage, -1.0f);
+  }
+
+  /**
+   * @param playingTrackCount The number of tracks that are not paused
+   * @param totalTrackCount Total number of tracks being processed by the node
+   * @param systemCpuUsage Total CPU usage of the machine
+   * @param processCpuUsage CPU usage of the node process
+   * @param frameHeadroom Share of the processing capacity left after producing frames, negative if not measured
+   */
+  public NodeStatisticsMessage(int playingTrackCount, int totalTrackCount, float systemCpuUsage, float processCpuUsage,
+                               float frameHeadroom) {
+
     this.playingTrackCount = playingTrackCount;
     this.totalTrackCount = totalTrackCount;
     this.systemCpuUsage = systemCpuUsage;
     this.processCpuUsage = processCpuUsage;
+    this.frameHeadroom = frameHeadroom;
   }
 }
@@ -0,0 +1,184 @@
+package com.sedmelluq.discord.lavaplayer.remote.message;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameProvider;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.ReferenceMutableAudioFrame;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Audio frames packed one after another into a single array, each as its timecode, volume, data length and data. Used
+ * by version 2 of the frame data message, so that transferring frames needs no array or frame instance per frame. The
+ * node fills it straight from its tracks and the master copies the frames from it straight into the frame buffers of its
+ * executors. An instance can be reused after clearing it.
+ */
+public class PackedAudioFrames {
+  private static final int FRAME_HEADER_SIZE = 16;
+
+  private final MutableAudioFrame providerFrame;
+  private byte[] data;
+  private ByteBuffer dataBuffer;
+  private int size;
+  private int frameCount;
+  private boolean terminated;
+
+  /**
+   * @param initialCapacity Initial size of the array in bytes, it grows as necessary
+   */
+  public PackedAudioFrames(int initialCapacity) {
+    this(new byte[initialCapacity], 0, 0);
+  }
+
+  PackedAudioFrames(byte[] data, int size, int frameCount) {
+    this.providerFrame = new MutableAudioFrame();
+    this.data = data;
+    this.dataBuffer = ByteBuffer.wrap(data);
+    this.size = size;
+    this.frameCount = frameCount;
+  }
+
+  /**
+   * @return Number of frames
+   */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return Size of the packed frames in bytes
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return True if the provider passed to {@link #addFrom(AudioFrameProvider, int)} returned the terminator frame
+   */
+  public boolean isTerminated() {
+    return terminated;
+  }
+
+  /**
+   * Removes all frames, keeping the array for reuse.
+   */
+  public void clear() {
+    size = 0;
+    frameCount = 0;
+    terminated = false;
+  }
+
+  /**
+   * @param frame Frame to add, its data is copied
+   */
+  public void add(AudioFrame frame) {
+    int length = frame.getDataLength();
+
+    ensureCapacity(FRAME_HEADER_SIZE + length);
+    frame.getData(data, size + FRAME_HEADER_SIZE);
+    addHeader(frame.getTimecode(), frame.getVolume(), length);
+  }
+
+  /**
+   * Adds the next frame of the provider, which stores its data directly into the array of this instance.
+   *
+   * @param provider Provider to take the frame from
+   * @param maximumFrameSize Maximum size of a frame from the provider
+   * @return True if a frame was added, false if the provider had no frame available or returned the terminator frame
+   */
+  public boolean addFrom(AudioFrameProvider provider, int maximumFrameSize) {
+    ensureCapacity(FRAME_HEADER_SIZE + maximumFrameSize);
+
+    dataBuffer.limit(size + FRAME_HEADER_SIZE + maximumFrameSize);
+    dataBuffer.position(size + FRAME_HEADER_SIZE);
+    providerFrame.setBuffer(dataBuffer);
+    providerFrame.setTerminator(false);
+
+    if (!provider.provide(providerFrame)) {
+      return false;
+    } else if (providerFrame.isTerminator()) {
+      terminated = true;
+      return false;
+    }
+
+    addHeader(providerFrame.getTimecode(), providerFrame.getVolume(), providerFrame.getDataLength());
+    return true;
+  }
+
+  /**
+   * Passes all frames to the consumer. The frames refer to the array of this instance, so they are only valid during
+   * the call to the consumer, which has to copy the data it keeps.
+   *
+   * @param consumer Consumer of the frames
+   * @param format Format to set on the frames
+   * @throws InterruptedException When interrupted by the consumer
+   */
+  public void transferTo(AudioFrameConsumer consumer, AudioDataFormat format) throws InterruptedException {
+    ReferenceMutableAudioFrame frame = new ReferenceMutableAudioFrame();
+    frame.setFormat(format);
+
+    for (int i = 0, offset = 0; i < frameCount; i++) {
+      int length = dataBuffer.getInt(offset + 12);
+
+      frame.setTimecode(dataBuffer.getLong(offset));
+      frame.setVolume(dataBuffer.getInt(offset + 8));
+      frame.setDataReference(data, offset + FRAME_HEADER_SIZE, length);
+      consumer.consume(frame);
+
+      offset += FRAME_HEADER_SIZE + length;
+    }
+  }
+
+  /**
+   * @param format Format to set on the frames
+   * @return Copies of the frames as separate instances
+   */
+  public List<AudioFrame> unpack(AudioDataFormat format) {
+    List<AudioFrame> frames = new ArrayList<>(frameCount);
+
+    for (int i = 0, offset = 0; i < frameCount; i++) {
+      int length = dataBuffer.getInt(offset + 12);
+      byte[] frameData = Arrays.copyOfRange(data, offset + FRAME_HEADER_SIZE, offset + FRAME_HEADER_SIZE + length);
+
+      frames.add(new ImmutableAudioFrame(dataBuffer.getLong(offset), frameData, dataBuffer.getInt(offset + 8), format));
+      offset += FRAME_HEADER_SIZE + length;
+    }
+
+    return frames;
+  }
+
+  /**
+   * @param out Output to write the packed frames to
+   * @throws IOException When an IO error occurs
+   */
+  public void writeTo(DataOutput out) throws IOException {
+    out.write(data, 0, size);
+  }
+
+  private void addHeader(long timecode, int volume, int length) {
+    dataBuffer.clear();
+    dataBuffer.putLong(size, timecode);
+    dataBuffer.putInt(size + 8, volume);
+    dataBuffer.putInt(size + 12, length);
+
+    size += FRAME_HEADER_SIZE + length;
+    frameCount++;
+  }
+
+  private void ensureCapacity(int required) {
+    if (size + required > data.length) {
+      byte[] grown = new byte[Math.max(data.length * 2, size + required)];
+      System.arraycopy(data, 0, grown, 0, size);
+
+      data = grown;
+      dataBuffer = ByteBuffer.wrap(data);
+    }
+  }
+}
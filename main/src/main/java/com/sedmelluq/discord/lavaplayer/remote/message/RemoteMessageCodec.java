@@ -21,6 +21,15 @@ public interface RemoteMessageCodec<T extends RemoteMessage> {
    */
   int version(RemoteMessage message);
 
+  /**
+   * @param message The message to encode
+   * @param maximumVersion Latest version of this codec that the receiver supports
+   * @return Version to use for this specific message
+   */
+  default int version(RemoteMessage message, int maximumVersion) {
+    return version(message);
+  }
+
   /**
    * Encode the message to the specified output.
    *
@@ -30,6 +39,29 @@ public interface RemoteMessageCodec<T extends RemoteMessage> {
    */
   void encode(DataOutput out, T message) throws IOException;
 
+  /**
+   * Encode the message to the specified output with a specific version. Only needs to be implemented by codecs which
+   * choose the version based on what the receiver supports.
+   *
+   * @param out The output stream
+   * @param message The message to encode
+   * @param version Version to encode the message with
+   * @throws IOException When an IO error occurs
+   */
+  default void encode(DataOutput out, T message, int version) throws IOException {
+    encode(out, message);
+  }
+
+  /**
+   * @param message The message to encode
+   * @param version Version to encode the message with
+   * @return Size of the encoded message in bytes, or -1 if it is only known after encoding. When the size is known, the
+   *         message is encoded directly to the output instead of through an intermediate buffer.
+   */
+  default int encodedSize(T message, int version) {
+    return -1;
+  }
+
   /**
    * Decode a message from the specified input.
    *
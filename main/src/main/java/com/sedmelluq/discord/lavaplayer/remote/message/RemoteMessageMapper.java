@@ -52,7 +52,7 @@ public class RemoteMessageMapper {
 
     if (typeIndex >= types.length) {
       log.warn("Invalid message type {}.", typeIndex);
-      input.readFully(new byte[messageSize - 1]);
+      input.readFully(new byte[messageSize - 2]);
       return UnknownMessage.INSTANCE;
     }
 
@@ -74,19 +74,46 @@ public class RemoteMessageMapper {
    * @param message The message to encode
    * @throws IOException When an IO error occurs
    */
-  @SuppressWarnings("unchecked")
   public void encode(DataOutputStream output, RemoteMessage message) throws IOException {
+    encode(output, message, null);
+  }
+
+  /**
+   * Encodes one message with the latest version that the receiver supports.
+   *
+   * @param output The output stream to encode to
+   * @param message The message to encode
+   * @param receiverVersions Codec versions supported by the receiver, null if not known
+   * @throws IOException When an IO error occurs
+   */
+  @SuppressWarnings("unchecked")
+  public void encode(DataOutputStream output, RemoteMessage message, CodecVersionsMessage receiverVersions)
+      throws IOException {
+
     RemoteMessageType type = encodingMap.get(message.getClass());
+    RemoteMessageCodec codec = type.codec;
+
+    int version = receiverVersions != null ?
+        codec.version(message, receiverVersions.getVersion(type)) : codec.version(message);
+
+    int size = codec.encodedSize(message, version);
+
+    if (size >= 0) {
+      output.writeInt(size + 2);
+      output.writeByte((byte) type.ordinal());
+      output.writeByte((byte) version);
+      codec.encode(output, message, version);
+      return;
+    }
 
     ByteArrayOutputStream messageOutputBytes = new ByteArrayOutputStream();
     DataOutput messageOutput = new DataOutputStream(messageOutputBytes);
 
-    RemoteMessageCodec codec = type.codec;
-    codec.encode(messageOutput, message);
+    codec.encode(messageOutput, message, version);
 
     output.writeInt(messageOutputBytes.size() + 2);
     output.writeByte((byte) type.ordinal());
-    output.writeByte((byte) type.codec.version(message));
+    output.writeByte((byte) version);
     messageOutputBytes.writeTo(output);
   }
 
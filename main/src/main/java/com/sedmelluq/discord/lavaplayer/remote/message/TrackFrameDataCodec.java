@@ -9,9 +9,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Codec for track frame data message.
+ * Codec for track frame data message. Version 2 transfers the frames as one packed block, see
+ * {@link PackedAudioFrames}, and is only used when the receiver has announced support for it.
  */
 public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMessage> {
+  private static final int VERSION_INITIAL = 1;
+  private static final int VERSION_PACKED = 2;
+
   @Override
   public Class<TrackFrameDataMessage> getMessageClass() {
     return TrackFrameDataMessage.class;
@@ -19,30 +23,67 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
 
   @Override
   public int version(RemoteMessage message) {
-    return 1;
+    // Backwards compatibility with older masters, which cannot decode the packed frames.
+    return message != null ? VERSION_INITIAL : VERSION_PACKED;
+  }
+
+  @Override
+  public int version(RemoteMessage message, int maximumVersion) {
+    return Math.min(VERSION_PACKED, maximumVersion);
   }
 
   @Override
   public void encode(DataOutput out, TrackFrameDataMessage message) throws IOException {
+    encode(out, message, VERSION_INITIAL);
+  }
+
+  @Override
+  public void encode(DataOutput out, TrackFrameDataMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
-    out.writeInt(message.frames.size());
+    out.writeInt(message.getFrameCount());
 
-    for (AudioFrame frame : message.frames) {
-      out.writeLong(frame.getTimecode());
-      out.writeInt(frame.getDataLength());
-      out.write(frame.getData());
-      out.writeInt(frame.getVolume());
+    if (version >= VERSION_PACKED) {
+      PackedAudioFrames packedFrames = getPackedFrames(message);
+
+      out.writeInt(packedFrames.getSize());
+      packedFrames.writeTo(out);
+    } else {
+      List<AudioFrame> frames = message.packedFrames != null ? message.packedFrames.unpack(null) : message.frames;
+
+      for (AudioFrame frame : frames) {
+        out.writeLong(frame.getTimecode());
+        out.writeInt(frame.getDataLength());
+        out.write(frame.getData());
+        out.writeInt(frame.getVolume());
+      }
     }
 
     out.writeBoolean(message.finished);
     out.writeLong(message.seekedPosition);
   }
 
+  @Override
+  public int encodedSize(TrackFrameDataMessage message, int version) {
+    if (version >= VERSION_PACKED && message.packedFrames != null) {
+      return 8 + 4 + 4 + message.packedFrames.getSize() + 1 + 8;
+    }
+
+    return -1;
+  }
+
   @Override
   public TrackFrameDataMessage decode(DataInput in, int version) throws IOException {
     long executorId = in.readLong();
     int frameCount = in.readInt();
 
+    if (version >= VERSION_PACKED) {
+      byte[] data = new byte[in.readInt()];
+      in.readFully(data);
+
+      PackedAudioFrames packedFrames = new PackedAudioFrames(data, data.length, frameCount);
+      return new TrackFrameDataMessage(executorId, packedFrames, in.readBoolean(), in.readLong());
+    }
+
     List<AudioFrame> frames = new ArrayList<>(frameCount);
 
     for (int i = 0; i < frameCount; i++) {
@@ -55,4 +96,18 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
 
     return new TrackFrameDataMessage(executorId, frames, in.readBoolean(), in.readLong());
   }
+
+  private static PackedAudioFrames getPackedFrames(TrackFrameDataMessage message) {
+    if (message.packedFrames != null) {
+      return message.packedFrames;
+    }
+
+    PackedAudioFrames packedFrames = new PackedAudioFrames(0);
+
+    for (AudioFrame frame : message.frames) {
+      packedFrames.add(frame);
+    }
+
+    return packedFrames;
+  }
 }
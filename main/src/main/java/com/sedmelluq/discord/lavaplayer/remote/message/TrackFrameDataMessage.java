@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.remote.message;
 
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -19,6 +20,11 @@ public class TrackFrameDataMessage implements RemoteMessage {
    * that the node provides data in the format that it was initially requested in.
    */
   public final List<AudioFrame> frames;
+  /**
+   * Frames provided by the node packed into a single array, used instead of {@link #frames} when the message is
+   * received with version 2 of its codec or created for it. Null otherwise.
+   */
+  public final PackedAudioFrames packedFrames;
   /**
    * If these are the last frames for the track. After receiving a message with this set to true, no more requests about
    * this track should be made to the node as it has already deleted the track from its registry.
@@ -40,7 +46,29 @@ public class TrackFrameDataMessage implements RemoteMessage {
   public TrackFrameDataMessage(long executorId, List<AudioFrame> frames, boolean finished, long seekedPosition) {
     this.executorId = executorId;
     this.frames = frames;
+    this.packedFrames = null;
+    this.finished = finished;
+    this.seekedPosition = seekedPosition;
+  }
+
+  /**
+   * @param executorId The ID for the track executor
+   * @param packedFrames Frames provided by the node, packed into a single array
+   * @param finished If these are the last frames for the track
+   * @param seekedPosition The position of the seek that was performed
+   */
+  public TrackFrameDataMessage(long executorId, PackedAudioFrames packedFrames, boolean finished, long seekedPosition) {
+    this.executorId = executorId;
+    this.frames = Collections.emptyList();
+    this.packedFrames = packedFrames;
     this.finished = finished;
     this.seekedPosition = seekedPosition;
   }
+
+  /**
+   * @return Number of frames in this message
+   */
+  public int getFrameCount() {
+    return packedFrames != null ? packedFrames.getFrameCount() : frames.size();
+  }
 }
@@ -5,9 +5,13 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 /**
- * Codec for track start request response message.
+ * Codec for track start request response message. Version 2 adds whether the node rejected the track due to being
+ * overloaded.
  */
 public class TrackStartResponseCodec implements RemoteMessageCodec<TrackStartResponseMessage> {
+  private static final int VERSION_INITIAL = 1;
+  private static final int VERSION_WITH_OVERLOAD = 2;
+
   @Override
   public Class<TrackStartResponseMessage> getMessageClass() {
     return TrackStartResponseMessage.class;
@@ -15,16 +19,31 @@ public class TrackStartResponseCodec implements RemoteMessageCodec<TrackStartRes
 
   @Override
   public int version(RemoteMessage message) {
-    return 1;
+    // Backwards compatibility with older masters.
+    return message != null ? VERSION_INITIAL : VERSION_WITH_OVERLOAD;
+  }
+
+  @Override
+  public int version(RemoteMessage message, int maximumVersion) {
+    return Math.min(VERSION_WITH_OVERLOAD, maximumVersion);
   }
 
   @Override
   public void encode(DataOutput out, TrackStartResponseMessage message) throws IOException {
+    encode(out, message, VERSION_INITIAL);
+  }
+
+  @Override
+  public void encode(DataOutput out, TrackStartResponseMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     out.writeBoolean(message.success);
 
     if (!message.success) {
       out.writeUTF(message.failureReason);
+
+      if (version >= VERSION_WITH_OVERLOAD) {
+        out.writeBoolean(message.overloaded);
+      }
     }
   }
 
@@ -33,6 +52,13 @@ public class TrackStartResponseCodec implements RemoteMessageCodec<TrackStartRes
     long executorId = in.readLong();
     boolean success = in.readBoolean();
 
-    return new TrackStartResponseMessage(executorId, success, success ? null : in.readUTF());
+    if (success) {
+      return new TrackStartResponseMessage(executorId, true, null);
+    }
+
+    String failureReason = in.readUTF();
+    boolean overloaded = version >= VERSION_WITH_OVERLOAD && in.readBoolean();
+
+    return new TrackStartResponseMessage(executorId, false, failureReason, overloaded);
   }
 }
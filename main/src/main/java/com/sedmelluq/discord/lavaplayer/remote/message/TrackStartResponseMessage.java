@@ -17,6 +17,11 @@ public class TrackStartResponseMessage implements RemoteMessage {
    * The reason in case the track was not started
    */
   public final String failureReason;
+  /**
+   * Whether the track was not started because the node has no processing headroom left. The track can be started on
+   * another node instead.
+   */
+  public final boolean overloaded;
 
   /**
    * @param executorId The ID for the track executor
@@ -24,8 +29,19 @@ public class TrackStartResponseMessage implements RemoteMessage {
    * @param failureReason The reason in case the track was not started
    */
   public TrackStartResponseMessage(long executorId, boolean success, String failureReason) {
+    this(executorId, success, failureReason, false);
+  }
+
+  /**
+   * @param executorId The ID for the track executor
+   * @param success Whether the track was successfully started in the node
+   * @param failureReason The reason in case the track was not started
+   * @param overloaded Whether the track was not started because the node has no processing headroom left
+   */
+  public TrackStartResponseMessage(long executorId, boolean success, String failureReason, boolean overloaded) {
     this.executorId = executorId;
     this.success = success;
     this.failureReason = failureReason;
+    this.overloaded = overloaded;
   }
 }
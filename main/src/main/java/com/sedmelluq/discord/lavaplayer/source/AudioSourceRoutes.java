@@ -0,0 +1,59 @@
+package com.sedmelluq.discord.lavaplayer.source;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Identifiers which a source manager is able to load. The player manager only asks a source manager which declares
+ * routes to load an identifier if it matches at least one of them, so the source manager must not recognise any
+ * identifier outside of its routes.
+ */
+public class AudioSourceRoutes {
+  private final Set<String> hosts;
+  private final List<String> prefixes;
+  private final List<Pattern> patterns;
+
+  /**
+   * @param hosts Host names of URLs, with or without a scheme. Also matches subdomains, case insensitive.
+   * @param prefixes Prefixes of identifiers, case sensitive
+   * @param patterns Patterns which must match the whole identifier
+   */
+  public AudioSourceRoutes(Collection<String> hosts, Collection<String> prefixes, Collection<Pattern> patterns) {
+    Set<String> normalisedHosts = new LinkedHashSet<>();
+
+    for (String host : hosts) {
+      normalisedHosts.add(host.toLowerCase(Locale.ROOT));
+    }
+
+    this.hosts = Collections.unmodifiableSet(normalisedHosts);
+    this.prefixes = Collections.unmodifiableList(new ArrayList<>(prefixes));
+    this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+  }
+
+  /**
+   * @return Host names of URLs in lower case
+   */
+  public Set<String> getHosts() {
+    return hosts;
+  }
+
+  /**
+   * @return Prefixes of identifiers
+   */
+  public List<String> getPrefixes() {
+    return prefixes;
+  }
+
+  /**
+   * @return Patterns which must match the whole identifier
+   */
+  public List<Pattern> getPatterns() {
+    return patterns;
+  }
+}
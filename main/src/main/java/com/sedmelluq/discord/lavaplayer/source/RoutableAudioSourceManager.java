@@ -0,0 +1,13 @@
+package com.sedmelluq.discord.lavaplayer.source;
+
+/**
+ * Source manager which declares up front which identifiers it can load, so that it does not have to be asked about
+ * every identifier. Source managers which do not implement this are asked about all identifiers.
+ */
+public interface RoutableAudioSourceManager extends AudioSourceManager {
+  /**
+   * @return The identifiers this source manager can load, null if it cannot be described by routes in its current
+   *         configuration.
+   */
+  AudioSourceRoutes getRoutes();
+}
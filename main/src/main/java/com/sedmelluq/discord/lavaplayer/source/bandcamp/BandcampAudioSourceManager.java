@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.bandcamp;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
@@ -20,6 +21,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -38,8 +40,8 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 /**
  * Audio source manager that implements finding Bandcamp tracks based on URL.
  */
-public class BandcampAudioSourceManager implements AudioSourceManager, HttpConfigurable {
-  private static final String URL_REGEX = "^(https?://(?:[^.]+\\.|)bandcamp\\.com)/(track|album)/([a-zA-Z0-9-_]+)/?(?:\\?.*|)$";
+public class BandcampAudioSourceManager implements RoutableAudioSourceManager, HttpConfigurable {
+  private static final String URL_REGEX = "^(https?://(?:[^./]+\\.|)bandcamp\\.com)/(track|album)/([a-zA-Z0-9-_]+)/?(?:\\?.*|)$";
   private static final Pattern urlRegex = Pattern.compile(URL_REGEX);
 
   private final HttpInterfaceManager httpInterfaceManager;
@@ -56,6 +58,11 @@ public class BandcampAudioSourceManager implements AudioSourceManager, HttpConfi
     return "bandcamp";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(Collections.singletonList("bandcamp.com"), Collections.emptyList(), Collections.emptyList());
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     UrlInfo urlInfo = parseUrl(reference.identifier);
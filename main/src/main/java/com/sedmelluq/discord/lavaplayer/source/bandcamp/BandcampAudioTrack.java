@@ -46,6 +46,7 @@ public class BandcampAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting Bandcamp track from URL: {}", trackMediaUrl);
 
       try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(trackMediaUrl), null)) {
+        stream.setReadListener(localExecutor.getStreamReadListener());
         processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
       }
     }
@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.beam;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
@@ -11,6 +12,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.http.client.config.RequestConfig;
@@ -19,12 +21,17 @@ import org.apache.http.impl.client.HttpClientBuilder;
 /**
  * Dead site, class kept for now to not cause a breaking change.
  */
-public class BeamAudioSourceManager implements AudioSourceManager, HttpConfigurable {
+public class BeamAudioSourceManager implements RoutableAudioSourceManager, HttpConfigurable {
   @Override
   public String getSourceName() {
     return "beam.pro";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     return null;
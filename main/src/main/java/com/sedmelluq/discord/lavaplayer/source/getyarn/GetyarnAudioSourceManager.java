@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.getyarn;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
@@ -17,6 +18,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -34,7 +36,7 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 /**
  * Audio source manager which detects getyarn.io tracks by URL.
  */
-public class GetyarnAudioSourceManager implements HttpConfigurable, AudioSourceManager {
+public class GetyarnAudioSourceManager implements HttpConfigurable, RoutableAudioSourceManager {
   private static final Pattern GETYARN_REGEX = Pattern.compile("(?:http://|https://(?:www\\.)?)?getyarn\\.io/yarn-clip/(.*)");
 
   private final HttpInterfaceManager httpInterfaceManager;
@@ -53,6 +55,11 @@ public class GetyarnAudioSourceManager implements HttpConfigurable, AudioSourceM
     return "getyarn.io";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(Collections.singletonList("getyarn.io"), Collections.emptyList(), Collections.emptyList());
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     final Matcher m = GETYARN_REGEX.matcher(reference.identifier);
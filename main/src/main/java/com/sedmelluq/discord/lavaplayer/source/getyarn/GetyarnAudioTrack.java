@@ -32,6 +32,7 @@ public class GetyarnAudioTrack extends DelegatedAudioTrack {
           new URI(trackInfo.identifier),
           Units.CONTENT_LENGTH_UNKNOWN
       )) {
+        inputStream.setReadListener(localExecutor.getStreamReadListener());
         processDelegate(new MpegAudioTrack(trackInfo, inputStream), localExecutor);
       }
     }
@@ -6,7 +6,9 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerHints;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.Units;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
@@ -25,6 +27,8 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.http.HttpStatus;
@@ -39,7 +43,7 @@ import static com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools.getHeade
 /**
  * Audio source manager which implements finding audio files from HTTP addresses.
  */
-public class HttpAudioSourceManager extends ProbingAudioSourceManager implements HttpConfigurable {
+public class HttpAudioSourceManager extends ProbingAudioSourceManager implements HttpConfigurable, RoutableAudioSourceManager {
   private final HttpInterfaceManager httpInterfaceManager;
 
   /**
@@ -68,6 +72,15 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager implements
     return "http";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(
+        Collections.emptyList(),
+        Arrays.asList("http://", "https://", "icy://"),
+        Collections.emptyList()
+    );
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     AudioReference httpReference = getAsHttpReference(reference);
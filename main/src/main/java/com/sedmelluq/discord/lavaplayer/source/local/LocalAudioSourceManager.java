@@ -8,10 +8,12 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.File;
@@ -23,6 +25,8 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Audio source manager that implements finding audio files from the local file system.
  */
 public class LocalAudioSourceManager extends ProbingAudioSourceManager {
+  private volatile boolean memoryMappingEnabled = true;
+
   public LocalAudioSourceManager() {
     this(MediaContainerRegistry.DEFAULT_REGISTRY);
   }
@@ -31,6 +35,14 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
     super(containerRegistry);
   }
 
+  /**
+   * @param memoryMappingEnabled Whether to read files by mapping them into memory, which avoids a system call and a copy
+   *                             for each read. Files too large to be mapped in one piece are always read as streams.
+   */
+  public void setMemoryMappingEnabled(boolean memoryMappingEnabled) {
+    this.memoryMappingEnabled = memoryMappingEnabled;
+  }
+
   @Override
   public String getSourceName() {
     return "local";
@@ -53,6 +65,7 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
   }
 
   private MediaContainerDetectionResult detectContainerForFile(AudioReference reference, File file) {
+    // Probing reads only the start of the file, not worth mapping all of it.
     try (LocalSeekableInputStream inputStream = new LocalSeekableInputStream(file)) {
       int lastDotIndex = file.getName().lastIndexOf('.');
       String fileExtension = lastDotIndex >= 0 ? file.getName().substring(lastDotIndex + 1) : null;
@@ -64,6 +77,20 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
     }
   }
 
+  /**
+   * @param file File to open for playback
+   * @param metrics Metrics of the track which plays the file, may be null
+   * @return Stream which reads the whole file, mapped into memory if enabled
+   * @throws IOException If opening or mapping the file fails
+   */
+  SeekableInputStream openFile(File file, AudioTrackMetrics metrics) throws IOException {
+    if (memoryMappingEnabled && file.length() <= LocalMappedSeekableInputStream.MAXIMUM_SIZE) {
+      return new LocalMappedSeekableInputStream(file, metrics);
+    } else {
+      return new LocalSeekableInputStream(file, metrics);
+    }
+  }
+
   @Override
   public boolean isTrackEncodable(AudioTrack track) {
     return true;
@@ -0,0 +1,274 @@
+package com.sedmelluq.discord.lavaplayer.source.local;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.ByteBufferReadable;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seekable input stream implementation for local files which maps the whole file into memory. Reads do not need a
+ * system call each, and the data can be read as views of the mapping with {@link #readBuffer(int)}. Closing the stream
+ * unmaps the file instead of leaving it to the garbage collector, so views returned by it must not be used after that.
+ *
+ * Closing is safe while another thread is reading from the stream: the mapping is counted as in use for the duration
+ * of each read, and is only unmapped once the stream is closed and no read is in progress anymore.
+ */
+public class LocalMappedSeekableInputStream extends SeekableInputStream implements ByteBufferReadable {
+  private static final Logger log = LoggerFactory.getLogger(LocalMappedSeekableInputStream.class);
+
+  /**
+   * Maximum size of a file which can be mapped in one piece.
+   */
+  public static final long MAXIMUM_SIZE = Integer.MAX_VALUE;
+
+  private final AudioTrackMetrics metrics;
+  private final ByteBuffer buffer;
+  private final AtomicBoolean closed;
+  private final AtomicInteger references;
+
+  /**
+   * @param file File to create a stream for, at most {@link #MAXIMUM_SIZE} bytes long.
+   * @throws IOException If opening or mapping the file fails
+   */
+  public LocalMappedSeekableInputStream(File file) throws IOException {
+    this(file, null);
+  }
+
+  /**
+   * @param file File to create a stream for, at most {@link #MAXIMUM_SIZE} bytes long.
+   * @param metrics Metrics of the track reading from this stream to count the bytes read into, may be null
+   * @throws IOException If opening or mapping the file fails
+   */
+  public LocalMappedSeekableInputStream(File file, AudioTrackMetrics metrics) throws IOException {
+    super(file.length(), 0);
+
+    closed = new AtomicBoolean();
+    // One reference is held by the stream itself until it is closed, reads add one for their duration.
+    references = new AtomicInteger(1);
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+
+      if (size > MAXIMUM_SIZE) {
+        throw new IOException("File is too large to be mapped, size " + size + ".");
+      }
+
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      contentLength = size;
+    }
+
+    this.metrics = metrics;
+  }
+
+  @Override
+  public int read() throws IOException {
+    acquireMapping();
+
+    try {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+
+      addBytesRead(1);
+      return buffer.get() & 0xFF;
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    acquireMapping();
+
+    try {
+      if (len == 0) {
+        return 0;
+      } else if (!buffer.hasRemaining()) {
+        return -1;
+      }
+
+      int chunk = Math.min(len, buffer.remaining());
+      buffer.get(b, off, chunk);
+      addBytesRead(chunk);
+      return chunk;
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public ByteBuffer readBuffer(int length) throws IOException {
+    acquireMapping();
+
+    try {
+      if (length > buffer.remaining()) {
+        throw new EOFException("Requested " + length + " bytes, but only " + buffer.remaining() + " are left.");
+      }
+
+      ByteBuffer view = buffer.slice();
+      view.limit(length);
+      buffer.position(buffer.position() + length);
+      addBytesRead(length);
+      return view;
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    acquireMapping();
+
+    try {
+      if (n <= 0) {
+        return 0;
+      }
+
+      int skipped = (int) Math.min(n, buffer.remaining());
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public int available() throws IOException {
+    acquireMapping();
+
+    try {
+      return buffer.remaining();
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("mark/reset not supported");
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed.compareAndSet(false, true)) {
+      releaseMapping();
+    }
+  }
+
+  @Override
+  public long getPosition() {
+    // Only reads the position field of the buffer, which does not touch the mapped memory.
+    return closed.get() ? contentLength : buffer.position();
+  }
+
+  @Override
+  public boolean canSeekHard() {
+    return true;
+  }
+
+  @Override
+  public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  protected void seekHard(long position) throws IOException {
+    acquireMapping();
+
+    try {
+      buffer.position((int) Math.min(Math.max(position, 0), buffer.limit()));
+    } finally {
+      releaseMapping();
+    }
+  }
+
+  private void acquireMapping() throws IOException {
+    while (true) {
+      int count = references.get();
+
+      if (count == 0 || closed.get()) {
+        throw new IOException("Stream is closed.");
+      } else if (references.compareAndSet(count, count + 1)) {
+        return;
+      }
+    }
+  }
+
+  private void releaseMapping() {
+    if (references.decrementAndGet() == 0) {
+      MappingCleaner.unmap(buffer);
+    }
+  }
+
+  private void addBytesRead(int count) {
+    if (metrics != null) {
+      metrics.addBytesRead(count);
+    }
+  }
+
+  /**
+   * Releases mappings through the cleaner of the buffer. It is not part of the public API, so it is looked up
+   * reflectively for both Java 8 and later versions, and the mapping is left to the garbage collector if neither works.
+   */
+  private static class MappingCleaner {
+    private static final Object unsafe;
+    private static final Method invokeCleaner;
+
+    static {
+      Object foundUnsafe = null;
+      Method foundInvokeCleaner = null;
+
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+
+        foundInvokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        foundUnsafe = unsafeField.get(null);
+      } catch (Exception e) {
+        // Before Java 9, the cleaner of the buffer is called directly instead.
+        foundInvokeCleaner = null;
+      }
+
+      unsafe = foundUnsafe;
+      invokeCleaner = foundInvokeCleaner;
+    }
+
+    private static void unmap(ByteBuffer buffer) {
+      try {
+        if (invokeCleaner != null) {
+          invokeCleaner.invoke(unsafe, buffer);
+        } else {
+          Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+          cleanerMethod.setAccessible(true);
+          Object cleaner = cleanerMethod.invoke(buffer);
+
+          if (cleaner != null) {
+            cleaner.getClass().getMethod("clean").invoke(cleaner);
+          }
+        }
+      } catch (Exception e) {
+        log.debug("Could not unmap file, leaving it to the garbage collector.", e);
+      }
+    }
+  }
+}
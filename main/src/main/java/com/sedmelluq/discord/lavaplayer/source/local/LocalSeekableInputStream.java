@@ -3,6 +3,7 @@ package com.sedmelluq.discord.lavaplayer.source.local;
 import com.sedmelluq.discord.lavaplayer.tools.io.ExtendedBufferedInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -22,12 +23,21 @@ public class LocalSeekableInputStream extends SeekableInputStream {
   private final FileInputStream inputStream;
   private final FileChannel channel;
   private final ExtendedBufferedInputStream bufferedStream;
+  private final AudioTrackMetrics metrics;
   private long position;
 
   /**
    * @param file File to create a stream for.
    */
   public LocalSeekableInputStream(File file) {
+    this(file, null);
+  }
+
+  /**
+   * @param file File to create a stream for.
+   * @param metrics Metrics of the track reading from this stream to count the bytes read into, may be null
+   */
+  public LocalSeekableInputStream(File file, AudioTrackMetrics metrics) {
     super(file.length(), 0);
 
     try {
@@ -37,6 +47,8 @@ public class LocalSeekableInputStream extends SeekableInputStream {
     } catch (FileNotFoundException e) {
       throw new RuntimeException(e);
     }
+
+    this.metrics = metrics;
   }
 
   @Override
@@ -44,6 +56,10 @@ public class LocalSeekableInputStream extends SeekableInputStream {
     int result = bufferedStream.read();
     if (result >= 0) {
       position++;
+
+      if (metrics != null) {
+        metrics.addBytesRead(1);
+      }
     }
 
     return result;
@@ -53,6 +69,11 @@ public class LocalSeekableInputStream extends SeekableInputStream {
   public int read(byte[] b, int off, int len) throws IOException {
     int read = bufferedStream.read(b, off, len);
     position += read;
+
+    if (metrics != null) {
+      metrics.addBytesRead(read);
+    }
+
     return read;
   }
 
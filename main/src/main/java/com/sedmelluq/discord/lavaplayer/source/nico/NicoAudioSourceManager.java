@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.nico;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
@@ -17,6 +18,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,7 +43,7 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 /**
  * Audio source manager that implements finding NicoNico tracks based on URL.
  */
-public class NicoAudioSourceManager implements AudioSourceManager, HttpConfigurable {
+public class NicoAudioSourceManager implements RoutableAudioSourceManager, HttpConfigurable {
   private static final String TRACK_URL_REGEX = "^(?:http://|https://|)(?:www\\.|)nicovideo\\.jp/watch/(sm[0-9]+)(?:\\?.*|)$";
 
   private static final Pattern trackUrlPattern = Pattern.compile(TRACK_URL_REGEX);
@@ -67,6 +69,11 @@ public class NicoAudioSourceManager implements AudioSourceManager, HttpConfigura
     return "niconico";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(Collections.singletonList("nicovideo.jp"), Collections.emptyList(), Collections.emptyList());
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     Matcher trackMatcher = trackUrlPattern.matcher(reference.identifier);
@@ -51,6 +51,7 @@ public class NicoAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting NicoNico track from URL: {}", playbackUrl);
 
       try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(playbackUrl), null)) {
+        stream.setReadListener(localExecutor.getStreamReadListener());
         processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
       }
     }
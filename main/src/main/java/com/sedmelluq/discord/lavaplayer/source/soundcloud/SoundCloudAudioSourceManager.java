@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.soundcloud;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
@@ -20,6 +21,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,7 +43,7 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 /**
  * Audio source manager that implements finding SoundCloud tracks based on URL.
  */
-public class SoundCloudAudioSourceManager implements AudioSourceManager, HttpConfigurable {
+public class SoundCloudAudioSourceManager implements RoutableAudioSourceManager, HttpConfigurable {
   private static final int DEFAULT_SEARCH_RESULTS = 10;
   private static final int MAXIMUM_SEARCH_RESULTS = 200;
 
@@ -111,6 +113,20 @@ public class SoundCloudAudioSourceManager implements AudioSourceManager, HttpCon
     return "soundcloud";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    // A custom playlist loader may recognise any identifier.
+    if (playlistLoader.getClass() != DefaultSoundCloudPlaylistLoader.class) {
+      return null;
+    }
+
+    return new AudioSourceRoutes(
+        Collections.singletonList("soundcloud.com"),
+        allowSearch ? Collections.singletonList(SEARCH_PREFIX) : Collections.emptyList(),
+        Collections.emptyList()
+    );
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     AudioItem track = processAsSingleTrack(reference);
@@ -75,6 +75,8 @@ public class SoundCloudAudioTrack extends DelegatedAudioTrack {
     log.debug("Starting SoundCloud track from URL: {}", trackUrl);
 
     try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(trackUrl), null)) {
+      stream.setReadListener(localExecutor.getStreamReadListener());
+
       if (!HttpClientTools.isSuccessWithContent(stream.checkStatusCode())) {
         throw new IOException("Invalid status code for soundcloud stream: " + stream.checkStatusCode());
       }
@@ -48,6 +48,7 @@ public class VimeoAudioTrack extends DelegatedAudioTrack {
       log.debug("Starting Vimeo track from URL: {}", playbackUrl);
 
       try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(playbackUrl), null)) {
+        stream.setReadListener(localExecutor.getStreamReadListener());
         processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
       }
     }
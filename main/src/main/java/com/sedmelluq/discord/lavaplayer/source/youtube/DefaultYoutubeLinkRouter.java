@@ -1,7 +1,9 @@
 package com.sedmelluq.discord.lavaplayer.source.youtube;
 
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -21,10 +23,11 @@ public class DefaultYoutubeLinkRouter implements YoutubeLinkRouter {
   private static final String PLAYLIST_ID_REGEX = "(?<list>(PL|LL|FL|UU)[a-zA-Z0-9_-]+)";
 
   private static final Pattern directVideoIdPattern = Pattern.compile("^" + VIDEO_ID_REGEX + "$");
+  private static final Pattern directPlaylistIdPattern = Pattern.compile("^" + PLAYLIST_ID_REGEX + "$");
 
   private final Extractor[] extractors = new Extractor[] {
       new Extractor(directVideoIdPattern, Routes::track),
-      new Extractor(Pattern.compile("^" + PLAYLIST_ID_REGEX + "$"), this::routeDirectPlaylist),
+      new Extractor(directPlaylistIdPattern, this::routeDirectPlaylist),
       new Extractor(Pattern.compile("^" + PROTOCOL_REGEX + DOMAIN_REGEX + "/.*"), this::routeFromMainDomain),
       new Extractor(Pattern.compile("^" + PROTOCOL_REGEX + SHORT_DOMAIN_REGEX + "/.*"), this::routeFromShortDomain)
   };
@@ -50,6 +53,17 @@ public class DefaultYoutubeLinkRouter implements YoutubeLinkRouter {
     return null;
   }
 
+  /**
+   * @return Routes of all identifiers this router recognises
+   */
+  public AudioSourceRoutes getRoutes() {
+    return new AudioSourceRoutes(
+        Arrays.asList("youtube.com", "youtu.be"),
+        Arrays.asList(SEARCH_PREFIX, SEARCH_MUSIC_PREFIX),
+        Arrays.asList(directVideoIdPattern, directPlaylistIdPattern)
+    );
+  }
+
   protected <T> T routeDirectPlaylist(Routes<T> routes, String id) {
     return routes.playlist(id, null);
   }
@@ -0,0 +1,151 @@
+package com.sedmelluq.discord.lavaplayer.source.youtube;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores ciphers as text files in a directory, one file per player script. The first line of a file is the script
+ * URL, followed by one line per operation with its type and parameter.
+ *
+ * Stored ciphers are trusted to produce playback URLs, so the directory should only be writable by the user running
+ * the application. On file systems with POSIX permissions, the directory is created accessible to its owner only, and
+ * files which are not owned by the current user are ignored.
+ */
+public class FileYoutubeCipherStore implements YoutubeCipherStore {
+  private static final Logger log = LoggerFactory.getLogger(FileYoutubeCipherStore.class);
+
+  private final Path directory;
+  private final boolean posix;
+  private volatile UserPrincipal currentUser;
+
+  /**
+   * @param directory Directory to store the ciphers in, created if it does not exist. Should not be in a location
+   *                  shared with other users, such as the temporary directory of the system.
+   */
+  public FileYoutubeCipherStore(Path directory) {
+    this.directory = directory;
+    this.posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+  }
+
+  @Override
+  public YoutubeSignatureCipher load(String scriptUrl) throws IOException {
+    Path path = getPath(scriptUrl);
+    List<String> lines;
+
+    try {
+      if (!isOwnedByCurrentUser(path)) {
+        log.warn("Ignoring stored cipher for script {}, file {} is not owned by the current user.", scriptUrl, path);
+        return null;
+      }
+
+      lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+
+    if (lines.isEmpty() || !scriptUrl.equals(lines.get(0))) {
+      return null;
+    }
+
+    YoutubeSignatureCipher cipher = new YoutubeSignatureCipher();
+
+    for (String line : lines.subList(1, lines.size())) {
+      String[] parts = line.split(" ");
+
+      try {
+        YoutubeCipherOperationType type = YoutubeCipherOperationType.valueOf(parts[0]);
+        cipher.addOperation(new YoutubeCipherOperation(type, Integer.parseInt(parts[1])));
+      } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+        log.warn("Ignoring stored cipher for script {} with invalid operation {}.", scriptUrl, line);
+        return null;
+      }
+    }
+
+    return cipher;
+  }
+
+  @Override
+  public void store(String scriptUrl, YoutubeSignatureCipher cipher) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add(scriptUrl);
+
+    for (YoutubeCipherOperation operation : cipher.getOperations()) {
+      lines.add(operation.type.name() + " " + operation.parameter);
+    }
+
+    createDirectory();
+
+    // Write to a separate file first, so that other processes sharing the directory never read a partial file.
+    Path temporaryFile = Files.createTempFile(directory, "cipher", ".tmp");
+
+    try {
+      Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+      Files.move(temporaryFile, getPath(scriptUrl), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  private void createDirectory() throws IOException {
+    if (Files.isDirectory(directory)) {
+      return;
+    }
+
+    if (posix) {
+      Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(
+          PosixFilePermissions.fromString("rwx------")));
+    } else {
+      Files.createDirectories(directory);
+    }
+  }
+
+  private boolean isOwnedByCurrentUser(Path path) throws IOException {
+    if (!posix) {
+      return true;
+    }
+
+    // Not following links, a link planted by another user is owned by that user.
+    return Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).equals(getCurrentUser());
+  }
+
+  private UserPrincipal getCurrentUser() throws IOException {
+    UserPrincipal user = currentUser;
+
+    if (user == null) {
+      user = directory.getFileSystem().getUserPrincipalLookupService()
+          .lookupPrincipalByName(System.getProperty("user.name"));
+      currentUser = user;
+    }
+
+    return user;
+  }
+
+  private Path getPath(String scriptUrl) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(scriptUrl.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(hash.length * 2 + 7);
+
+      for (byte value : hash) {
+        name.append(String.format("%02x", value & 0xFF));
+      }
+
+      return directory.resolve(name.append(".cipher").toString());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -1,7 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.source.youtube;
 
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
-import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceRoutes;
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.http.ExtendedHttpConfigurable;
@@ -10,6 +11,7 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpReadAhead;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
@@ -36,11 +38,12 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
 /**
  * Audio source manager that implements finding Youtube videos or playlists based on an URL or ID.
  */
-public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfigurable {
+public class YoutubeAudioSourceManager implements RoutableAudioSourceManager, HttpConfigurable {
   private static final Logger log = LoggerFactory.getLogger(YoutubeAudioSourceManager.class);
 
   private final YoutubeSignatureResolver signatureResolver;
   private final HttpInterfaceManager httpInterfaceManager;
+  private volatile HttpReadAhead readAhead;
   private final ExtendedHttpConfigurable combinedHttpConfiguration;
   private final YoutubeMixLoader mixLoader;
   private final boolean allowSearch;
@@ -50,6 +53,7 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
   private final YoutubePlaylistLoader playlistLoader;
   private final YoutubeLinkRouter linkRouter;
   private final LoadingRoutes loadingRoutes;
+  private final YoutubeStreamUrlCache streamUrlCache;
 
   /**
    * Create an instance with default settings.
@@ -97,6 +101,7 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     this.linkRouter = linkRouter;
     this.mixLoader = mixLoader;
     this.loadingRoutes = new LoadingRoutes();
+    this.streamUrlCache = new YoutubeStreamUrlCache();
 
     combinedHttpConfiguration = new MultiHttpConfigurable(Arrays.asList(
         httpInterfaceManager,
@@ -113,6 +118,34 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     return signatureResolver;
   }
 
+  /**
+   * @return Cache of the stream URLs resolved for videos, used to start playing recently played videos faster.
+   */
+  public YoutubeStreamUrlCache getStreamUrlCache() {
+    return streamUrlCache;
+  }
+
+  /**
+   * @return Read-ahead used for the streams of playing tracks, null if it is disabled.
+   */
+  public HttpReadAhead getReadAhead() {
+    return readAhead;
+  }
+
+  /**
+   * @param readAheadEnabled Whether to fetch the audio of playing tracks ahead of the decoder in range chunks on
+   *                         separate threads, so that network stalls do not block decoding as long as there are chunks
+   *                         left. Uses the default chunk size and count of {@link HttpReadAhead}.
+   */
+  public synchronized void setReadAheadEnabled(boolean readAheadEnabled) {
+    if (readAheadEnabled && readAhead == null) {
+      readAhead = new HttpReadAhead(httpInterfaceManager);
+    } else if (!readAheadEnabled && readAhead != null) {
+      readAhead.shutdown();
+      readAhead = null;
+    }
+  }
+
   /**
    * @param playlistPageCount Maximum number of pages loaded from one playlist. There are 100 tracks per page.
    */
@@ -125,6 +158,16 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     return "youtube";
   }
 
+  @Override
+  public AudioSourceRoutes getRoutes() {
+    // A custom router may recognise any identifier.
+    if (linkRouter.getClass() == DefaultYoutubeLinkRouter.class) {
+      return ((DefaultYoutubeLinkRouter) linkRouter).getRoutes();
+    }
+
+    return null;
+  }
+
   @Override
   public AudioItem loadItem(AudioPlayerManager manager, AudioReference reference) {
     try {
@@ -156,6 +199,7 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
 
   @Override
   public void shutdown() {
+    setReadAheadEnabled(false);
     ExceptionTools.closeWithWarnings(httpInterfaceManager);
   }
 
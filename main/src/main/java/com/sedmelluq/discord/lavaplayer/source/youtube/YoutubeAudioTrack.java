@@ -4,12 +4,18 @@ import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaAudioTrack;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAudioTrack;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.channels.ClosedByInterruptException;
 import java.util.List;
 import java.util.StringJoiner;
 import org.slf4j.Logger;
@@ -39,26 +45,94 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
   @Override
   public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
     try (HttpInterface httpInterface = sourceManager.getHttpInterface()) {
-      FormatWithUrl format = loadBestFormatWithUrl(httpInterface);
-
-      log.debug("Starting track from URL: {}", format.signedUrl);
-
       if (trackInfo.isStream) {
+        FormatWithUrl format = loadBestFormatWithUrl(httpInterface);
+        log.debug("Starting track from URL: {}", format.signedUrl);
         processStream(localExecutor, format);
       } else {
-        processStatic(localExecutor, httpInterface, format);
+        processStatic(localExecutor, httpInterface);
       }
     }
   }
 
-  private void processStatic(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface, FormatWithUrl format) throws Exception {
+  private void processStatic(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface) throws Exception {
+    YoutubeStreamUrlCache urlCache = sourceManager.getStreamUrlCache();
+    YoutubeStreamUrlCache.CachedUrl cachedUrl = urlCache.get(getIdentifier(), trackInfo.length);
+
+    if (cachedUrl != null) {
+      FormatWithUrl format = new FormatWithUrl(cachedUrl.format, cachedUrl.signedUrl);
+
+      if (processStatic(localExecutor, httpInterface, format, true)) {
+        return;
+      }
+    }
+
+    FormatWithUrl format = loadBestFormatWithUrl(httpInterface);
+    urlCache.put(getIdentifier(), format.details, format.signedUrl);
+    processStatic(localExecutor, httpInterface, format, false);
+  }
+
+  private boolean processStatic(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface, FormatWithUrl format,
+                                boolean fromCache) throws Exception {
+
+    log.debug("Starting track from URL: {}", format.signedUrl);
+
     try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, format.signedUrl, format.details.getContentLength())) {
-      if (format.details.getType().getMimeType().endsWith("/webm")) {
-        processDelegate(new MatroskaAudioTrack(trackInfo, stream), localExecutor);
-      } else {
-        processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
+      try {
+        stream.setReadAhead(sourceManager.getReadAhead());
+        stream.setReadListener(localExecutor.getStreamReadListener());
+
+        if (fromCache) {
+          int statusCode = stream.checkStatusCode();
+
+          if (!HttpClientTools.isSuccessWithContent(statusCode)) {
+            log.debug("Cached URL for track {} responded with status {}, resolving it again.", getIdentifier(), statusCode);
+            sourceManager.getStreamUrlCache().invalidate(getIdentifier(), format.signedUrl);
+            return false;
+          }
+        }
+
+        if (format.details.getType().getMimeType().endsWith("/webm")) {
+          processDelegate(new MatroskaAudioTrack(trackInfo, stream), localExecutor);
+        } else {
+          processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
+        }
+      } catch (Exception e) {
+        if (isUrlFailure(stream, e)) {
+          // The URL may have been revoked or expired early, do not give it to the next playback of this video.
+          sourceManager.getStreamUrlCache().invalidate(getIdentifier(), format.signedUrl);
+        }
+
+        throw e;
       }
     }
+
+    return true;
+  }
+
+  private static boolean isUrlFailure(YoutubePersistentHttpStream stream, Exception exception) {
+    int statusCode = stream.getLastStatusCode();
+
+    if (statusCode != 0 && !HttpClientTools.isSuccessWithContent(statusCode)) {
+      return true;
+    }
+
+    // Stopping or seeking the track interrupts the playback thread, that says nothing about the URL.
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException ||
+          (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException))) {
+        return false;
+      }
+    }
+
+    // Running out of data while parsing is a decoder failure, not a network one.
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException && !(cause instanceof EOFException)) {
+        return true;
+      }
+    }
+
+    return false;
   }
 
   private void processStream(LocalAudioTrackExecutor localExecutor, FormatWithUrl format) throws Exception {
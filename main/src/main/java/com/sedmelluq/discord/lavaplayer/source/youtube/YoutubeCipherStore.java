@@ -0,0 +1,23 @@
+package com.sedmelluq.discord.lavaplayer.source.youtube;
+
+import java.io.IOException;
+
+/**
+ * Persistent storage for signature ciphers extracted from player scripts, so that they do not have to be downloaded
+ * and extracted again after a restart.
+ */
+public interface YoutubeCipherStore {
+  /**
+   * @param scriptUrl URL of the player script the cipher was extracted from
+   * @return The stored cipher, null if there is none for this script
+   * @throws IOException On read error
+   */
+  YoutubeSignatureCipher load(String scriptUrl) throws IOException;
+
+  /**
+   * @param scriptUrl URL of the player script the cipher was extracted from
+   * @param cipher The cipher to store
+   * @throws IOException On write error
+   */
+  void store(String scriptUrl, YoutubeSignatureCipher cipher) throws IOException;
+}
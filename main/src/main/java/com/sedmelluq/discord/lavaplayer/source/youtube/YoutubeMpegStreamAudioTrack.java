@@ -105,6 +105,8 @@ public class YoutubeMpegStreamAudioTrack extends MpegAudioTrack {
     URI segmentUrl = getNextSegmentUrl(state);
 
     try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, segmentUrl, Units.CONTENT_LENGTH_UNKNOWN)) {
+      stream.setReadListener(localExecutor.getStreamReadListener());
+
       if (stream.checkStatusCode() == HttpStatus.SC_NO_CONTENT || stream.getContentLength() == 0) {
         return false;
       }
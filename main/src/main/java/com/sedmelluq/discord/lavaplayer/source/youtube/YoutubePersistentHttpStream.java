@@ -4,6 +4,8 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
 
 /**
@@ -34,6 +36,15 @@ public class YoutubePersistentHttpStream extends PersistentHttpStream {
     }
   }
 
+  @Override
+  protected HttpUriRequest createRangeRequest(long start, long end) {
+    try {
+      return new HttpGet(new URIBuilder(contentUrl).addParameter("range", start + "-" + end).build());
+    } catch (URISyntaxException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
   protected boolean useHeadersForRange() {
     return false;
@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.source.youtube;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -46,6 +47,13 @@ public class YoutubeSignatureCipher {
     operations.add(operation);
   }
 
+  /**
+   * @return The operations of this cipher in the order they are applied in.
+   */
+  public List<YoutubeCipherOperation> getOperations() {
+    return Collections.unmodifiableList(operations);
+  }
+
   /**
    * @return True if the cipher contains no operations.
    */
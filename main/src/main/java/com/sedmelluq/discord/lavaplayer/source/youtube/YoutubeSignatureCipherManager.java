@@ -71,14 +71,26 @@ public class YoutubeSignatureCipherManager implements YoutubeSignatureResolver {
   private final ConcurrentMap<String, YoutubeSignatureCipher> cipherCache;
   private final Set<String> dumpedScriptUrls;
   private final Object cipherLoadLock;
+  private final YoutubeCipherStore cipherStore;
 
   /**
-   * Create a new signature cipher manager
+   * Create a new signature cipher manager which keeps extracted ciphers in memory only.
    */
   public YoutubeSignatureCipherManager() {
+    this(null);
+  }
+
+  /**
+   * Create a new signature cipher manager
+   * @param cipherStore Store for persisting extracted ciphers across restarts, for example a
+   *                    {@link FileYoutubeCipherStore} in a directory of the application. Null to only keep them in
+   *                    memory.
+   */
+  public YoutubeSignatureCipherManager(YoutubeCipherStore cipherStore) {
     this.cipherCache = new ConcurrentHashMap<>();
     this.dumpedScriptUrls = new HashSet<>();
     this.cipherLoadLock = new Object();
+    this.cipherStore = cipherStore;
   }
 
   /**
@@ -135,20 +147,63 @@ public class YoutubeSignatureCipherManager implements YoutubeSignatureResolver {
 
     if (cipherKey == null) {
       synchronized (cipherLoadLock) {
-        log.debug("Parsing cipher from player script {}.", cipherScriptUrl);
+        cipherKey = cipherCache.get(cipherScriptUrl);
+
+        if (cipherKey == null) {
+          cipherKey = loadStoredCipher(cipherScriptUrl);
+        }
 
-        try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(parseTokenScriptUrl(cipherScriptUrl)))) {
-          validateResponseCode(cipherScriptUrl, response);
+        if (cipherKey == null) {
+          log.debug("Parsing cipher from player script {}.", cipherScriptUrl);
 
-          cipherKey = extractTokensFromScript(IOUtils.toString(response.getEntity().getContent(), "UTF-8"), cipherScriptUrl);
-          cipherCache.put(cipherScriptUrl, cipherKey);
+          try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(parseTokenScriptUrl(cipherScriptUrl)))) {
+            validateResponseCode(cipherScriptUrl, response);
+
+            cipherKey = extractTokensFromScript(IOUtils.toString(response.getEntity().getContent(), "UTF-8"), cipherScriptUrl);
+          }
+
+          storeCipher(cipherScriptUrl, cipherKey);
         }
+
+        cipherCache.put(cipherScriptUrl, cipherKey);
       }
     }
 
     return cipherKey;
   }
 
+  private YoutubeSignatureCipher loadStoredCipher(String cipherScriptUrl) {
+    if (cipherStore == null) {
+      return null;
+    }
+
+    try {
+      YoutubeSignatureCipher cipher = cipherStore.load(cipherScriptUrl);
+
+      if (cipher != null) {
+        log.debug("Loaded stored cipher for player script {}.", cipherScriptUrl);
+      }
+
+      return cipher;
+    } catch (Exception e) {
+      log.warn("Failed to load stored cipher for player script {}.", cipherScriptUrl, e);
+      return null;
+    }
+  }
+
+  private void storeCipher(String cipherScriptUrl, YoutubeSignatureCipher cipher) {
+    // Empty ciphers come from scripts which could not be parsed, those should be retried after a restart.
+    if (cipherStore == null || cipher.isEmpty()) {
+      return;
+    }
+
+    try {
+      cipherStore.store(cipherScriptUrl, cipher);
+    } catch (Exception e) {
+      log.warn("Failed to store cipher for player script {}.", cipherScriptUrl, e);
+    }
+  }
+
   private void validateResponseCode(String cipherScriptUrl, CloseableHttpResponse response) throws IOException {
     int statusCode = response.getStatusLine().getStatusCode();
 
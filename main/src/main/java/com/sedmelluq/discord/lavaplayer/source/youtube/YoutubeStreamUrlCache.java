@@ -0,0 +1,126 @@
+package com.sedmelluq.discord.lavaplayer.source.youtube;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+
+/**
+ * Cache of the formats and signed stream URLs resolved for videos, so that playing the same video again does not
+ * require loading its details and resolving the signature again. Entries are kept until shortly before the time in the
+ * <code>expire</code> parameter of the signed URL. URLs without that parameter are not cached.
+ */
+public class YoutubeStreamUrlCache {
+  private static final int DEFAULT_MAXIMUM_SIZE = 1000;
+  private static final long EXPIRY_MARGIN = TimeUnit.MINUTES.toMillis(1);
+
+  private final LinkedHashMap<String, CachedUrl> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+  /**
+   * @param maximumSize Maximum number of videos to keep resolved URLs for, zero to disable the cache
+   */
+  public synchronized void setMaximumSize(int maximumSize) {
+    this.maximumSize = Math.max(0, maximumSize);
+    evictOverflow();
+  }
+
+  /**
+   * @param videoId ID of the video
+   * @param minimumValidity Time in milliseconds for which the URL must remain valid, usually the track duration
+   * @return The cached format and URL, null if there is none which remains valid for long enough
+   */
+  public synchronized CachedUrl get(String videoId, long minimumValidity) {
+    CachedUrl entry = entries.get(videoId);
+
+    if (entry == null) {
+      return null;
+    } else if (entry.expiresAt - EXPIRY_MARGIN - minimumValidity <= System.currentTimeMillis()) {
+      if (entry.expiresAt - EXPIRY_MARGIN <= System.currentTimeMillis()) {
+        entries.remove(videoId);
+      }
+
+      return null;
+    }
+
+    return entry;
+  }
+
+  /**
+   * @param videoId ID of the video
+   * @param format The format that was selected for playback
+   * @param signedUrl The signed URL of that format
+   */
+  public void put(String videoId, YoutubeTrackFormat format, URI signedUrl) {
+    long expiresAt = getExpiryTime(signedUrl);
+
+    if (expiresAt > 0) {
+      put(videoId, new CachedUrl(format, signedUrl, expiresAt));
+    }
+  }
+
+  /**
+   * Removes the cached URL of a video, if the cached URL is still the specified one.
+   *
+   * @param videoId ID of the video
+   * @param signedUrl The URL which was found to be invalid
+   */
+  public synchronized void invalidate(String videoId, URI signedUrl) {
+    CachedUrl entry = entries.get(videoId);
+
+    if (entry != null && entry.signedUrl.equals(signedUrl)) {
+      entries.remove(videoId);
+    }
+  }
+
+  /**
+   * Removes all cached URLs.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  private synchronized void put(String videoId, CachedUrl entry) {
+    if (maximumSize > 0) {
+      entries.put(videoId, entry);
+      evictOverflow();
+    }
+  }
+
+  private void evictOverflow() {
+    while (entries.size() > maximumSize) {
+      entries.remove(entries.keySet().iterator().next());
+    }
+  }
+
+  private static long getExpiryTime(URI signedUrl) {
+    for (NameValuePair parameter : URLEncodedUtils.parse(signedUrl, StandardCharsets.UTF_8)) {
+      if ("expire".equals(parameter.getName())) {
+        try {
+          return TimeUnit.SECONDS.toMillis(Long.parseLong(parameter.getValue()));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * A resolved format with its signed URL.
+   */
+  public static class CachedUrl {
+    public final YoutubeTrackFormat format;
+    public final URI signedUrl;
+    public final long expiresAt;
+
+    private CachedUrl(YoutubeTrackFormat format, URI signedUrl, long expiresAt) {
+      this.format = format;
+      this.signedUrl = signedUrl;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
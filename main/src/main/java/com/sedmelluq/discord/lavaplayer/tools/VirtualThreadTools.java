@@ -0,0 +1,86 @@
+package com.sedmelluq.discord.lavaplayer.tools;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access to virtual threads of JDK 21+ through reflection, as the library itself targets Java 8.
+ */
+public class VirtualThreadTools {
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadTools.class);
+
+  private static final Method ofVirtualMethod;
+  private static final Method builderNameMethod;
+  private static final Method builderFactoryMethod;
+  private static final Method newThreadPerTaskExecutorMethod;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    } catch (ReflectiveOperationException e) {
+      log.debug("Virtual threads are not supported by this JVM.");
+      ofVirtual = null;
+      newThreadPerTaskExecutor = null;
+    }
+
+    ofVirtualMethod = ofVirtual;
+    builderNameMethod = builderName;
+    builderFactoryMethod = builderFactory;
+    newThreadPerTaskExecutorMethod = newThreadPerTaskExecutor;
+  }
+
+  /**
+   * @return True if the current JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return ofVirtualMethod != null;
+  }
+
+  /**
+   * @param name Name prefix for the created threads, the thread index is appended to it
+   * @return Factory which creates virtual threads
+   * @throws IllegalStateException If virtual threads are not supported by this JVM
+   */
+  public static ThreadFactory createThreadFactory(String name) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Virtual threads require JDK 21 or newer.");
+    }
+
+    try {
+      Object builder = ofVirtualMethod.invoke(null);
+      builder = builderNameMethod.invoke(builder, "lava-virtual-" + name + "-", 1L);
+      return (ThreadFactory) builderFactoryMethod.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create a virtual thread factory.", e);
+    }
+  }
+
+  /**
+   * @param name Name prefix for the created threads, the thread index is appended to it
+   * @return Executor which starts a new virtual thread for each task
+   * @throws IllegalStateException If virtual threads are not supported by this JVM
+   */
+  public static ExecutorService createPerTaskExecutor(String name) {
+    ThreadFactory threadFactory = createThreadFactory(name);
+
+    try {
+      return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create a virtual thread executor.", e);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A stream which can provide its data as views of the memory it is already in, so that readers which only need to pass
+ * the data on to a decoder do not have to copy it into a buffer of their own.
+ */
+public interface ByteBufferReadable {
+  /**
+   * Reads the next bytes of the stream as a read-only view, advancing the position of the stream past them. The view
+   * stays valid after the stream has moved on, but only until the stream is closed: the memory behind it may be
+   * released then, and accessing the view after that is not allowed.
+   *
+   * @param length Number of bytes to read
+   * @return Direct buffer with the bytes between its position and limit
+   * @throws IOException If the stream has less than the requested number of bytes left
+   */
+  ByteBuffer readBuffer(int length) throws IOException;
+}
@@ -0,0 +1,71 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import com.sedmelluq.lava.common.tools.ExecutorTools;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-ahead for {@link PersistentHttpStream}, which fetches the content of streams ahead of their readers as byte
+ * range chunks on separate threads. A network stall then only blocks the reader once the chunks fetched before it have
+ * been used up, and seeks a short distance backwards are served from the chunks retained behind the reader instead of
+ * reconnecting. Streams only use it when the length of their content is known.
+ */
+public class HttpReadAhead {
+  public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+  public static final int DEFAULT_CHUNK_COUNT = 4;
+
+  private static final int MAXIMUM_POOL_SIZE = 20;
+
+  private final HttpInterfaceManager interfaceManager;
+  private final ExecutorService executor;
+  private final int chunkSize;
+  private final int chunkCount;
+
+  /**
+   * @param interfaceManager HTTP interface manager to use for fetching the chunks
+   */
+  public HttpReadAhead(HttpInterfaceManager interfaceManager) {
+    this(interfaceManager, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+  }
+
+  /**
+   * @param interfaceManager HTTP interface manager to use for fetching the chunks
+   * @param chunkSize Size of one range request in bytes
+   * @param chunkCount Number of chunks to fetch ahead of the reader of a stream, including the one it is reading
+   */
+  public HttpReadAhead(HttpInterfaceManager interfaceManager, int chunkSize, int chunkCount) {
+    if (chunkSize <= 0 || chunkCount <= 0) {
+      throw new IllegalArgumentException("Chunk size and count must be positive.");
+    }
+
+    this.interfaceManager = interfaceManager;
+    this.chunkSize = chunkSize;
+    this.chunkCount = chunkCount;
+    this.executor = ExecutorTools.createEagerlyScalingExecutor(1, MAXIMUM_POOL_SIZE, TimeUnit.SECONDS.toMillis(30),
+        Integer.MAX_VALUE, new DaemonThreadFactory("read-ahead"));
+  }
+
+  /**
+   * Stops the threads fetching chunks. Streams waiting for a chunk fail over to reading the content directly.
+   */
+  public void shutdown() {
+    ExecutorTools.shutdownExecutor(executor, "HTTP read-ahead");
+  }
+
+  HttpInterfaceManager getInterfaceManager() {
+    return interfaceManager;
+  }
+
+  ExecutorService getExecutor() {
+    return executor;
+  }
+
+  int getChunkSize() {
+    return chunkSize;
+  }
+
+  int getChunkCount() {
+    return chunkCount;
+  }
+}
@@ -0,0 +1,196 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools.isRetriableNetworkException;
+import static com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools.isSuccessWithContent;
+
+/**
+ * The chunks of one stream fetched by {@link HttpReadAhead}. Apart from the fetch tasks, only used from the thread
+ * reading the stream.
+ */
+class HttpReadAheadChunks {
+  private static final Logger log = LoggerFactory.getLogger(HttpReadAheadChunks.class);
+
+  private static final int RETAINED_CHUNKS = 2;
+  private static final long SHUTDOWN_CHECK_INTERVAL = 1000;
+
+  private final HttpReadAhead readAhead;
+  private final PersistentHttpStream stream;
+  private final long chunkSize;
+  private final Map<Long, Future<byte[]>> chunks;
+  private byte[] currentData;
+  private long currentStart;
+
+  HttpReadAheadChunks(HttpReadAhead readAhead, PersistentHttpStream stream) {
+    this.readAhead = readAhead;
+    this.stream = stream;
+    this.chunkSize = readAhead.getChunkSize();
+    this.chunks = new TreeMap<>();
+  }
+
+  int read(long position, long contentLength) throws IOException {
+    if (position >= contentLength) {
+      return -1;
+    }
+
+    byte[] data = getChunk(position, contentLength);
+    return data[(int) (position - currentStart)] & 0xFF;
+  }
+
+  int read(long position, long contentLength, byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    } else if (position >= contentLength) {
+      return -1;
+    }
+
+    byte[] data = getChunk(position, contentLength);
+    int chunkOffset = (int) (position - currentStart);
+    int count = Math.min(length, data.length - chunkOffset);
+
+    System.arraycopy(data, chunkOffset, buffer, offset, count);
+    return count;
+  }
+
+  int available(long position) {
+    if (isInCurrentChunk(position)) {
+      return (int) (currentStart + currentData.length - position);
+    } else {
+      return 0;
+    }
+  }
+
+  void close() {
+    for (Future<byte[]> chunk : chunks.values()) {
+      chunk.cancel(true);
+    }
+
+    chunks.clear();
+    currentData = null;
+  }
+
+  private boolean isInCurrentChunk(long position) {
+    return currentData != null && position >= currentStart && position < currentStart + currentData.length;
+  }
+
+  private byte[] getChunk(long position, long contentLength) throws IOException {
+    if (!isInCurrentChunk(position)) {
+      long index = position / chunkSize;
+
+      try {
+        updateChunks(index, contentLength);
+      } catch (RejectedExecutionException e) {
+        throw new IOException("Read-ahead has been shut down.", e);
+      }
+
+      currentData = awaitChunk(chunks.get(index));
+      currentStart = index * chunkSize;
+    }
+
+    return currentData;
+  }
+
+  private void updateChunks(long index, long contentLength) {
+    long lastIndex = Math.min(index + readAhead.getChunkCount(), (contentLength + chunkSize - 1) / chunkSize) - 1;
+    Iterator<Map.Entry<Long, Future<byte[]>>> iterator = chunks.entrySet().iterator();
+
+    while (iterator.hasNext()) {
+      Map.Entry<Long, Future<byte[]>> entry = iterator.next();
+
+      if (entry.getKey() < index - RETAINED_CHUNKS || entry.getKey() > lastIndex) {
+        entry.getValue().cancel(true);
+        iterator.remove();
+      }
+    }
+
+    for (long i = index; i <= lastIndex; i++) {
+      if (!chunks.containsKey(i)) {
+        long start = i * chunkSize;
+        int length = (int) Math.min(chunkSize, contentLength - start);
+
+        chunks.put(i, readAhead.getExecutor().submit(() -> fetchChunk(start, length)));
+      }
+    }
+  }
+
+  private byte[] awaitChunk(Future<byte[]> chunk) throws IOException {
+    if (!chunk.isDone()) {
+      stream.notifyInputWait();
+    }
+
+    try {
+      while (true) {
+        try {
+          return chunk.get(SHUTDOWN_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+          // Tasks still in the queue when the executor is shut down never complete.
+          if (readAhead.getExecutor().isShutdown()) {
+            throw new IOException("Read-ahead has been shut down.");
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a read-ahead chunk.");
+    } catch (CancellationException e) {
+      throw new IOException("Read-ahead chunk was cancelled.", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to fetch a read-ahead chunk.", e.getCause());
+    }
+  }
+
+  private byte[] fetchChunk(long start, int length) throws IOException {
+    try {
+      return fetchChunkOnce(start, length);
+    } catch (IOException e) {
+      if (!isRetriableNetworkException(e)) {
+        throw e;
+      }
+
+      log.debug("Retrying chunk at {} of url {} after a network error.", start, stream.contentUrl, e);
+      return fetchChunkOnce(start, length);
+    }
+  }
+
+  private byte[] fetchChunkOnce(long start, int length) throws IOException {
+    try (HttpInterface httpInterface = readAhead.getInterfaceManager().getInterface();
+         CloseableHttpResponse response = httpInterface.execute(stream.createRangeRequest(start, start + length - 1))) {
+
+      int statusCode = response.getStatusLine().getStatusCode();
+      HttpEntity entity = response.getEntity();
+
+      if (!isSuccessWithContent(statusCode) || entity == null) {
+        throw new IOException("Range request returned status code " + statusCode + ".");
+      } else if (entity.getContentLength() >= 0 && entity.getContentLength() != length) {
+        // The server ignored the range and returned the whole content.
+        throw new IOException("Range request returned " + entity.getContentLength() + " bytes instead of " + length
+            + ".");
+      }
+
+      byte[] data = new byte[length];
+
+      try (InputStream content = entity.getContent()) {
+        IOUtils.readFully(content, data);
+      }
+
+      return data;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+/**
+ * Listener for reads from a {@link PersistentHttpStream}. Always called from the thread which reads the stream.
+ */
+public interface HttpStreamReadListener {
+  /**
+   * Called right before the reading thread blocks waiting for data from the network.
+   */
+  void onInputWait();
+
+  /**
+   * @param count Number of bytes read from the stream
+   */
+  void onBytesRead(long count);
+}
@@ -6,6 +6,7 @@ import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
@@ -15,6 +16,7 @@ import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +37,8 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
   private int lastStatusCode;
   private CloseableHttpResponse currentResponse;
   private InputStream currentContent;
+  private HttpReadAheadChunks readAheadChunks;
+  private HttpStreamReadListener readListener;
   protected long position;
 
   /**
@@ -64,6 +68,13 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     return lastStatusCode;
   }
 
+  /**
+   * @return The status code of the last response received from the URL, 0 if it has not been requested yet.
+   */
+  public int getLastStatusCode() {
+    return lastStatusCode;
+  }
+
   /**
    * @return An HTTP response if one is currently open.
    */
@@ -71,6 +82,46 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     return currentResponse;
   }
 
+  /**
+   * @param readAhead Read-ahead to fetch the content with while its length is known, null to read it sequentially from
+   *                  one response
+   */
+  public void setReadAhead(HttpReadAhead readAhead) {
+    closeReadAhead();
+    readAheadChunks = readAhead != null ? new HttpReadAheadChunks(readAhead, this) : null;
+  }
+
+  /**
+   * @param readListener Listener for reads from this stream, null for none. Tracks pass the one of their executor, which
+   *                     counts the bytes for the track metrics and gives up the decoding slot while waiting for input.
+   */
+  public void setReadListener(HttpStreamReadListener readListener) {
+    this.readListener = readListener;
+  }
+
+  void notifyInputWait() {
+    if (readListener != null) {
+      readListener.onInputWait();
+    }
+  }
+
+  private void notifyBytesRead(long count) {
+    if (readListener != null && count > 0) {
+      readListener.onBytesRead(count);
+    }
+  }
+
+  /**
+   * @param start Offset of the first byte of the range
+   * @param end Offset of the last byte of the range, inclusive
+   * @return Request for a range of the content, used for fetching read-ahead chunks
+   */
+  protected HttpUriRequest createRangeRequest(long start, long end) {
+    HttpGet request = new HttpGet(contentUrl);
+    request.setHeader(HttpHeaders.RANGE, "bytes=" + start + "-" + end);
+    return request;
+  }
+
   protected URI getConnectUrl() {
     return contentUrl;
   }
@@ -110,6 +161,7 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
   }
 
   private boolean attemptConnect(boolean skipStatusCheck, boolean retryOnServerError) throws IOException {
+    notifyInputWait();
     currentResponse = httpInterface.execute(getConnectRequest());
     lastStatusCode = currentResponse.getStatusLine().getStatusCode();
 
@@ -150,9 +202,11 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     connect(false);
 
     try {
+      notifyIfBlocking();
       int result = currentContent.read();
       if (result >= 0) {
         position++;
+        notifyBytesRead(1);
       }
       return result;
     } catch (IOException e) {
@@ -161,8 +215,29 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     }
   }
 
+  private void notifyIfBlocking() throws IOException {
+    // Nothing buffered means waiting for the network.
+    if (currentContent.available() == 0) {
+      notifyInputWait();
+    }
+  }
+
   @Override
   public int read() throws IOException {
+    if (isReadingAhead()) {
+      try {
+        int result = readAheadChunks.read(position, contentLength);
+
+        if (result >= 0) {
+          advanceReadAhead(1);
+        }
+
+        return result;
+      } catch (IOException e) {
+        handleReadAheadException(e);
+      }
+    }
+
     return internalRead(true);
   }
 
@@ -170,9 +245,11 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     connect(false);
 
     try {
+      notifyIfBlocking();
       int result = currentContent.read(b, off, len);
       if (result >= 0) {
         position += result;
+        notifyBytesRead(result);
       }
       return result;
     } catch (IOException e) {
@@ -183,6 +260,20 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   @Override
   public int read(byte[] b, int off, int len) throws IOException {
+    if (isReadingAhead()) {
+      try {
+        int result = readAheadChunks.read(position, contentLength, b, off, len);
+
+        if (result > 0) {
+          advanceReadAhead(result);
+        }
+
+        return result;
+      } catch (IOException e) {
+        handleReadAheadException(e);
+      }
+    }
+
     return internalRead(b, off, len, true);
   }
 
@@ -190,9 +281,11 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
     connect(false);
 
     try {
+      notifyIfBlocking();
       long result = currentContent.skip(n);
       if (result >= 0) {
         position += result;
+        notifyBytesRead(result);
       }
       return result;
     } catch (IOException e) {
@@ -203,6 +296,13 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   @Override
   public long skip(long n) throws IOException {
+    if (isReadingAhead()) {
+      // Nothing has to be read for skipping, the chunks after the new position are fetched when reading from there.
+      long skipped = Math.max(0, Math.min(n, contentLength - position));
+      position += skipped;
+      return skipped;
+    }
+
     return internalSkip(n, true);
   }
 
@@ -219,6 +319,10 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   @Override
   public int available() throws IOException {
+    if (isReadingAhead()) {
+      return readAheadChunks.available(position);
+    }
+
     return internalAvailable(true);
   }
 
@@ -234,6 +338,14 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   @Override
   public void close() throws IOException {
+    closeResponse();
+
+    if (readAheadChunks != null) {
+      readAheadChunks.close();
+    }
+  }
+
+  private void closeResponse() {
     if (currentResponse != null) {
       try {
         currentResponse.close();
@@ -269,11 +381,39 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
 
   @Override
   protected void seekHard(long position) throws IOException {
-    close();
+    // Read-ahead chunks stay, so that a seek back to a retained chunk does not have to fetch it again.
+    closeResponse();
 
     this.position = position;
   }
 
+  private boolean isReadingAhead() {
+    return readAheadChunks != null && contentLength != Units.CONTENT_LENGTH_UNKNOWN;
+  }
+
+  private void advanceReadAhead(int count) {
+    // A response opened before, for example for checking the status code, is not at this position anymore.
+    closeResponse();
+    position += count;
+    notifyBytesRead(count);
+  }
+
+  private void handleReadAheadException(IOException exception) throws IOException {
+    if (exception instanceof InterruptedIOException) {
+      throw exception;
+    }
+
+    log.debug("Read-ahead failed on url {}, reading it sequentially instead.", contentUrl, exception);
+    closeReadAhead();
+  }
+
+  private void closeReadAhead() {
+    if (readAheadChunks != null) {
+      readAheadChunks.close();
+      readAheadChunks = null;
+    }
+  }
+
   @Override
   public boolean canSeekHard() {
     return contentLength != Units.CONTENT_LENGTH_UNKNOWN;
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.track;
 
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
 
 /**
@@ -21,6 +22,12 @@ public abstract class DelegatedAudioTrack extends BaseAudioTrack {
 
     this.delegate = delegate;
 
+    AudioTrackMetrics metrics = localExecutor.getMetrics();
+
+    if (metrics != null) {
+      metrics.setContainerName(delegate.getClass().getSimpleName());
+    }
+
     delegate.assignExecutor(localExecutor, false);
     delegate.process(localExecutor);
   }
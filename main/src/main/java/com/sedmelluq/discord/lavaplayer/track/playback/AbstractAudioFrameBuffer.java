@@ -1,13 +1,23 @@
 package com.sedmelluq.discord.lavaplayer.track.playback;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Common parts of a frame buffer which are not likely to depend on the specific implementation.
+ * Common parts of a frame buffer which are not likely to depend on the specific implementation. Uses a lock instead of
+ * a monitor, so that blocking in the buffer does not pin the carrier thread when running on virtual threads.
  */
 public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
   protected final AudioDataFormat format;
+  /**
+   * @deprecated Not used by the buffers anymore, synchronizing on it does not exclude any buffer operations. Use
+   *             {@link #lock} instead.
+   */
+  @Deprecated
   protected final Object synchronizer;
+  protected final ReentrantLock lock;
+  protected final Condition condition;
   protected volatile boolean locked;
   protected volatile boolean receivedFrames;
   protected boolean terminated;
@@ -17,6 +27,8 @@ public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
   protected AbstractAudioFrameBuffer(AudioDataFormat format) {
     this.format = format;
     this.synchronizer = new Object();
+    this.lock = new ReentrantLock();
+    this.condition = lock.newCondition();
     locked = false;
     receivedFrames = false;
     terminated = false;
@@ -26,16 +38,22 @@ public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
 
   @Override
   public void waitForTermination() throws InterruptedException {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       while (!terminated) {
-        synchronizer.wait();
+        condition.await();
       }
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public void setTerminateOnEmpty() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       // Count this also as inserting the terminator frame, hence trigger clearOnInsert
       if (clearOnInsert) {
         clear();
@@ -46,14 +64,20 @@ public abstract class AbstractAudioFrameBuffer implements AudioFrameBuffer {
         terminateOnEmpty = true;
         signalWaiters();
       }
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public void setClearOnInsert() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       clearOnInsert = true;
       terminateOnEmpty = false;
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -143,12 +143,16 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   public Long getLastInputTimecode() {
     Long lastTimecode = null;
 
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (!clearOnInsert) {
         for (AudioFrame frame : audioFrames) {
           lastTimecode = frame.getTimecode();
         }
       }
+    } finally {
+      lock.unlock();
     }
 
     return lastTimecode;
@@ -180,13 +184,17 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   }
 
   private AudioFrame fetchPendingTerminator() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (terminateOnEmpty) {
         terminateOnEmpty = false;
         terminated = true;
-        synchronizer.notifyAll();
+        condition.signalAll();
         return TerminatorAudioFrame.INSTANCE;
       }
+    } finally {
+      lock.unlock();
     }
 
     return null;
@@ -0,0 +1,472 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Audio frame buffer for exactly one producing thread (the one executing the track) and one consuming thread (the one
+ * requesting frames from the player). Uses the same ring buffer layout as {@link NonAllocatingAudioFrameBuffer}, but
+ * instead of a lock, the positions of the producer and the consumer are published through atomic frame indices. A
+ * waiting producer or consumer is parked and unparked by the other side.
+ *
+ * Only the consuming side is free of locks: taking frames and clearing the buffer, which may also happen from other
+ * threads, only advance the consumer position with a CAS and discard a copied frame if a clear moved the position in
+ * the meantime. The producing side is not: storing frames, rebuilding them and setting the terminate and clear flags
+ * are serialised by a spin lock which yields while it is taken. The producer holds it while storing a frame and gives
+ * it up while it waits for room, so a rebuild or a flag change from another thread waits for at most one store, and
+ * the producer waits for at most one rebuild.
+ */
+public class AtomicIndexAudioFrameBuffer implements AudioFrameBuffer {
+  private static final Logger log = LoggerFactory.getLogger(AtomicIndexAudioFrameBuffer.class);
+
+  private final AudioDataFormat format;
+  private final AtomicBoolean stopping;
+  private final int worstCaseFrameCount;
+  private final long[] timecodes;
+  private final int[] volumes;
+  private final int[] offsets;
+  private final int[] lengths;
+  private final byte[] frameBuffer;
+  private final AtomicLong head;
+  private final AtomicLong tail;
+  private final AtomicBoolean terminateOnEmpty;
+  private final AtomicBoolean clearOnInsert;
+  private final AtomicBoolean writing;
+  private volatile Thread waitingProducer;
+  private volatile Thread waitingConsumer;
+  private volatile Thread terminationWaiter;
+  private volatile boolean terminated;
+  private volatile boolean locked;
+  private volatile boolean receivedFrames;
+  private int writeOffset;
+  private MutableAudioFrame bridgeFrame;
+
+  /**
+   * @param bufferDuration The length of the internal buffer in milliseconds
+   * @param format The format of the frames held in this buffer
+   * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
+   */
+  public AtomicIndexAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
+    int maximumFrameCount = bufferDuration / (int) format.frameDuration() + 1;
+    this.format = format;
+    this.stopping = stopping;
+    this.timecodes = new long[maximumFrameCount];
+    this.volumes = new int[maximumFrameCount];
+    this.offsets = new int[maximumFrameCount];
+    this.lengths = new int[maximumFrameCount];
+    this.frameBuffer = new byte[format.expectedChunkSize() * maximumFrameCount];
+    this.worstCaseFrameCount = frameBuffer.length / format.maximumChunkSize();
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+    this.terminateOnEmpty = new AtomicBoolean();
+    this.clearOnInsert = new AtomicBoolean();
+    this.writing = new AtomicBoolean();
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    long currentTail = tail.get();
+    long currentHead = head.get();
+
+    if (currentHead >= currentTail) {
+      return worstCaseFrameCount;
+    }
+
+    int bufferHead = offsets[slot(currentHead)];
+    int bufferTail = offsets[slot(currentTail - 1)] + lengths[slot(currentTail - 1)];
+    int maximumFrameSize = format.maximumChunkSize();
+
+    if (bufferHead < bufferTail) {
+      return (frameBuffer.length - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize;
+    } else {
+      return (bufferHead - bufferTail) / maximumFrameSize;
+    }
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return worstCaseFrameCount;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) throws InterruptedException {
+    // Same as in the other buffers, guarantees that stopped tracks cannot get stuck in this method.
+    if (stopping != null && stopping.get()) {
+      throw new InterruptedException();
+    }
+
+    if (locked) {
+      return;
+    }
+
+    receivedFrames = true;
+    acquireWriting();
+
+    try {
+      if (clearOnInsert.compareAndSet(true, false)) {
+        clear();
+      }
+
+      while (!attemptStore(frame)) {
+        waitingProducer = Thread.currentThread();
+
+        try {
+          // Check again after publishing the waiting thread, the consumer may have made room in the meantime.
+          if (attemptStore(frame)) {
+            break;
+          }
+
+          // A rebuild may run while this thread is waiting for room.
+          writing.set(false);
+          LockSupport.park(this);
+          acquireWriting();
+
+          if (Thread.interrupted() || (stopping != null && stopping.get())) {
+            throw new InterruptedException();
+          }
+        } finally {
+          waitingProducer = null;
+        }
+      }
+    } finally {
+      writing.set(false);
+    }
+
+    unpark(waitingConsumer);
+  }
+
+  private void acquireWriting() {
+    // Spin lock of the producing side, held for a bounded amount of work by each of its users.
+    while (!writing.compareAndSet(false, true)) {
+      Thread.yield();
+    }
+  }
+
+  private boolean attemptStore(AudioFrame frame) {
+    long currentTail = tail.get();
+    long currentHead = head.get();
+
+    if (currentTail - currentHead >= timecodes.length) {
+      return false;
+    }
+
+    int frameLength = frame.getDataLength();
+    int frameOffset;
+
+    if (frameLength > frameBuffer.length) {
+      throw new IllegalArgumentException("Frame is too big for buffer.");
+    } else if (currentHead >= currentTail) {
+      frameOffset = writeOffset + frameLength <= frameBuffer.length ? writeOffset : 0;
+    } else {
+      int bufferHead = offsets[slot(currentHead)];
+      int bufferTail = writeOffset;
+
+      if (bufferHead < bufferTail) {
+        if (bufferTail + frameLength <= frameBuffer.length) {
+          frameOffset = bufferTail;
+        } else if (bufferHead >= frameLength) {
+          frameOffset = 0;
+        } else {
+          return false;
+        }
+      } else if (bufferTail + frameLength <= bufferHead) {
+        frameOffset = bufferTail;
+      } else {
+        return false;
+      }
+    }
+
+    int index = slot(currentTail);
+    timecodes[index] = frame.getTimecode();
+    volumes[index] = frame.getVolume();
+    offsets[index] = frameOffset;
+    lengths[index] = frameLength;
+
+    frame.getData(frameBuffer, frameOffset);
+    writeOffset = frameOffset + frameLength;
+
+    tail.set(currentTail + 1);
+    return true;
+  }
+
+  @Override
+  public AudioFrame provide() {
+    if (provide(getBridgeFrame())) {
+      return unwrapBridgeFrame();
+    }
+
+    return null;
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    if (provide(getBridgeFrame(), timeout, unit)) {
+      return unwrapBridgeFrame();
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    while (true) {
+      long currentHead = head.get();
+
+      if (currentHead >= tail.get()) {
+        return providePendingTerminator(targetFrame, currentHead);
+      }
+
+      int index = slot(currentHead);
+      int volume = volumes[index];
+      int offset = offsets[index];
+      int length = lengths[index];
+
+      // The slot may have been reused after a concurrent clear, in which case the CAS below fails anyway.
+      if (offset + length > frameBuffer.length || length > format.maximumChunkSize()) {
+        continue;
+      }
+
+      targetFrame.setTimecode(timecodes[index]);
+      targetFrame.setVolume(volume);
+      targetFrame.setTerminator(false);
+
+      if (volume == 0) {
+        byte[] silence = format.silenceBytes();
+        targetFrame.store(silence, 0, silence.length);
+      } else {
+        targetFrame.store(frameBuffer, offset, length);
+      }
+
+      // If this fails, the buffer was cleared while copying and the copied data may have already been overwritten.
+      if (head.compareAndSet(currentHead, currentHead + 1)) {
+        unpark(waitingProducer);
+        return true;
+      }
+    }
+  }
+
+  private boolean providePendingTerminator(MutableAudioFrame targetFrame, long currentHead) {
+    // Frames are always published before the terminate flag, so check the tail again after seeing the flag.
+    if (terminateOnEmpty.get() && tail.get() <= currentHead && terminateOnEmpty.compareAndSet(true, false)) {
+      terminated = true;
+      targetFrame.setTerminator(true);
+
+      unpark(terminationWaiter);
+      return true;
+    }
+
+    return false;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    long endTime = System.nanoTime() + unit.toNanos(timeout);
+
+    while (!provide(targetFrame)) {
+      waitingConsumer = Thread.currentThread();
+
+      try {
+        if (provide(targetFrame)) {
+          break;
+        }
+
+        long remainingTime = endTime - System.nanoTime();
+
+        if (remainingTime <= 0) {
+          throw new TimeoutException();
+        }
+
+        LockSupport.parkNanos(this, remainingTime);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      } finally {
+        waitingConsumer = null;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public void waitForTermination() throws InterruptedException {
+    terminationWaiter = Thread.currentThread();
+
+    try {
+      while (!terminated) {
+        LockSupport.park(this);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    } finally {
+      terminationWaiter = null;
+    }
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    acquireWriting();
+
+    try {
+      // Count this also as inserting the terminator frame, hence trigger clearOnInsert
+      if (clearOnInsert.compareAndSet(true, false)) {
+        clear();
+      }
+
+      if (!terminated) {
+        terminateOnEmpty.set(true);
+      }
+    } finally {
+      writing.set(false);
+    }
+
+    unpark(waitingConsumer);
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    acquireWriting();
+
+    try {
+      clearOnInsert.set(true);
+      terminateOnEmpty.set(false);
+    } finally {
+      writing.set(false);
+    }
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return clearOnInsert.get();
+  }
+
+  @Override
+  public void clear() {
+    long currentTail = tail.get();
+    long currentHead;
+
+    do {
+      currentHead = head.get();
+    } while (currentHead < currentTail && !head.compareAndSet(currentHead, currentTail));
+
+    unpark(waitingProducer);
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    acquireWriting();
+
+    try {
+      // The consumer must not see the buffer as finished while the frames are out of it.
+      boolean terminate = terminateOnEmpty.getAndSet(false);
+      long currentTail = tail.get();
+      long currentHead;
+      List<AudioFrame> frames;
+
+      // Takes all buffered frames at once, so the consumer cannot get a frame from behind the ones being rebuilt.
+      do {
+        currentHead = head.get();
+        frames = copyFrames(currentHead, currentTail);
+      } while (currentHead < currentTail && !head.compareAndSet(currentHead, currentTail));
+
+      for (int i = 0; i < frames.size(); i++) {
+        frames.set(i, rebuilder.rebuild(frames.get(i)));
+      }
+
+      log.debug("Running rebuilder {} on {} buffered frames.", rebuilder.getClass().getSimpleName(), frames.size());
+
+      for (int i = 0; i < frames.size(); i++) {
+        if (!attemptStore(frames.get(i))) {
+          log.debug("Rebuilt frames did not fit into the buffer, dropped {} of them.", frames.size() - i);
+          break;
+        }
+      }
+
+      if (terminate) {
+        terminateOnEmpty.set(true);
+      }
+    } finally {
+      writing.set(false);
+    }
+
+    unpark(waitingConsumer);
+    unpark(waitingProducer);
+  }
+
+  private List<AudioFrame> copyFrames(long fromIndex, long toIndex) {
+    List<AudioFrame> frames = new ArrayList<>();
+
+    for (long i = fromIndex; i < toIndex; i++) {
+      int index = slot(i);
+      byte[] data = new byte[lengths[index]];
+
+      System.arraycopy(frameBuffer, offsets[index], data, 0, data.length);
+      frames.add(new ImmutableAudioFrame(timecodes[index], data, volumes[index], format));
+    }
+
+    return frames;
+  }
+
+  @Override
+  public void lockBuffer() {
+    locked = true;
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return receivedFrames;
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    long currentTail = tail.get();
+
+    if (!clearOnInsert.get() && head.get() < currentTail) {
+      return timecodes[slot(currentTail - 1)];
+    }
+
+    return null;
+  }
+
+  private int slot(long index) {
+    return (int) (index % timecodes.length);
+  }
+
+  private static void unpark(Thread thread) {
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  private MutableAudioFrame getBridgeFrame() {
+    if (bridgeFrame == null) {
+      bridgeFrame = new MutableAudioFrame();
+      bridgeFrame.setBuffer(ByteBuffer.allocate(format.maximumChunkSize()));
+    }
+
+    return bridgeFrame;
+  }
+
+  private AudioFrame unwrapBridgeFrame() {
+    if (bridgeFrame.isTerminator()) {
+      return TerminatorAudioFrame.INSTANCE;
+    } else {
+      return new ImmutableAudioFrame(bridgeFrame.getTimecode(), bridgeFrame.getData(), bridgeFrame.getVolume(),
+          bridgeFrame.getFormat());
+    }
+  }
+}
@@ -49,6 +49,15 @@ public interface AudioFrameBuffer extends AudioFrameProvider, AudioFrameConsumer
    */
   void lockBuffer();
 
+  /**
+   * Signals that the frames left in the buffer will never be read, for example when the player drops a stopped track
+   * it was using to fill the gap before the next one. Buffers which hold pooled storage release it here and accept no
+   * more incoming frames, others ignore this.
+   */
+  default void discardUnread() {
+    // Nothing to release by default
+  }
+
   /**
    * @return True if this buffer has received any input frames.
    */
@@ -0,0 +1,172 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+/**
+ * Index and offset bookkeeping for frame buffers which keep the data of their frames back to back in one fixed size
+ * storage area used as a ring. Only tracks where each frame is, the buffers themselves copy the data in and out.
+ * Not thread safe, the buffers call it while holding their lock.
+ */
+class AudioFrameRing {
+  private final int storageSize;
+  private final int maximumFrameSize;
+  private final int worstCaseFrameCount;
+  private final int[] offsets;
+  private final int[] lengths;
+  private int firstFrame;
+  private int frameCount;
+
+  /**
+   * @param maximumFrameCount Maximum number of frames in the ring
+   * @param storageSize Size of the storage area in bytes
+   * @param maximumFrameSize Maximum size of one frame in bytes
+   */
+  AudioFrameRing(int maximumFrameCount, int storageSize, int maximumFrameSize) {
+    this.storageSize = storageSize;
+    this.maximumFrameSize = maximumFrameSize;
+    this.worstCaseFrameCount = storageSize / maximumFrameSize;
+    this.offsets = new int[maximumFrameCount];
+    this.lengths = new int[maximumFrameCount];
+  }
+
+  /**
+   * @return Maximum number of frames in the ring
+   */
+  int getMaximumFrameCount() {
+    return offsets.length;
+  }
+
+  /**
+   * @return Number of frames that fit into the storage area even if they all have the maximum size
+   */
+  int getFullCapacity() {
+    return worstCaseFrameCount;
+  }
+
+  /**
+   * @return Number of frames of the maximum size that can still be added
+   */
+  int getRemainingCapacity() {
+    if (frameCount == 0) {
+      return worstCaseFrameCount;
+    }
+
+    int bufferHead = offsets[firstFrame];
+    int bufferTail = getEndOffset(getLastIndex());
+
+    if (bufferHead < bufferTail) {
+      return (storageSize - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize;
+    } else {
+      return (bufferHead - bufferTail) / maximumFrameSize;
+    }
+  }
+
+  /**
+   * @return Number of frames in the ring
+   */
+  int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return Slot index of the oldest frame, only meaningful if the ring is not empty
+   */
+  int getFirstIndex() {
+    return firstFrame;
+  }
+
+  /**
+   * @return Slot index of the newest frame, only meaningful if the ring is not empty
+   */
+  int getLastIndex() {
+    return wrappedIndex(firstFrame + frameCount - 1);
+  }
+
+  /**
+   * @param index Slot index of a frame
+   * @return Offset of the data of the frame in the storage area
+   */
+  int getOffset(int index) {
+    return offsets[index];
+  }
+
+  /**
+   * @param index Slot index of a frame
+   * @return Length of the data of the frame
+   */
+  int getLength(int index) {
+    return lengths[index];
+  }
+
+  /**
+   * Reserves room for a new frame after the newest one.
+   *
+   * @param frameLength Length of the data of the new frame
+   * @return Slot index of the new frame, or -1 if there is no room for it right now
+   */
+  int add(int frameLength) {
+    if (frameCount >= offsets.length) {
+      return -1;
+    }
+
+    int index;
+    int offset;
+
+    if (frameCount == 0) {
+      if (frameLength > storageSize) {
+        throw new IllegalArgumentException("Frame is too big for buffer.");
+      }
+
+      firstFrame = 0;
+      index = 0;
+      offset = 0;
+    } else {
+      int lastFrame = getLastIndex();
+      int bufferHead = offsets[firstFrame];
+      int bufferTail = getEndOffset(lastFrame);
+
+      index = wrappedIndex(lastFrame + 1);
+
+      if (bufferHead < bufferTail) {
+        if (bufferTail + frameLength <= storageSize) {
+          offset = bufferTail;
+        } else if (bufferHead >= frameLength) {
+          offset = 0;
+        } else {
+          return -1;
+        }
+      } else if (bufferTail + frameLength <= bufferHead) {
+        offset = bufferTail;
+      } else {
+        return -1;
+      }
+    }
+
+    offsets[index] = offset;
+    lengths[index] = frameLength;
+    frameCount++;
+    return index;
+  }
+
+  /**
+   * Removes the oldest frame, only valid if the ring is not empty.
+   */
+  void removeFirst() {
+    firstFrame = wrappedIndex(firstFrame + 1);
+    frameCount--;
+  }
+
+  /**
+   * Removes all frames.
+   */
+  void clear() {
+    frameCount = 0;
+  }
+
+  private int getEndOffset(int index) {
+    return offsets[index] + lengths[index];
+  }
+
+  private int wrappedIndex(int index) {
+    int maximumFrameCount = offsets.length;
+    return index >= maximumFrameCount ? index - maximumFrameCount : index;
+  }
+}
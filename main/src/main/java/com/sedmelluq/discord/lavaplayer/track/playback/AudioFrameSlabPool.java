@@ -0,0 +1,64 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers used as frame storage by {@link DirectAudioFrameBuffer}. Slabs are grouped by their size,
+ * which is the same for all buffers with the same duration and format. Slabs which are never returned to the pool are
+ * simply garbage collected, so returning them is an optimization and not a requirement.
+ */
+public class AudioFrameSlabPool {
+  private final int maximumIdleSlabs;
+  private final ConcurrentMap<Integer, Queue<ByteBuffer>> idleSlabs;
+  private final AtomicInteger idleSlabCount;
+
+  /**
+   * @param maximumIdleSlabs Maximum number of unused slabs to keep for reuse
+   */
+  public AudioFrameSlabPool(int maximumIdleSlabs) {
+    this.maximumIdleSlabs = maximumIdleSlabs;
+    this.idleSlabs = new ConcurrentHashMap<>();
+    this.idleSlabCount = new AtomicInteger();
+  }
+
+  /**
+   * @param size Size of the slab in bytes
+   * @return A cleared direct buffer with the specified capacity, either reused from the pool or newly allocated
+   */
+  public ByteBuffer acquire(int size) {
+    Queue<ByteBuffer> queue = idleSlabs.get(size);
+    ByteBuffer slab = queue != null ? queue.poll() : null;
+
+    if (slab != null) {
+      idleSlabCount.decrementAndGet();
+      slab.clear();
+      return slab;
+    }
+
+    return ByteBuffer.allocateDirect(size);
+  }
+
+  /**
+   * @param slab Slab to return to the pool. Must not be used by the caller after this call.
+   */
+  public void release(ByteBuffer slab) {
+    if (idleSlabCount.incrementAndGet() > maximumIdleSlabs) {
+      idleSlabCount.decrementAndGet();
+      return;
+    }
+
+    idleSlabs.computeIfAbsent(slab.capacity(), size -> new ConcurrentLinkedQueue<>()).add(slab);
+  }
+
+  /**
+   * @return Number of unused slabs currently held by the pool
+   */
+  public int getIdleSlabCount() {
+    return idleSlabCount.get();
+  }
+}
@@ -28,6 +28,10 @@ public class AudioProcessingContext {
    * Whether filter factory change is applied to already playing tracks.
    */
   public final boolean filterHotSwapEnabled;
+  /**
+   * Performance metrics of the track, null if metrics are not enabled.
+   */
+  public final AudioTrackMetrics metrics;
 
   /**
    * @param configuration Audio encoding or filtering related configuration
@@ -38,10 +42,25 @@ public class AudioProcessingContext {
   public AudioProcessingContext(AudioConfiguration configuration, AudioFrameBuffer frameBuffer,
                                 AudioPlayerOptions playerOptions, AudioDataFormat outputFormat) {
 
+    this(configuration, frameBuffer, playerOptions, outputFormat, null);
+  }
+
+  /**
+   * @param configuration Audio encoding or filtering related configuration
+   * @param frameBuffer Frame buffer for the produced audio frames
+   * @param playerOptions State of the audio player.
+   * @param outputFormat Output format to use throughout this processing cycle
+   * @param metrics Performance metrics of the track, null if metrics are not enabled
+   */
+  public AudioProcessingContext(AudioConfiguration configuration, AudioFrameBuffer frameBuffer,
+                                AudioPlayerOptions playerOptions, AudioDataFormat outputFormat,
+                                AudioTrackMetrics metrics) {
+
     this.configuration = configuration;
     this.frameBuffer = frameBuffer;
     this.playerOptions = playerOptions;
     this.outputFormat = outputFormat;
     this.filterHotSwapEnabled = configuration.isFilterHotSwapEnabled();
+    this.metrics = metrics;
   }
 }
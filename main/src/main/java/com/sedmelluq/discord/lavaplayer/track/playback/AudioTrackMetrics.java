@@ -0,0 +1,263 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Performance counters of the local execution of one track. Only created when a metrics listener is configured on the
+ * player manager, otherwise the processing context has no metrics and nothing is measured.
+ *
+ * Except for underruns, seek requests and the provided frame count, the counters are only updated from the playback
+ * thread. Those are also written by the threads which take frames from the buffer, clear it or seek, so the counters
+ * among them are atomic. Values read from other threads while the track is playing may therefore be slightly stale.
+ * The listener is notified of the final values from the playback thread itself.
+ *
+ * Decode time is the execution time of the track which is not spent in the filter chain, in the encoder or waiting for
+ * room in the frame buffer, so it also includes reading the input and parsing the container.
+ */
+public class AudioTrackMetrics {
+  private final String sourceName;
+  private final long frameDuration;
+  private volatile String containerName;
+
+  private long executionStart;
+  private long executionNanos;
+  private long pipelineStart;
+  private long pipelineWaitStart;
+  private long pipelineEncodeStart;
+  private long filterNanos;
+  private long encodeNanos;
+  private long bufferWaitNanos;
+  private long bytesRead;
+  private long seekCount;
+  private long seekLatencyNanos;
+  private long maximumSeekLatencyNanos;
+  private boolean seekApplied;
+  private volatile long seekRequestTime;
+  private volatile long frameCount;
+  private final AtomicLong providedFrameCount = new AtomicLong();
+  private final AtomicLong underrunCount = new AtomicLong();
+
+  /**
+   * @param sourceName Name of the source manager of the track
+   * @param containerName Name of the container or format of the track
+   * @param frameDuration Duration of one frame in milliseconds
+   */
+  public AudioTrackMetrics(String sourceName, String containerName, long frameDuration) {
+    this.sourceName = sourceName;
+    this.containerName = containerName;
+    this.frameDuration = frameDuration;
+  }
+
+  /**
+   * @return Name of the source manager of the track
+   */
+  public String getSourceName() {
+    return sourceName;
+  }
+
+  /**
+   * @return Name of the container or format of the track
+   */
+  public String getContainerName() {
+    return containerName;
+  }
+
+  /**
+   * @param containerName Name of the container or format of the track, set once it is detected
+   */
+  public void setContainerName(String containerName) {
+    this.containerName = containerName;
+  }
+
+  /**
+   * @return Duration of one frame in milliseconds
+   */
+  public long getFrameDuration() {
+    return frameDuration;
+  }
+
+  /**
+   * @return Number of frames produced by the track
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return Total time in nanoseconds spent reading and decoding input
+   */
+  public long getDecodeNanos() {
+    return Math.max(0, executionNanos - filterNanos - encodeNanos - bufferWaitNanos);
+  }
+
+  /**
+   * @return Average time in nanoseconds spent reading and decoding input per produced frame
+   */
+  public long getDecodeNanosPerFrame() {
+    long frames = frameCount;
+    return frames > 0 ? getDecodeNanos() / frames : 0;
+  }
+
+  /**
+   * @return Total time in nanoseconds spent in the filter chain, excluding the encoder
+   */
+  public long getFilterNanos() {
+    return filterNanos;
+  }
+
+  /**
+   * @return Total time in nanoseconds spent encoding output frames
+   */
+  public long getEncodeNanos() {
+    return encodeNanos;
+  }
+
+  /**
+   * @return Total time in nanoseconds the playback thread spent waiting for room in the frame buffer
+   */
+  public long getBufferWaitNanos() {
+    return bufferWaitNanos;
+  }
+
+  /**
+   * @return Number of bytes read from the input of the track
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * @return Duration of audio currently in the frame buffer in milliseconds. This is estimated from the number of
+   *         frames added to and taken from the buffer.
+   */
+  public long getBufferedDuration() {
+    return Math.max(0, frameCount - providedFrameCount.get()) * frameDuration;
+  }
+
+  /**
+   * @return Number of times the frame buffer had no frame to provide after the track had started producing frames
+   */
+  public long getUnderrunCount() {
+    return underrunCount.get();
+  }
+
+  /**
+   * @return Number of completed seeks
+   */
+  public long getSeekCount() {
+    return seekCount;
+  }
+
+  /**
+   * @return Total time in nanoseconds from seek requests to the first frame from the new position
+   */
+  public long getSeekLatencyNanos() {
+    return seekLatencyNanos;
+  }
+
+  /**
+   * @return Longest time in nanoseconds from a seek request to the first frame from the new position
+   */
+  public long getMaximumSeekLatencyNanos() {
+    return maximumSeekLatencyNanos;
+  }
+
+  /**
+   * @param bytes Number of bytes read from the input of the track
+   */
+  public void addBytesRead(long bytes) {
+    if (bytes > 0) {
+      bytesRead += bytes;
+    }
+  }
+
+  /**
+   * Called by the audio pipeline before processing a chunk of samples.
+   */
+  public void pipelineStarted() {
+    pipelineStart = System.nanoTime();
+    pipelineWaitStart = bufferWaitNanos;
+    pipelineEncodeStart = encodeNanos;
+  }
+
+  /**
+   * Called by the audio pipeline after processing a chunk of samples.
+   */
+  public void pipelineFinished() {
+    long elapsed = System.nanoTime() - pipelineStart;
+    filterNanos += elapsed - (bufferWaitNanos - pipelineWaitStart) - (encodeNanos - pipelineEncodeStart);
+  }
+
+  /**
+   * @param nanos Time in nanoseconds spent encoding one frame
+   */
+  public void addEncodeTime(long nanos) {
+    encodeNanos += nanos;
+  }
+
+  void executionStarted() {
+    executionStart = System.nanoTime();
+  }
+
+  void executionFinished() {
+    executionNanos += System.nanoTime() - executionStart;
+  }
+
+  void frameConsumed(long waitNanos) {
+    bufferWaitNanos += waitNanos;
+    frameCount++;
+
+    if (seekApplied) {
+      seekApplied = false;
+      long requestTime = seekRequestTime;
+
+      if (requestTime != 0) {
+        long latency = System.nanoTime() - requestTime;
+        seekRequestTime = 0;
+        seekCount++;
+        seekLatencyNanos += latency;
+        maximumSeekLatencyNanos = Math.max(maximumSeekLatencyNanos, latency);
+      }
+    }
+  }
+
+  void bufferWaited(long waitNanos) {
+    bufferWaitNanos += waitNanos;
+  }
+
+  void frameProvided() {
+    providedFrameCount.incrementAndGet();
+  }
+
+  void underrun() {
+    underrunCount.incrementAndGet();
+  }
+
+  void bufferCleared() {
+    providedFrameCount.set(frameCount);
+  }
+
+  void seekRequested() {
+    seekRequestTime = System.nanoTime();
+  }
+
+  void seekApplied() {
+    seekApplied = true;
+  }
+
+  @Override
+  public String toString() {
+    return "AudioTrackMetrics{" +
+        "source=" + sourceName +
+        ", container=" + containerName +
+        ", frames=" + frameCount +
+        ", decodeUsPerFrame=" + TimeUnit.NANOSECONDS.toMicros(getDecodeNanosPerFrame()) +
+        ", filterMs=" + TimeUnit.NANOSECONDS.toMillis(filterNanos) +
+        ", encodeMs=" + TimeUnit.NANOSECONDS.toMillis(encodeNanos) +
+        ", bytesRead=" + bytesRead +
+        ", underruns=" + underrunCount.get() +
+        ", seeks=" + seekCount +
+        '}';
+  }
+}
@@ -0,0 +1,140 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics listener which sums up the metrics of finished tracks per source manager and container. Can be polled
+ * periodically to export the totals to a monitoring system.
+ */
+public class AudioTrackMetricsAggregator implements AudioTrackMetricsListener {
+  private final ConcurrentMap<String, Totals> totals = new ConcurrentHashMap<>();
+
+  @Override
+  public void onTrackEnd(AudioTrack track, AudioTrackMetrics metrics) {
+    String key = metrics.getSourceName() + "/" + metrics.getContainerName();
+    totals.computeIfAbsent(key, k -> new Totals(metrics.getSourceName(), metrics.getContainerName())).add(metrics);
+  }
+
+  /**
+   * @return Totals for each combination of source manager and container which has had any finished tracks
+   */
+  public List<Totals> getTotals() {
+    return new ArrayList<>(totals.values());
+  }
+
+  /**
+   * Sums of the metrics of all finished tracks of one source manager and container.
+   */
+  public static class Totals {
+    private final String sourceName;
+    private final String containerName;
+    private final LongAdder trackCount = new LongAdder();
+    private final LongAdder frameCount = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+    private final LongAdder filterNanos = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder underrunCount = new LongAdder();
+    private final LongAdder seekCount = new LongAdder();
+    private final LongAdder seekLatencyNanos = new LongAdder();
+
+    private Totals(String sourceName, String containerName) {
+      this.sourceName = sourceName;
+      this.containerName = containerName;
+    }
+
+    private void add(AudioTrackMetrics metrics) {
+      trackCount.increment();
+      frameCount.add(metrics.getFrameCount());
+      decodeNanos.add(metrics.getDecodeNanos());
+      filterNanos.add(metrics.getFilterNanos());
+      encodeNanos.add(metrics.getEncodeNanos());
+      bytesRead.add(metrics.getBytesRead());
+      underrunCount.add(metrics.getUnderrunCount());
+      seekCount.add(metrics.getSeekCount());
+      seekLatencyNanos.add(metrics.getSeekLatencyNanos());
+    }
+
+    /**
+     * @return Name of the source manager
+     */
+    public String getSourceName() {
+      return sourceName;
+    }
+
+    /**
+     * @return Name of the container or format
+     */
+    public String getContainerName() {
+      return containerName;
+    }
+
+    /**
+     * @return Number of finished tracks
+     */
+    public long getTrackCount() {
+      return trackCount.sum();
+    }
+
+    /**
+     * @return Number of frames produced
+     */
+    public long getFrameCount() {
+      return frameCount.sum();
+    }
+
+    /**
+     * @return Time in nanoseconds spent reading and decoding input
+     */
+    public long getDecodeNanos() {
+      return decodeNanos.sum();
+    }
+
+    /**
+     * @return Time in nanoseconds spent in filter chains
+     */
+    public long getFilterNanos() {
+      return filterNanos.sum();
+    }
+
+    /**
+     * @return Time in nanoseconds spent encoding output frames
+     */
+    public long getEncodeNanos() {
+      return encodeNanos.sum();
+    }
+
+    /**
+     * @return Number of bytes read from track inputs
+     */
+    public long getBytesRead() {
+      return bytesRead.sum();
+    }
+
+    /**
+     * @return Number of frame buffer underruns
+     */
+    public long getUnderrunCount() {
+      return underrunCount.sum();
+    }
+
+    /**
+     * @return Number of completed seeks
+     */
+    public long getSeekCount() {
+      return seekCount.sum();
+    }
+
+    /**
+     * @return Total time in nanoseconds from seek requests to the first frame from the new position
+     */
+    public long getSeekLatencyNanos() {
+      return seekLatencyNanos.sum();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+/**
+ * Listener for the performance metrics of locally executed tracks. Methods are called from the playback thread of the
+ * track, so they should return quickly.
+ */
+public interface AudioTrackMetricsListener {
+  /**
+   * Called when the local execution of a track starts. The metrics instance keeps being updated until the execution
+   * ends, so it can be used as the source of live gauges such as the buffered duration.
+   *
+   * @param track The track which started executing
+   * @param metrics Metrics of the execution
+   */
+  default void onTrackStart(AudioTrack track, AudioTrackMetrics metrics) {
+    // Nothing by default
+  }
+
+  /**
+   * Called when the local execution of a track ends, whether it finished, was stopped or failed.
+   *
+   * @param track The track which stopped executing
+   * @param metrics Final metrics of the execution
+   */
+  void onTrackEnd(AudioTrack track, AudioTrackMetrics metrics);
+}
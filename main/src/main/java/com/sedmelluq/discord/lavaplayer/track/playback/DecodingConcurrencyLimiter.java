@@ -0,0 +1,89 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of tracks which are decoding at the same time to a fixed number of decoding slots (by default the
+ * number of available processors). A track only holds a slot while it is producing frames: it gives it up whenever its
+ * frame buffer is full, while it waits for input or for the buffer to drain at the end of the track, and reacquires one
+ * when it has room for more frames again. A track which has been holding a slot for longer than the time slice gives it
+ * up at the next frame boundary if other tracks are waiting for one.
+ *
+ * This does not reduce the number of threads: every track still has its own playback thread, which parks while it
+ * waits for a slot. It only bounds how many of those threads compete for the processors at once, so that a burst of
+ * tracks with room in their buffers does not make all of them miss their frame deadlines together. Waiting for a slot
+ * adds park and unpark switches on top of the ones the frame buffers already cause.
+ *
+ * Tracks are not required to be aware of this, the slots are managed by the frame buffer that the track writes to.
+ */
+public class DecodingConcurrencyLimiter {
+  private static final long DEFAULT_TIME_SLICE = 100;
+
+  private final Semaphore slots;
+  private final int slotCount;
+  private final long timeSliceNanos;
+
+  /**
+   * Create a limiter with one decoding slot per available processor.
+   */
+  public DecodingConcurrencyLimiter() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_TIME_SLICE);
+  }
+
+  /**
+   * @param slotCount Maximum number of tracks which are allowed to decode at the same time
+   * @param timeSlice Time in milliseconds after which a track gives up its slot if other tracks are waiting for one
+   */
+  public DecodingConcurrencyLimiter(int slotCount, long timeSlice) {
+    if (slotCount < 1) {
+      throw new IllegalArgumentException("At least one decoding slot is required.");
+    }
+
+    this.slots = new Semaphore(slotCount, true);
+    this.slotCount = slotCount;
+    this.timeSliceNanos = TimeUnit.MILLISECONDS.toNanos(timeSlice);
+  }
+
+  /**
+   * @return Maximum number of tracks which are allowed to decode at the same time
+   */
+  public int getSlotCount() {
+    return slotCount;
+  }
+
+  /**
+   * @return Number of tracks which are currently decoding
+   */
+  public int getActiveCount() {
+    return slotCount - slots.availablePermits();
+  }
+
+  /**
+   * @return Estimated number of tracks which have room in their buffer and are waiting for a decoding slot
+   */
+  public int getWaitingCount() {
+    return slots.getQueueLength();
+  }
+
+  /**
+   * @param frameBuffer The frame buffer a track writes its frames to
+   * @return A frame buffer which delegates to the specified one, but acquires and releases decoding slots of this
+   *         limiter for the thread which writes to it.
+   */
+  public DecodingLimitedAudioFrameBuffer wrap(AudioFrameBuffer frameBuffer) {
+    return new DecodingLimitedAudioFrameBuffer(frameBuffer, this);
+  }
+
+  void acquireSlot() throws InterruptedException {
+    slots.acquire();
+  }
+
+  void releaseSlot() {
+    slots.release();
+  }
+
+  boolean shouldYield(long slotAcquiredTime) {
+    return System.nanoTime() - slotAcquiredTime >= timeSliceNanos && slots.hasQueuedThreads();
+  }
+}
@@ -0,0 +1,142 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Frame buffer which delegates to another frame buffer and manages the decoding slot of the producing thread in a
+ * {@link DecodingConcurrencyLimiter}. The slot state is only touched by the thread which consumes frames into this
+ * buffer, so it does not need any synchronization.
+ */
+public class DecodingLimitedAudioFrameBuffer implements AudioFrameBuffer {
+  private final AudioFrameBuffer delegate;
+  private final DecodingConcurrencyLimiter limiter;
+  private boolean holdingSlot;
+  private long slotAcquiredTime;
+
+  /**
+   * @param delegate The frame buffer to delegate to
+   * @param limiter The limiter to acquire decoding slots from
+   */
+  public DecodingLimitedAudioFrameBuffer(AudioFrameBuffer delegate, DecodingConcurrencyLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  /**
+   * @return The frame buffer this buffer delegates to
+   */
+  public AudioFrameBuffer getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) throws InterruptedException {
+    if (delegate.getRemainingCapacity() == 0 || (holdingSlot && limiter.shouldYield(slotAcquiredTime))) {
+      releaseSlot();
+    }
+
+    delegate.consume(frame);
+
+    if (!holdingSlot) {
+      limiter.acquireSlot();
+      holdingSlot = true;
+      slotAcquiredTime = System.nanoTime();
+    }
+  }
+
+  @Override
+  public void waitForTermination() throws InterruptedException {
+    releaseSlot();
+    delegate.waitForTermination();
+  }
+
+  /**
+   * Release the decoding slot if the producing thread is holding one. Must be called from the producing thread once it
+   * stops writing to this buffer or is about to block waiting for input. The slot is acquired again once the next frame
+   * has been written.
+   */
+  public void releaseSlot() {
+    if (holdingSlot) {
+      holdingSlot = false;
+      limiter.releaseSlot();
+    }
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    delegate.rebuild(rebuilder);
+  }
+
+  @Override
+  public AudioFrame provide() {
+    return delegate.provide();
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    return delegate.provide(timeout, unit);
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    return delegate.provide(targetFrame);
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    return delegate.provide(targetFrame, timeout, unit);
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    return delegate.getRemainingCapacity();
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return delegate.getFullCapacity();
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    delegate.setTerminateOnEmpty();
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    delegate.setClearOnInsert();
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return delegate.hasClearOnInsert();
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public void lockBuffer() {
+    delegate.lockBuffer();
+  }
+
+  @Override
+  public void discardUnread() {
+    delegate.discardUnread();
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return delegate.hasReceivedFrames();
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    return delegate.getLastInputTimecode();
+  }
+}
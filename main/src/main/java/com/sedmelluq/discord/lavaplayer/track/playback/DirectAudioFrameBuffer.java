@@ -0,0 +1,360 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Audio frame buffer implementation which works like {@link NonAllocatingAudioFrameBuffer}, but keeps the frame data
+ * in a direct byte buffer taken from a {@link AudioFrameSlabPool} instead of the heap. The slab is only taken from the
+ * pool once the first frame arrives and is returned to it whenever the buffer becomes empty: when the buffered frames
+ * have all been provided, when the terminator frame has been provided, when the buffer is cleared and when the player
+ * discards the unread frames of a stopped track.
+ *
+ * Frames provided to a {@link MutableAudioFrame} are copied directly from the slab to the buffer of that frame, so when
+ * the target frame uses a direct buffer (for example the one handed to the send system), no heap copies are made.
+ */
+public class DirectAudioFrameBuffer extends AbstractAudioFrameBuffer {
+  private static final Logger log = LoggerFactory.getLogger(DirectAudioFrameBuffer.class);
+
+  private final AudioFrameSlabPool slabPool;
+  private final AtomicBoolean stopping;
+  private final int slabSize;
+  private final AudioFrameRing ring;
+  private final long[] timecodes;
+  private final int[] volumes;
+  private final byte[] transferBuffer;
+  private MutableAudioFrame bridgeFrame;
+
+  private ByteBuffer slab;
+
+  /**
+   * @param bufferDuration The length of the internal buffer in milliseconds
+   * @param format The format of the frames held in this buffer
+   * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
+   * @param slabPool Pool to take the frame data storage from
+   */
+  public DirectAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping,
+                                AudioFrameSlabPool slabPool) {
+
+    super(format);
+    int maximumFrameCount = bufferDuration / (int) format.frameDuration() + 1;
+    this.slabPool = slabPool;
+    this.stopping = stopping;
+    this.slabSize = format.expectedChunkSize() * maximumFrameCount;
+    this.ring = new AudioFrameRing(maximumFrameCount, slabSize, format.maximumChunkSize());
+    this.timecodes = new long[maximumFrameCount];
+    this.volumes = new int[maximumFrameCount];
+    this.transferBuffer = new byte[format.maximumChunkSize()];
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    lock.lock();
+
+    try {
+      return ring.getRemainingCapacity();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return ring.getFullCapacity();
+  }
+
+  @Override
+  public void consume(AudioFrame frame) throws InterruptedException {
+    // Same as in the other buffers, guarantees that stopped tracks cannot get stuck in this method.
+    if (stopping != null && stopping.get()) {
+      throw new InterruptedException();
+    }
+
+    lock.lock();
+
+    try {
+      if (!locked) {
+        receivedFrames = true;
+
+        if (clearOnInsert) {
+          clear();
+          clearOnInsert = false;
+        }
+
+        while (!attemptStore(frame)) {
+          condition.await();
+        }
+
+        condition.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public AudioFrame provide() {
+    lock.lock();
+
+    try {
+      if (provide(getBridgeFrame())) {
+        return unwrapBridgeFrame();
+      }
+
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    lock.lock();
+
+    try {
+      if (provide(getBridgeFrame(), timeout, unit)) {
+        return unwrapBridgeFrame();
+      }
+
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    lock.lock();
+
+    try {
+      if (ring.getFrameCount() == 0) {
+        if (terminateOnEmpty) {
+          popPendingTerminator(targetFrame);
+          condition.signalAll();
+          return true;
+        }
+        return false;
+      } else {
+        popFrame(targetFrame);
+        condition.signalAll();
+        return true;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    long remainingTime = unit.toNanos(timeout);
+
+    lock.lock();
+
+    try {
+      while (ring.getFrameCount() == 0) {
+        if (terminateOnEmpty) {
+          popPendingTerminator(targetFrame);
+          condition.signalAll();
+          return true;
+        }
+
+        if (remainingTime <= 0) {
+          throw new TimeoutException();
+        }
+
+        remainingTime = condition.awaitNanos(remainingTime);
+      }
+
+      popFrame(targetFrame);
+      condition.signalAll();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void popFrame(MutableAudioFrame targetFrame) {
+    int index = ring.getFirstIndex();
+    int volume = volumes[index];
+
+    targetFrame.setTimecode(timecodes[index]);
+    targetFrame.setVolume(volume);
+    targetFrame.setTerminator(false);
+
+    if (volume == 0) {
+      byte[] silence = format.silenceBytes();
+      targetFrame.store(silence, 0, silence.length);
+    } else {
+      int offset = ring.getOffset(index);
+      slab.limit(offset + ring.getLength(index));
+      slab.position(offset);
+      targetFrame.store(slab);
+    }
+
+    ring.removeFirst();
+
+    if (ring.getFrameCount() == 0) {
+      // The next incoming frame takes a slab again, until then the pool can lend this one to another buffer.
+      releaseSlab();
+    }
+  }
+
+  private void popPendingTerminator(MutableAudioFrame frame) {
+    terminateOnEmpty = false;
+    terminated = true;
+
+    frame.setTerminator(true);
+    releaseSlab();
+  }
+
+  private void releaseSlab() {
+    if (slab != null) {
+      slabPool.release(slab);
+      slab = null;
+      ring.clear();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+
+    try {
+      releaseSlab();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void discardUnread() {
+    lock.lock();
+
+    try {
+      locked = true;
+      releaseSlab();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    lock.lock();
+
+    try {
+      List<AudioFrame> frames = new ArrayList<>(ring.getFrameCount());
+
+      while (ring.getFrameCount() > 0) {
+        frames.add(rebuilder.rebuild(copyFrame(ring.getFirstIndex())));
+        ring.removeFirst();
+      }
+
+      log.debug("Running rebuilder {} on {} buffered frames.", rebuilder.getClass().getSimpleName(), frames.size());
+
+      for (int i = 0; i < frames.size(); i++) {
+        if (!attemptStore(frames.get(i))) {
+          log.debug("Rebuilt frames did not fit into the buffer, dropped {} of them.", frames.size() - i);
+          break;
+        }
+      }
+
+      condition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private AudioFrame copyFrame(int index) {
+    int offset = ring.getOffset(index);
+    byte[] data = new byte[ring.getLength(index)];
+
+    slab.limit(offset + data.length);
+    slab.position(offset);
+    slab.get(data);
+
+    return new ImmutableAudioFrame(timecodes[index], data, volumes[index], format);
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    lock.lock();
+
+    try {
+      if (!clearOnInsert && ring.getFrameCount() > 0) {
+        return timecodes[ring.getLastIndex()];
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    return null;
+  }
+
+  private boolean attemptStore(AudioFrame frame) {
+    int frameLength = frame.getDataLength();
+    int index = ring.add(frameLength);
+
+    if (index < 0) {
+      return false;
+    }
+
+    if (slab == null) {
+      // Released whenever the buffer runs empty, which may also happen while a producer waits for room.
+      slab = slabPool.acquire(slabSize);
+    }
+
+    timecodes[index] = frame.getTimecode();
+    volumes[index] = frame.getVolume();
+
+    slab.limit(slabSize);
+    slab.position(ring.getOffset(index));
+
+    if (frame instanceof MutableAudioFrame) {
+      ((MutableAudioFrame) frame).getData(slab);
+    } else {
+      frame.getData(transferBuffer, 0);
+      slab.put(transferBuffer, 0, frameLength);
+    }
+
+    return true;
+  }
+
+  private MutableAudioFrame getBridgeFrame() {
+    if (bridgeFrame == null) {
+      bridgeFrame = new MutableAudioFrame();
+      bridgeFrame.setBuffer(ByteBuffer.allocate(format.maximumChunkSize()));
+    }
+
+    return bridgeFrame;
+  }
+
+  private AudioFrame unwrapBridgeFrame() {
+    if (bridgeFrame.isTerminator()) {
+      return TerminatorAudioFrame.INSTANCE;
+    } else {
+      return new ImmutableAudioFrame(bridgeFrame.getTimecode(), bridgeFrame.getData(), bridgeFrame.getVolume(),
+          bridgeFrame.getFormat());
+    }
+  }
+
+  @Override
+  protected void signalWaiters() {
+    lock.lock();
+
+    try {
+      condition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -3,8 +3,10 @@ package com.sedmelluq.discord.lavaplayer.track.playback;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpStreamReadListener;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackMarker;
@@ -16,6 +18,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +38,16 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   private final AudioProcessingContext processingContext;
   private final boolean useSeekGhosting;
   private final AudioFrameBuffer frameBuffer;
+  private final DecodingLimitedAudioFrameBuffer decodingLimitedBuffer;
+  private final AudioTrackMetrics metrics;
+  private final AudioTrackMetricsListener metricsListener;
+  private final HttpStreamReadListener streamReadListener = new StreamReadListener();
   private final AtomicReference<Thread> playingThread = new AtomicReference<>();
   private final AtomicBoolean queuedStop = new AtomicBoolean(false);
   private final AtomicLong queuedSeek = new AtomicLong(-1);
   private final AtomicLong lastFrameTimecode = new AtomicLong(0);
   private final AtomicReference<AudioTrackState> state = new AtomicReference<>(AudioTrackState.INACTIVE);
-  private final Object actionSynchronizer = new Object();
+  private final ReentrantLock actionSynchronizer = new ReentrantLock();
   private final TrackMarkerTracker markerTracker = new TrackMarkerTracker();
   private long externalSeekPosition = -1;
   private boolean interruptibleForSeek = false;
@@ -57,13 +64,65 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration,
                                  AudioPlayerOptions playerOptions, boolean useSeekGhosting, int bufferDuration) {
 
+    this(audioTrack, configuration, playerOptions, useSeekGhosting, bufferDuration, null);
+  }
+
+  /**
+   * @param audioTrack The audio track that this executor executes
+   * @param configuration Configuration to use for audio processing
+   * @param playerOptions Mutable player options (for example volume).
+   * @param useSeekGhosting Whether to keep providing old frames continuing from the previous position during a seek
+   *                        until frames from the new position arrive.
+   * @param bufferDuration The size of the frame buffer in milliseconds
+   * @param decodingLimiter Limiter of the number of concurrently decoding tracks, null if decoding is not limited
+   */
+  public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration,
+                                 AudioPlayerOptions playerOptions, boolean useSeekGhosting, int bufferDuration,
+                                 DecodingConcurrencyLimiter decodingLimiter) {
+
+    this(audioTrack, configuration, playerOptions, useSeekGhosting, bufferDuration, decodingLimiter, null);
+  }
+
+  /**
+   * @param audioTrack The audio track that this executor executes
+   * @param configuration Configuration to use for audio processing
+   * @param playerOptions Mutable player options (for example volume).
+   * @param useSeekGhosting Whether to keep providing old frames continuing from the previous position during a seek
+   *                        until frames from the new position arrive.
+   * @param bufferDuration The size of the frame buffer in milliseconds
+   * @param decodingLimiter Limiter of the number of concurrently decoding tracks, null if decoding is not limited
+   * @param metricsListener Listener for the performance metrics of the track, null to not measure anything
+   */
+  public LocalAudioTrackExecutor(InternalAudioTrack audioTrack, AudioConfiguration configuration,
+                                 AudioPlayerOptions playerOptions, boolean useSeekGhosting, int bufferDuration,
+                                 DecodingConcurrencyLimiter decodingLimiter, AudioTrackMetricsListener metricsListener) {
+
     this.audioTrack = audioTrack;
     AudioDataFormat currentFormat = configuration.getOutputFormat();
-    this.frameBuffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, queuedStop);
-    this.processingContext = new AudioProcessingContext(configuration, frameBuffer, playerOptions, currentFormat);
+    AudioFrameBuffer buffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, queuedStop);
+    this.decodingLimitedBuffer = decodingLimiter != null ? decodingLimiter.wrap(buffer) : null;
+    buffer = decodingLimitedBuffer != null ? decodingLimitedBuffer : buffer;
+    this.metricsListener = metricsListener;
+    this.metrics = metricsListener != null ? createMetrics(audioTrack, currentFormat) : null;
+    this.frameBuffer = metrics != null ? new MeasuredAudioFrameBuffer(buffer, metrics) : buffer;
+    this.processingContext = new AudioProcessingContext(configuration, frameBuffer, playerOptions, currentFormat,
+        metrics);
     this.useSeekGhosting = useSeekGhosting;
   }
 
+  private static AudioTrackMetrics createMetrics(InternalAudioTrack audioTrack, AudioDataFormat format) {
+    AudioSourceManager sourceManager = audioTrack.getSourceManager();
+    String sourceName = sourceManager != null ? sourceManager.getSourceName() : "unknown";
+    return new AudioTrackMetrics(sourceName, audioTrack.getClass().getSimpleName(), format.frameDuration());
+  }
+
+  /**
+   * @return Performance metrics of the track, null if metrics are not enabled
+   */
+  public AudioTrackMetrics getMetrics() {
+    return metrics;
+  }
+
   public AudioProcessingContext getProcessingContext() {
     return processingContext;
   }
@@ -82,6 +141,14 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     return null;
   }
 
+  /**
+   * @return Listener to set on the HTTP streams this track reads from while playing. It counts the bytes read for the
+   *         track metrics and gives up the decoding slot of the track while it waits for input.
+   */
+  public HttpStreamReadListener getStreamReadListener() {
+    return streamReadListener;
+  }
+
   @Override
   public AudioFrameBuffer getAudioBuffer() {
     return frameBuffer;
@@ -100,6 +167,11 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
       state.set(AudioTrackState.LOADING);
 
+      if (metrics != null) {
+        notifyMetricsListener(true);
+        metrics.executionStarted();
+      }
+
       try {
         audioTrack.process(this);
 
@@ -122,13 +194,26 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
           ExceptionTools.rethrowErrors(e);
         }
       } finally {
-        synchronized (actionSynchronizer) {
+        if (decodingLimitedBuffer != null) {
+          decodingLimitedBuffer.releaseSlot();
+        }
+
+        if (metrics != null) {
+          metrics.executionFinished();
+          notifyMetricsListener(false);
+        }
+
+        actionSynchronizer.lock();
+
+        try {
           interrupt = interrupt != null ? interrupt : findInterrupt(null);
 
           playingThread.compareAndSet(Thread.currentThread(), null);
 
           markerTracker.trigger(ENDED);
           state.set(AudioTrackState.FINISHED);
+        } finally {
+          actionSynchronizer.unlock();
         }
 
         if (interrupt != null) {
@@ -140,9 +225,23 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     }
   }
 
+  private void notifyMetricsListener(boolean start) {
+    try {
+      if (start) {
+        metricsListener.onTrackStart(audioTrack, metrics);
+      } else {
+        metricsListener.onTrackEnd(audioTrack, metrics);
+      }
+    } catch (RuntimeException e) {
+      log.error("Track metrics listener failed for track {}.", audioTrack.getIdentifier(), e);
+    }
+  }
+
   @Override
   public void stop() {
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       Thread thread = playingThread.get();
 
       if (thread != null) {
@@ -153,6 +252,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
       } else {
         log.debug("Tried to stop track {} which is not playing.", audioTrack.getIdentifier());
       }
+    } finally {
+      actionSynchronizer.unlock();
     }
   }
 
@@ -184,7 +285,9 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
    * @return True if there was a thread to interrupt.
    */
   public boolean interrupt() {
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       Thread thread = playingThread.get();
 
       if (thread != null) {
@@ -193,6 +296,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
       }
 
       return false;
+    } finally {
+      actionSynchronizer.unlock();
     }
   }
 
@@ -208,18 +313,26 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
       return;
     }
 
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       if (timecode < 0) {
         timecode = 0;
       }
 
       queuedSeek.set(timecode);
 
+      if (metrics != null) {
+        metrics.seekRequested();
+      }
+
       if (!useSeekGhosting) {
         frameBuffer.clear();
       }
 
       interruptForSeek();
+    } finally {
+      actionSynchronizer.unlock();
     }
   }
 
@@ -297,15 +410,21 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   }
 
   private void setInterruptibleForSeek(boolean state) {
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       interruptibleForSeek = state;
+    } finally {
+      actionSynchronizer.unlock();
     }
   }
 
   private void interruptForSeek() {
     boolean interrupted = false;
 
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       if (interruptibleForSeek) {
         interruptibleForSeek = false;
         Thread thread = playingThread.get();
@@ -315,6 +434,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
           interrupted = true;
         }
       }
+    } finally {
+      actionSynchronizer.unlock();
     }
 
     if (interrupted) {
@@ -380,7 +501,9 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
     long seekPosition;
 
-    synchronized (actionSynchronizer) {
+    actionSynchronizer.lock();
+
+    try {
       seekPosition = queuedSeek.get();
 
       if (seekPosition == -1) {
@@ -389,6 +512,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
       log.debug("Track {} interrupted for seeking to {}.", audioTrack.getIdentifier(), seekPosition);
       applySeekState(seekPosition);
+    } finally {
+      actionSynchronizer.unlock();
     }
 
     if (seekExecutor != null) {
@@ -419,6 +544,10 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
     queuedSeek.set(-1);
     markerTracker.checkSeekTimecode(seekPosition);
+
+    if (metrics != null) {
+      metrics.seekApplied();
+    }
   }
 
   @Override
@@ -491,6 +620,23 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     void performSeek(long position) throws Exception;
   }
 
+  private class StreamReadListener implements HttpStreamReadListener {
+    @Override
+    public void onInputWait() {
+      // The slot state belongs to the playing thread, streams read from elsewhere have no slot to give up.
+      if (decodingLimitedBuffer != null && playingThread.get() == Thread.currentThread()) {
+        decodingLimitedBuffer.releaseSlot();
+      }
+    }
+
+    @Override
+    public void onBytesRead(long count) {
+      if (metrics != null) {
+        metrics.addBytesRead(count);
+      }
+    }
+  }
+
   private enum SeekResult {
     NO_SEEK,
     INTERNAL_SEEK,
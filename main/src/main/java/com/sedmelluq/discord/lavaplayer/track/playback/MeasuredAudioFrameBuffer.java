@@ -0,0 +1,152 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Frame buffer which delegates to another frame buffer and records the time the producer spends waiting for room in
+ * it, the number of frames passing through it and underruns on the consumer side into {@link AudioTrackMetrics}.
+ */
+public class MeasuredAudioFrameBuffer implements AudioFrameBuffer {
+  private final AudioFrameBuffer delegate;
+  private final AudioTrackMetrics metrics;
+  private volatile boolean terminated;
+
+  /**
+   * @param delegate The frame buffer to delegate to
+   * @param metrics The metrics to record into
+   */
+  public MeasuredAudioFrameBuffer(AudioFrameBuffer delegate, AudioTrackMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+  }
+
+  /**
+   * @return The frame buffer this buffer delegates to
+   */
+  public AudioFrameBuffer getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) throws InterruptedException {
+    boolean clearing = delegate.hasClearOnInsert();
+    long start = System.nanoTime();
+
+    delegate.consume(frame);
+
+    if (clearing) {
+      metrics.bufferCleared();
+    }
+
+    metrics.frameConsumed(System.nanoTime() - start);
+  }
+
+  @Override
+  public void waitForTermination() throws InterruptedException {
+    long start = System.nanoTime();
+
+    try {
+      delegate.waitForTermination();
+    } finally {
+      metrics.bufferWaited(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    delegate.rebuild(rebuilder);
+  }
+
+  @Override
+  public AudioFrame provide() {
+    return recordProvided(delegate.provide());
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    return recordProvided(delegate.provide(timeout, unit));
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    return recordProvided(delegate.provide(targetFrame), targetFrame);
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    return recordProvided(delegate.provide(targetFrame, timeout, unit), targetFrame);
+  }
+
+  private AudioFrame recordProvided(AudioFrame frame) {
+    recordProvided(frame != null, frame);
+    return frame;
+  }
+
+  private boolean recordProvided(boolean provided, AudioFrame frame) {
+    if (!provided) {
+      if (!terminated && delegate.hasReceivedFrames()) {
+        metrics.underrun();
+      }
+    } else if (frame.isTerminator()) {
+      terminated = true;
+    } else {
+      metrics.frameProvided();
+    }
+
+    return provided;
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    return delegate.getRemainingCapacity();
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return delegate.getFullCapacity();
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    delegate.setTerminateOnEmpty();
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    delegate.setClearOnInsert();
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return delegate.hasClearOnInsert();
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    metrics.bufferCleared();
+  }
+
+  @Override
+  public void lockBuffer() {
+    delegate.lockBuffer();
+  }
+
+  @Override
+  public void discardUnread() {
+    delegate.discardUnread();
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return delegate.hasReceivedFrames();
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    return delegate.getLastInputTimecode();
+  }
+}
@@ -35,6 +35,19 @@ public class MutableAudioFrame extends AbstractMutableAudioFrame {
     frameLength = length;
   }
 
+  /**
+   * This should be called only by the provider of a frame.
+   *
+   * @param buffer Buffer to copy data from into the internal buffer of this instance. All remaining bytes of the buffer
+   *               are copied, its position is advanced to its limit.
+   */
+  public void store(ByteBuffer buffer) {
+    frameBuffer.position(framePosition);
+    frameBuffer.limit(frameBuffer.capacity());
+    frameLength = buffer.remaining();
+    frameBuffer.put(buffer);
+  }
+
   @Override
   public int getDataLength() {
     return frameLength;
@@ -54,4 +67,23 @@ public class MutableAudioFrame extends AbstractMutableAudioFrame {
     frameBuffer.get(buffer, offset, frameLength);
     frameBuffer.position(previous);
   }
+
+  /**
+   * Before calling this method, the caller should verify that the data fits in the buffer using
+   * {@link #getDataLength()}.
+   *
+   * @param buffer Buffer to write the frame data to, starting from its current position, which is advanced by the
+   *               length of the data.
+   */
+  public void getData(ByteBuffer buffer) {
+    int previousPosition = frameBuffer.position();
+    int previousLimit = frameBuffer.limit();
+
+    frameBuffer.limit(framePosition + frameLength);
+    frameBuffer.position(framePosition);
+    buffer.put(frameBuffer);
+
+    frameBuffer.limit(previousLimit);
+    frameBuffer.position(previousPosition);
+  }
 }
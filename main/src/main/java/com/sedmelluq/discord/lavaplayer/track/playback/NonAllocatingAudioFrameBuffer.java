@@ -15,15 +15,13 @@ import org.slf4j.LoggerFactory;
 public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   private static final Logger log = LoggerFactory.getLogger(NonAllocatingAudioFrameBuffer.class);
 
-  private final int worstCaseFrameCount;
   private final ReferenceMutableAudioFrame[] frames;
   private final ReferenceMutableAudioFrame silentFrame;
   private final AtomicBoolean stopping;
   private MutableAudioFrame bridgeFrame;
 
   private final byte[] frameBuffer;
-  private int firstFrame;
-  private int frameCount;
+  private final AudioFrameRing ring;
 
   /**
    * @param bufferDuration The length of the internal buffer in milliseconds
@@ -36,7 +34,7 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     frames = createFrames(maximumFrameCount, format);
     silentFrame = createSilentFrame(format);
     this.frameBuffer = new byte[format.expectedChunkSize() * maximumFrameCount];
-    worstCaseFrameCount = frameBuffer.length / format.maximumChunkSize();
+    this.ring = new AudioFrameRing(maximumFrameCount, frameBuffer.length, format.maximumChunkSize());
     this.stopping = stopping;
   }
 
@@ -45,23 +43,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
    */
   @Override
   public int getRemainingCapacity() {
-    synchronized (synchronizer) {
-      if (frameCount == 0) {
-        return worstCaseFrameCount;
-      }
-
-      int lastFrame = wrappedFrameIndex(firstFrame + frameCount - 1);
-
-      int bufferHead = frames[firstFrame].getFrameOffset();
-      int bufferTail = frames[lastFrame].getFrameEndOffset();
+    lock.lock();
 
-      int maximumFrameSize = format.maximumChunkSize();
-
-      if (bufferHead < bufferTail) {
-        return (frameBuffer.length - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize;
-      } else {
-        return (bufferHead - bufferTail) / maximumFrameSize;
-      }
+    try {
+      return ring.getRemainingCapacity();
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -70,7 +57,7 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
    */
   @Override
   public int getFullCapacity() {
-    return worstCaseFrameCount;
+    return ring.getFullCapacity();
   }
 
   @Override
@@ -82,7 +69,9 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
       throw new InterruptedException();
     }
 
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (!locked) {
         receivedFrames = true;
 
@@ -92,51 +81,65 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
         }
 
         while (!attemptStore(frame)) {
-          synchronizer.wait();
+          condition.await();
         }
 
-        synchronizer.notifyAll();
+        condition.signalAll();
       }
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public AudioFrame provide() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (provide(getBridgeFrame())) {
         return unwrapBridgeFrame();
       }
 
       return null;
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (provide(getBridgeFrame(), timeout, unit)) {
         return unwrapBridgeFrame();
       }
 
       return null;
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public boolean provide(MutableAudioFrame targetFrame) {
-    synchronized (synchronizer) {
-      if (frameCount == 0) {
+    lock.lock();
+
+    try {
+      if (ring.getFrameCount() == 0) {
         if (terminateOnEmpty) {
           popPendingTerminator(targetFrame);
-          synchronizer.notifyAll();
+          condition.signalAll();
           return true;
         }
         return false;
       } else {
         popFrame(targetFrame);
-        synchronizer.notifyAll();
+        condition.signalAll();
         return true;
       }
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -144,33 +147,35 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
       throws TimeoutException, InterruptedException {
 
-    long currentTime = System.nanoTime();
-    long endTime = currentTime + unit.toMillis(timeout);
+    long remainingTime = unit.toNanos(timeout);
+
+    lock.lock();
 
-    synchronized (synchronizer) {
-      while (frameCount == 0) {
+    try {
+      while (ring.getFrameCount() == 0) {
         if (terminateOnEmpty) {
           popPendingTerminator(targetFrame);
-          synchronizer.notifyAll();
+          condition.signalAll();
           return true;
         }
 
-        synchronizer.wait(endTime - currentTime);
-        currentTime = System.nanoTime();
-
-        if (currentTime >= endTime) {
+        if (remainingTime <= 0) {
           throw new TimeoutException();
         }
+
+        remainingTime = condition.awaitNanos(remainingTime);
       }
 
       popFrame(targetFrame);
-      synchronizer.notifyAll();
+      condition.signalAll();
       return true;
+    } finally {
+      lock.unlock();
     }
   }
 
   private void popFrame(MutableAudioFrame targetFrame) {
-    ReferenceMutableAudioFrame frame = frames[firstFrame];
+    ReferenceMutableAudioFrame frame = frames[ring.getFirstIndex()];
 
     if (frame.getVolume() == 0) {
       silentFrame.setTimecode(frame.getTimecode());
@@ -182,8 +187,7 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     targetFrame.setTerminator(false);
     targetFrame.store(frame.getFrameBuffer(), frame.getFrameOffset(), frame.getDataLength());
 
-    firstFrame = wrappedFrameIndex(firstFrame + 1);
-    frameCount--;
+    ring.removeFirst();
   }
 
   private void popPendingTerminator(MutableAudioFrame frame) {
@@ -195,8 +199,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   public void clear() {
-    synchronized (synchronizer) {
-      frameCount = 0;
+    lock.lock();
+
+    try {
+      ring.clear();
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -207,70 +215,36 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   public Long getLastInputTimecode() {
-    synchronized (synchronizer) {
-      if (!clearOnInsert && frameCount > 0) {
-        return frames[wrappedFrameIndex(firstFrame + frameCount - 1)].getTimecode();
+    lock.lock();
+
+    try {
+      if (!clearOnInsert && ring.getFrameCount() > 0) {
+        return frames[ring.getLastIndex()].getTimecode();
       }
+    } finally {
+      lock.unlock();
     }
 
     return null;
   }
 
   private boolean attemptStore(AudioFrame frame) {
-    if (frameCount >= frames.length) {
-      return false;
-    }
-
     int frameLength = frame.getDataLength();
-    int frameBufferLength = frameBuffer.length;
-
-    if (frameCount == 0) {
-      firstFrame = 0;
+    int index = ring.add(frameLength);
 
-      if (frameLength > frameBufferLength) {
-        throw new IllegalArgumentException("Frame is too big for buffer.");
-      }
-
-      store(frame, 0, 0, frameLength);
-    } else {
-      int lastFrame = wrappedFrameIndex(firstFrame + frameCount - 1);
-      int nextFrame = wrappedFrameIndex(lastFrame + 1);
-
-      int bufferHead = frames[firstFrame].getFrameOffset();
-      int bufferTail = frames[lastFrame].getFrameEndOffset();
-
-      if (bufferHead < bufferTail) {
-        if (bufferTail + frameLength <= frameBufferLength) {
-          store(frame, nextFrame, bufferTail, frameLength);
-        } else if (bufferHead >= frameLength) {
-          store(frame, nextFrame, 0, frameLength);
-        } else {
-          return false;
-        }
-      } else if (bufferTail + frameLength <= bufferHead) {
-        store(frame, nextFrame, bufferTail, frameLength);
-      } else {
-        return false;
-      }
+    if (index < 0) {
+      return false;
     }
 
-    return true;
-  }
-
-  private int wrappedFrameIndex(int index) {
-    int maximumFrameCount = frames.length;
-    return index >= maximumFrameCount ? index - maximumFrameCount : index;
-  }
+    int frameOffset = ring.getOffset(index);
 
-  private void store(AudioFrame frame, int index, int frameOffset, int frameLength) {
     ReferenceMutableAudioFrame targetFrame = frames[index];
     targetFrame.setTimecode(frame.getTimecode());
     targetFrame.setVolume(frame.getVolume());
     targetFrame.setDataReference(frameBuffer, frameOffset, frameLength);
 
     frame.getData(frameBuffer, frameOffset);
-
-    frameCount++;
+    return true;
   }
 
   private MutableAudioFrame getBridgeFrame() {
@@ -312,8 +286,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   protected void signalWaiters() {
-    synchronized (synchronizer) {
-      synchronizer.notifyAll();
+    lock.lock();
+
+    try {
+      condition.signalAll();
+    } finally {
+      lock.unlock();
     }
   }
 }
@@ -0,0 +1,97 @@
+package com.sedmelluq.discord.lavaplayer.player
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.RoutableAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.bandcamp.BandcampAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.beam.BeamAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.getyarn.GetyarnAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.local.LocalAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.nico.NicoAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.soundcloud.SoundCloudAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.twitch.TwitchStreamAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.vimeo.VimeoAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.youtube.YoutubeAudioSourceManager
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SourceRoutingIndexTest extends Specification {
+  @Shared Map<String, AudioSourceManager> managers = [
+      youtube: new YoutubeAudioSourceManager(true),
+      soundcloud: SoundCloudAudioSourceManager.createDefault(),
+      bandcamp: new BandcampAudioSourceManager(),
+      vimeo: new VimeoAudioSourceManager(),
+      twitch: new TwitchStreamAudioSourceManager(),
+      beam: new BeamAudioSourceManager(),
+      getyarn: new GetyarnAudioSourceManager(),
+      nico: new NicoAudioSourceManager('user@example.com', 'password'),
+      http: new HttpAudioSourceManager(MediaContainerRegistry.DEFAULT_REGISTRY),
+      local: new LocalAudioSourceManager(),
+      custom: [getSourceName: { 'custom' }, shutdown: {}] as AudioSourceManager
+  ]
+
+  @Shared List<AudioSourceManager> order = new ArrayList<>(managers.values())
+  @Shared SourceRoutingIndex index = new SourceRoutingIndex(order)
+
+  def cleanupSpec() {
+    managers.values().each { it.shutdown() }
+  }
+
+  @Unroll
+  def "#identifier is routed to the #expected source manager"() {
+    when:
+    List<AudioSourceManager> candidates = index.find(identifier)
+
+    then:
+    // The routed candidates come first in registration order, so the linear probe reaches the same manager first.
+    candidates.find { it instanceof RoutableAudioSourceManager } == managers[expected]
+    candidates == order.findAll { candidates.contains(it) }
+    candidates.containsAll([managers.local, managers.custom])
+
+    where:
+    identifier                                          | expected
+    'ytsearch:never gonna give you up'                  | 'youtube'
+    'ytmsearch:never gonna give you up'                 | 'youtube'
+    'dQw4w9WgXcQ'                                       | 'youtube'
+    'PLFgquLnL59alCl_2TQvOiD5Vgm1hCaGSI'                | 'youtube'
+    'https://www.youtube.com/watch?v=dQw4w9WgXcQ'       | 'youtube'
+    'https://music.youtube.com/watch?v=dQw4w9WgXcQ'     | 'youtube'
+    'youtube.com/watch?v=dQw4w9WgXcQ'                   | 'youtube'
+    'https://youtu.be/dQw4w9WgXcQ'                      | 'youtube'
+    'youtu.be/dQw4w9WgXcQ'                              | 'youtube'
+    'scsearch:lofi'                                     | 'soundcloud'
+    'https://soundcloud.com/artist/track'               | 'soundcloud'
+    'https://m.soundcloud.com/artist/sets/playlist'     | 'soundcloud'
+    'soundcloud.com/artist/likes'                       | 'soundcloud'
+    'https://artist.bandcamp.com/track/song'            | 'bandcamp'
+    'https://bandcamp.com/album/record'                 | 'bandcamp'
+    'https://vimeo.com/123456'                          | 'vimeo'
+    'https://www.twitch.tv/channel'                     | 'twitch'
+    'https://getyarn.io/yarn-clip/abc-def'              | 'getyarn'
+    'https://www.nicovideo.jp/watch/sm123456'           | 'nico'
+    'https://example.com/stream.mp3'                    | 'http'
+    'http://example.com:8000/live'                      | 'http'
+    'icy://radio.example.com:8000/stream'               | 'http'
+  }
+
+  @Unroll
+  def "#identifier only reaches the source managers without routes"() {
+    when:
+    List<AudioSourceManager> candidates = index.find(identifier)
+
+    then:
+    candidates == [managers.local, managers.custom]
+
+    where:
+    identifier << [
+        '/home/user/music/song.mp3',
+        'C:\\music\\song.flac',
+        'music/song.ogg',
+        'some words to search for',
+        'ftp://files.example.com/song.mp3',
+        'notyoutube.com/watch?v=dQw4w9WgXcQ'
+    ]
+  }
+}
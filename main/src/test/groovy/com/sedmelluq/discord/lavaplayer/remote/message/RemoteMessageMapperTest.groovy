@@ -0,0 +1,103 @@
+package com.sedmelluq.discord.lavaplayer.remote.message
+
+import spock.lang.Specification
+
+class RemoteMessageMapperTest extends Specification {
+  RemoteMessageMapper mapper = new RemoteMessageMapper()
+
+  def "frame request survives an encode and decode round trip"() {
+    given:
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+    DataOutputStream output = new DataOutputStream(bytes)
+    mapper.encode(output, new TrackFrameRequestMessage(5, 10, 80, 1000))
+    mapper.endOutput(output)
+
+    when:
+    DataInputStream input = toInput(bytes)
+    TrackFrameRequestMessage message = mapper.decode(input) as TrackFrameRequestMessage
+
+    then:
+    message.executorId == 5
+    message.maximumFrames == 10
+    message.volume == 80
+    message.seekPosition == 1000
+    mapper.decode(input) == null
+  }
+
+  def "message of an unknown type is skipped without consuming the next message"() {
+    given:
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+    DataOutputStream output = new DataOutputStream(bytes)
+    output.writeInt(2 + 3)
+    output.writeByte(200)
+    output.writeByte(1)
+    output.write([1, 2, 3] as byte[])
+    mapper.encode(output, new TrackStoppedMessage(7))
+    mapper.endOutput(output)
+
+    when:
+    DataInputStream input = toInput(bytes)
+    RemoteMessage unknown = mapper.decode(input)
+    TrackStoppedMessage stopped = mapper.decode(input) as TrackStoppedMessage
+
+    then:
+    unknown == UnknownMessage.INSTANCE
+    stopped.executorId == 7
+    mapper.decode(input) == null
+  }
+
+  def "message with an unsupported version is skipped without consuming the next message"() {
+    given:
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+    DataOutputStream output = new DataOutputStream(bytes)
+    output.writeInt(2 + 8)
+    output.writeByte(RemoteMessageType.TRACK_STOPPED.ordinal())
+    output.writeByte(99)
+    output.writeLong(3)
+    mapper.encode(output, new TrackStoppedMessage(7))
+    mapper.endOutput(output)
+
+    when:
+    DataInputStream input = toInput(bytes)
+    RemoteMessage unknown = mapper.decode(input)
+    TrackStoppedMessage stopped = mapper.decode(input) as TrackStoppedMessage
+
+    then:
+    unknown == UnknownMessage.INSTANCE
+    stopped.executorId == 7
+    mapper.decode(input) == null
+  }
+
+  def "receiver without codec versions gets the initial message versions"() {
+    given:
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+    DataOutputStream output = new DataOutputStream(bytes)
+    mapper.encode(output, new NodeStatisticsMessage(1, 2, 0.5f, 0.25f, 0.75f), null)
+
+    when:
+    DataInputStream input = toInput(bytes)
+    input.readInt()
+    input.readByte()
+    int version = input.readByte()
+
+    then:
+    version == 1
+  }
+
+  def "codec versions survive the header format"() {
+    given:
+    CodecVersionsMessage local = CodecVersionsMessage.createLocal()
+
+    when:
+    CodecVersionsMessage parsed = CodecVersionsMessage.fromHeaderValue(local.toHeaderValue())
+
+    then:
+    parsed.versions == local.versions
+    CodecVersionsMessage.fromHeaderValue(null) == null
+    CodecVersionsMessage.fromHeaderValue("1,x") == null
+  }
+
+  private static DataInputStream toInput(ByteArrayOutputStream bytes) {
+    return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+  }
+}
@@ -0,0 +1,162 @@
+package com.sedmelluq.discord.lavaplayer.track.playback
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+@Timeout(30)
+class AtomicIndexAudioFrameBufferTest extends Specification {
+  static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS
+  static final int FRAME_COUNT = 20000
+
+  AtomicIndexAudioFrameBuffer buffer = new AtomicIndexAudioFrameBuffer(200, FORMAT, new AtomicBoolean())
+
+  def "frames from a concurrent producer arrive in order and intact"() {
+    given:
+    Thread producer = startProducer(FRAME_COUNT)
+
+    when:
+    List<String> errors = consumeAndCheck(FRAME_COUNT)
+    producer.join()
+
+    then:
+    errors.empty
+    buffer.provide(outputFrame()) == false
+  }
+
+  def "rebuilding while the producer is running keeps frames in order"() {
+    given:
+    Thread producer = startProducer(FRAME_COUNT)
+    AudioFrameRebuilder rebuilder = { AudioFrame frame ->
+      new ImmutableAudioFrame(frame.timecode, frame.data, 50, frame.format)
+    }
+
+    Thread rebuilding = Thread.startDaemon {
+      while (producer.alive) {
+        buffer.rebuild(rebuilder)
+        Thread.sleep(1)
+      }
+    }
+
+    when:
+    int rebuiltCount = 0
+    List<String> errors = consumeAndCheck(FRAME_COUNT) { MutableAudioFrame frame ->
+      rebuiltCount += frame.volume == 50 ? 1 : 0
+    }
+    producer.join()
+    rebuilding.join()
+
+    then:
+    errors.empty
+    rebuiltCount > 0
+  }
+
+  def "pending frames are discarded by the first insert after clear on insert"() {
+    given:
+    5.times { buffer.consume(createFrame(it)) }
+
+    when:
+    buffer.setClearOnInsert()
+
+    then:
+    buffer.hasClearOnInsert()
+    buffer.lastInputTimecode == null
+
+    when:
+    buffer.consume(createFrame(100))
+    MutableAudioFrame frame = outputFrame()
+
+    then:
+    !buffer.hasClearOnInsert()
+    buffer.provide(frame)
+    frame.timecode == frameTimecode(100)
+    !buffer.provide(outputFrame())
+  }
+
+  def "terminator is provided after the remaining frames"() {
+    given:
+    Thread producer = startProducer(FRAME_COUNT)
+    Thread terminating = Thread.startDaemon {
+      producer.join()
+      buffer.setTerminateOnEmpty()
+    }
+
+    when:
+    List<String> errors = consumeAndCheck(FRAME_COUNT)
+    MutableAudioFrame last = outputFrame()
+    boolean provided = buffer.provide(last, 5, TimeUnit.SECONDS)
+    terminating.join()
+    buffer.waitForTermination()
+
+    then:
+    errors.empty
+    provided
+    last.terminator
+    !buffer.provide(outputFrame())
+  }
+
+  private Thread startProducer(int count) {
+    return Thread.startDaemon {
+      for (int i = 0; i < count; i++) {
+        buffer.consume(createFrame(i))
+      }
+    }
+  }
+
+  private List<String> consumeAndCheck(int count, Closure observer = {}) {
+    List<String> errors = []
+    MutableAudioFrame frame = outputFrame()
+    int expected = 0
+
+    // Keeps consuming after errors, so that the producer is not left waiting for room.
+    while (expected < count) {
+      if (!buffer.provide(frame, 5, TimeUnit.SECONDS)) {
+        errors.add("no frame provided while expecting " + expected)
+        break
+      }
+
+      int index = (int) (frame.timecode / FORMAT.frameDuration())
+
+      if (index != expected) {
+        errors.add("frame " + index + " instead of " + expected)
+      } else if (!Arrays.equals(frame.data, createData(index))) {
+        errors.add("frame " + index + " has corrupted data")
+      }
+
+      observer(frame)
+      expected = index + 1
+    }
+
+    return errors.take(10)
+  }
+
+  private static MutableAudioFrame outputFrame() {
+    MutableAudioFrame frame = new MutableAudioFrame()
+    frame.buffer = ByteBuffer.allocate(FORMAT.maximumChunkSize())
+    return frame
+  }
+
+  private static AudioFrame createFrame(int index) {
+    return new ImmutableAudioFrame(frameTimecode(index), createData(index), 100, FORMAT)
+  }
+
+  private static long frameTimecode(int index) {
+    return index * FORMAT.frameDuration()
+  }
+
+  private static byte[] createData(int index) {
+    // Varying sizes make the frames wrap around the end of the ring at different offsets.
+    byte[] data = new byte[16 + index % 300]
+
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (index + i)
+    }
+
+    return data
+  }
+}
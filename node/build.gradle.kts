@@ -1,5 +1,6 @@
 plugins {
   java
+  groovy
   id("org.springframework.boot") version "2.1.2.RELEASE"
 }
 
@@ -8,6 +9,9 @@ version = "1.2.50"
 dependencies {
   implementation(project(":main"))
   implementation("org.springframework.boot:spring-boot-starter-web:2.1.2.RELEASE")
+
+  testImplementation("org.codehaus.groovy:groovy:2.5.5")
+  testImplementation("org.spockframework:spock-core:1.2-groovy-2.5")
 }
 
 tasks.bootJar {
@@ -0,0 +1,248 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetrics;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackMetricsListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether the node can take new tracks based on how much processing time producing one frame of its tracks
+ * actually takes. The CPU time of the playback thread of each track is sampled against the number of frames it produced,
+ * which gives the share of a processor that the track needs to play in real time. The sum of those over the tracks which
+ * are producing frames, or the CPU usage of the system if that is higher, is the usage of the processors of the node.
+ * When the CPU time of threads cannot be measured, only the time spent in the filters and the encoder is counted.
+ *
+ * New tracks are accepted while the usage with one more average track stays below the degrade threshold, accepted with
+ * a cheaper configuration up to the reject threshold, and rejected beyond that. The headroom left is also reported to
+ * the master in the node statistics.
+ */
+@Component
+public class AdmissionController implements AudioTrackMetricsListener {
+  private static final Logger log = LoggerFactory.getLogger(AdmissionController.class);
+
+  private static final double SMOOTHING = 0.3;
+  private static final long PENDING_EXPIRE_THRESHOLD = TimeUnit.SECONDS.toNanos(3);
+
+  private final StatisticsManager statisticsManager;
+  private final ThreadMXBean threadBean;
+  private final boolean enabled;
+  private final double degradeUsage;
+  private final double rejectUsage;
+  private final int processorCount;
+  private final ConcurrentMap<AudioTrackMetrics, TrackSample> samples;
+  private final ArrayDeque<PendingStart> pendingStarts;
+  private double measuredUsage;
+  private double trackUsage;
+
+  @Autowired
+  public AdmissionController(StatisticsManager statisticsManager,
+                             @Value("${node.admission.enabled:true}") boolean enabled,
+                             @Value("${node.admission.degradeUsage:0.7}") double degradeUsage,
+                             @Value("${node.admission.rejectUsage:0.9}") double rejectUsage) {
+
+    this.statisticsManager = statisticsManager;
+    this.threadBean = ManagementFactory.getThreadMXBean();
+    this.enabled = enabled;
+    this.degradeUsage = degradeUsage;
+    this.rejectUsage = rejectUsage;
+    this.processorCount = Runtime.getRuntime().availableProcessors();
+    this.samples = new ConcurrentHashMap<>();
+    this.pendingStarts = new ArrayDeque<>();
+
+    if (enabled && threadBean.isThreadCpuTimeSupported() && !threadBean.isThreadCpuTimeEnabled()) {
+      threadBean.setThreadCpuTimeEnabled(true);
+    }
+  }
+
+  /**
+   * @return True if admission control is enabled, so the track metrics are needed
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Decides whether a new track can be started. An accepted track counts towards the usage until its own frames have
+   * been measured.
+   *
+   * @return The decision for the new track
+   */
+  public synchronized Admission admitTrack() {
+    if (!enabled) {
+      return Admission.ACCEPT;
+    }
+
+    long now = System.nanoTime();
+    expirePendingStarts(now);
+
+    double projectedUsage = getUsage() + trackUsage;
+    Admission admission;
+
+    if (projectedUsage >= rejectUsage) {
+      admission = Admission.REJECT;
+    } else if (projectedUsage >= degradeUsage) {
+      admission = Admission.DEGRADE;
+    } else {
+      admission = Admission.ACCEPT;
+    }
+
+    if (admission != Admission.REJECT) {
+      pendingStarts.add(new PendingStart(now, trackUsage));
+    }
+
+    log.debug("Admission {} with projected usage {}.", admission, projectedUsage);
+    return admission;
+  }
+
+  /**
+   * @return Share of the processing capacity left after producing the frames of the tracks, negative if not measured
+   */
+  public synchronized float getFrameHeadroom() {
+    return enabled ? (float) Math.max(0.0, 1.0 - getUsage()) : -1.0f;
+  }
+
+  @Override
+  public void onTrackStart(AudioTrack track, AudioTrackMetrics metrics) {
+    if (enabled) {
+      // Called from the playback thread of the track, so this is the thread to measure.
+      long threadId = Thread.currentThread().getId();
+      samples.put(metrics, new TrackSample(threadId, metrics, getProcessingNanos(threadId, metrics)));
+    }
+  }
+
+  @Override
+  public void onTrackEnd(AudioTrack track, AudioTrackMetrics metrics) {
+    samples.remove(metrics);
+  }
+
+  @Scheduled(fixedRate = 1000)
+  private void measureUsage() {
+    if (!enabled) {
+      return;
+    }
+
+    double totalUsage = 0.0;
+    double usageSum = 0.0;
+    int measuredCount = 0;
+    int newlyMeasuredCount = 0;
+
+    for (TrackSample sample : samples.values()) {
+      long frameCount = sample.metrics.getFrameCount();
+      long processingNanos = getProcessingNanos(sample.threadId, sample.metrics);
+      long producedFrames = frameCount - sample.lastFrameCount;
+
+      if (producedFrames > 0 && processingNanos >= sample.lastProcessingNanos) {
+        long frameNanos = TimeUnit.MILLISECONDS.toNanos(sample.metrics.getFrameDuration());
+        double usage = (double) (processingNanos - sample.lastProcessingNanos) / (producedFrames * frameNanos);
+
+        if (sample.usage < 0) {
+          sample.usage = usage;
+          newlyMeasuredCount++;
+        } else {
+          sample.usage += (usage - sample.usage) * SMOOTHING;
+        }
+
+        totalUsage += sample.usage;
+      }
+
+      if (sample.usage >= 0) {
+        usageSum += sample.usage;
+        measuredCount++;
+      }
+
+      sample.lastFrameCount = frameCount;
+      sample.lastProcessingNanos = processingNanos;
+    }
+
+    synchronized (this) {
+      expirePendingStarts(System.nanoTime());
+      measuredUsage = totalUsage / processorCount;
+      trackUsage = measuredCount > 0 ? usageSum / measuredCount / processorCount : 0.0;
+
+      // Tracks which have started producing frames are now included in the measured usage.
+      for (int i = 0; i < newlyMeasuredCount && !pendingStarts.isEmpty(); i++) {
+        pendingStarts.removeFirst();
+      }
+
+      statisticsManager.updateFrameHeadroom(getFrameHeadroom());
+    }
+  }
+
+  private double getUsage() {
+    double pendingUsage = 0.0;
+
+    for (PendingStart start : pendingStarts) {
+      pendingUsage += start.usage;
+    }
+
+    double systemUsage = statisticsManager.getStatistics().systemCpuUsage;
+    return Math.max(measuredUsage, systemUsage) + pendingUsage;
+  }
+
+  private void expirePendingStarts(long now) {
+    while (!pendingStarts.isEmpty() && pendingStarts.peekFirst().time < now - PENDING_EXPIRE_THRESHOLD) {
+      pendingStarts.removeFirst();
+    }
+  }
+
+  private long getProcessingNanos(long threadId, AudioTrackMetrics metrics) {
+    long cpuNanos = threadBean.isThreadCpuTimeSupported() ? threadBean.getThreadCpuTime(threadId) : -1;
+    return cpuNanos >= 0 ? cpuNanos : metrics.getFilterNanos() + metrics.getEncodeNanos();
+  }
+
+  /**
+   * Decision for a new track.
+   */
+  public enum Admission {
+    /**
+     * Start the track with the requested configuration.
+     */
+    ACCEPT,
+    /**
+     * Start the track with a configuration which is cheaper to process.
+     */
+    DEGRADE,
+    /**
+     * Do not start the track, the node has no headroom left for it.
+     */
+    REJECT
+  }
+
+  private static class TrackSample {
+    private final long threadId;
+    private final AudioTrackMetrics metrics;
+    private long lastFrameCount;
+    private long lastProcessingNanos;
+    private double usage;
+
+    private TrackSample(long threadId, AudioTrackMetrics metrics, long processingNanos) {
+      this.threadId = threadId;
+      this.metrics = metrics;
+      this.lastFrameCount = metrics.getFrameCount();
+      this.lastProcessingNanos = processingNanos;
+      this.usage = -1.0;
+    }
+  }
+
+  private static class PendingStart {
+    private final long time;
+    private final double usage;
+
+    private PendingStart(long time, double usage) {
+      this.time = time;
+      this.usage = usage;
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.sedmelluq.discord.lavaplayer.node;
 
 import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.remote.message.CodecVersionsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,21 +20,32 @@ public class NodeController {
   private final MessageHandlerRegistry messageHandlerRegistry;
   private final StatisticsManager statisticsManager;
   private final RemoteMessageMapper mapper;
+  private final CodecVersionsMessage localCodecVersions;
 
   @Autowired
   public NodeController(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager) {
     this.messageHandlerRegistry = messageHandlerRegistry;
     this.statisticsManager = statisticsManager;
     this.mapper = new RemoteMessageMapper();
+    this.localCodecVersions = CodecVersionsMessage.createLocal();
   }
 
   @RequestMapping("/tick")
   public void handeTick(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CodecVersionsMessage masterVersions =
+        CodecVersionsMessage.fromHeaderValue(request.getHeader(CodecVersionsMessage.HEADER_NAME));
+
+    if (masterVersions != null) {
+      response.setHeader(CodecVersionsMessage.HEADER_NAME, localCodecVersions.toHeaderValue());
+    }
+
     DataInputStream input = new DataInputStream(request.getInputStream());
     DataOutputStream output = new DataOutputStream(response.getOutputStream());
     MessageOutput messageOutput = new MessageOutput(mapper, output);
     RemoteMessage message;
 
+    messageOutput.setReceiverVersions(masterVersions);
+
     while ((message = mapper.decode(input)) != null) {
       messageHandlerRegistry.processMessage(message, messageOutput);
     }
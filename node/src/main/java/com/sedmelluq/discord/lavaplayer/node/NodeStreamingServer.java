@@ -0,0 +1,162 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Serves masters which keep a persistent stream open to the node instead of polling the tick endpoint. Messages use the
+ * same encoding as the tick requests, but control messages are applied as soon as they arrive and frames are pushed to
+ * the master as the tracks produce them. Disabled unless node.streaming.port is set.
+ */
+@Component
+public class NodeStreamingServer {
+  private static final Logger log = LoggerFactory.getLogger(NodeStreamingServer.class);
+
+  private static final long FRAME_PUSH_INTERVAL = 10;
+  private static final long STATISTICS_INTERVAL = 1000;
+
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final PlayingTrackManager playingTrackManager;
+  private final StatisticsManager statisticsManager;
+  private final RemoteMessageMapper mapper;
+  private final int port;
+  private final ExecutorService executor;
+  private volatile ServerSocket serverSocket;
+
+  @Autowired
+  public NodeStreamingServer(MessageHandlerRegistry messageHandlerRegistry, PlayingTrackManager playingTrackManager,
+                             StatisticsManager statisticsManager, @Value("${node.streaming.port:0}") int port) {
+
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.playingTrackManager = playingTrackManager;
+    this.statisticsManager = statisticsManager;
+    this.mapper = new RemoteMessageMapper();
+    this.port = port;
+    this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory("node-stream"));
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    if (port > 0) {
+      serverSocket = new ServerSocket(port);
+      executor.submit(this::acceptConnections);
+
+      log.info("Accepting streaming connections on port {}.", port);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (serverSocket != null) {
+      serverSocket.close();
+    }
+
+    executor.shutdownNow();
+  }
+
+  private void acceptConnections() {
+    try {
+      while (!serverSocket.isClosed()) {
+        Socket socket = serverSocket.accept();
+        executor.submit(() -> handleConnection(socket));
+      }
+    } catch (IOException e) {
+      if (!serverSocket.isClosed()) {
+        log.error("Stopped accepting streaming connections due to an error.", e);
+      }
+    }
+  }
+
+  private void handleConnection(Socket socket) {
+    log.info("Streaming connection opened from {}.", socket.getRemoteSocketAddress());
+
+    MessageOutput messageOutput = null;
+    Future<?> pusher = null;
+
+    try {
+      socket.setTcpNoDelay(true);
+
+      DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      MessageOutput streamOutput = new MessageOutput(mapper, output, true);
+      RemoteMessage message;
+
+      messageOutput = streamOutput;
+      pusher = executor.submit(() -> pushFrames(socket, streamOutput));
+
+      while ((message = mapper.decode(input)) != null) {
+        messageHandlerRegistry.processMessage(message, streamOutput);
+        streamOutput.flush();
+      }
+    } catch (Exception e) {
+      log.debug("Streaming connection from {} failed.", socket.getRemoteSocketAddress(), e);
+    } finally {
+      if (pusher != null) {
+        pusher.cancel(true);
+      }
+
+      if (messageOutput != null) {
+        playingTrackManager.detachStreamingOutput(messageOutput);
+      }
+
+      try {
+        socket.close();
+      } catch (IOException e) {
+        log.debug("Failed to close streaming connection from {}.", socket.getRemoteSocketAddress(), e);
+      }
+
+      log.info("Streaming connection from {} closed.", socket.getRemoteSocketAddress());
+    }
+  }
+
+  private void pushFrames(Socket socket, MessageOutput output) {
+    long nextStatisticsTime = 0;
+
+    try {
+      while (!socket.isClosed()) {
+        playingTrackManager.pushFrames(output);
+
+        long now = System.currentTimeMillis();
+
+        if (now >= nextStatisticsTime) {
+          output.send(statisticsManager.getStatistics());
+          nextStatisticsTime = now + STATISTICS_INTERVAL;
+        }
+
+        output.flush();
+        Thread.sleep(FRAME_PUSH_INTERVAL);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.debug("Pushing frames to {} failed, closing the connection.", socket.getRemoteSocketAddress(), e);
+
+      try {
+        socket.close();
+      } catch (IOException closeException) {
+        log.debug("Failed to close the streaming connection.", closeException);
+      }
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package com.sedmelluq.discord.lavaplayer.node;
 
+import com.sedmelluq.discord.lavaplayer.node.AdmissionController.Admission;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageHandler;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.remote.message.PackedAudioFrames;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageType;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartResponseMessage;
@@ -31,9 +35,11 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Component
@@ -41,20 +47,30 @@ public class PlayingTrackManager {
   private static final long ABANDONED_TRACK_THRESHOLD = TimeUnit.SECONDS.toMillis(10);
   private static final long PAUSED_TRACK_TERMINATE_THRESHOLD = TimeUnit.MINUTES.toMillis(30);
   private static final long PAUSED_TRACK_THRESHOLD = TimeUnit.SECONDS.toMillis(2);
+  private static final int DEGRADED_OPUS_QUALITY = 4;
 
   private static final Logger log = LoggerFactory.getLogger(PlayingTrackManager.class);
 
   private final StatisticsManager statisticsManager;
+  private final AdmissionController admissionController;
   private final DefaultAudioPlayerManager manager;
   private final ConcurrentMap<Long, PlayingTrack> tracks;
+  private final ConcurrentLinkedQueue<PackedAudioFrames> packedFramesPool;
 
   @Autowired
-  public PlayingTrackManager(StatisticsManager statisticsManager) {
+  public PlayingTrackManager(StatisticsManager statisticsManager, AdmissionController admissionController) {
     this.statisticsManager = statisticsManager;
+    this.admissionController = admissionController;
     manager = new DefaultAudioPlayerManager();
     tracks = new ConcurrentHashMap<>();
+    packedFramesPool = new ConcurrentLinkedQueue<>();
 
     manager.setUseSeekGhosting(false);
+
+    if (admissionController.isEnabled()) {
+      manager.setTrackMetricsListener(admissionController);
+    }
+
     AudioSourceManagers.registerRemoteSources(manager);
   }
 
@@ -62,19 +78,39 @@ public class PlayingTrackManager {
   private void handleTrackStart(TrackStartRequestMessage message, MessageOutput output) {
     InternalAudioTrack audioTrack = (InternalAudioTrack) manager.decodeTrackDetails(message.trackInfo, message.encodedTrack);
     String failureReason = null;
+    boolean overloaded = false;
+    Admission admission = null;
+
+    if (audioTrack != null && !tracks.containsKey(message.executorId)) {
+      admission = admissionController.admitTrack();
+    }
 
-    if (audioTrack != null) {
+    if (admission == Admission.REJECT) {
+      log.warn("Rejecting track {} (context {}), no processing headroom left.", message.trackInfo.identifier, message.executorId);
+      failureReason = "This node is overloaded.";
+      overloaded = true;
+    } else if (audioTrack != null) {
       if (message.position != 0) {
         audioTrack.setPosition(message.position);
       }
 
-      PlayingTrack playingTrack = new PlayingTrack(message.executorId, message.volume, audioTrack);
+      AudioConfiguration configuration = message.configuration;
+
+      if (admission == Admission.DEGRADE) {
+        configuration = createDegradedConfiguration(configuration);
+        log.info("Starting track {} (context {}) with reduced quality due to low processing headroom.",
+            message.trackInfo.identifier, message.executorId);
+      }
+
+      PlayingTrack playingTrack = new PlayingTrack(message.executorId, message.volume, audioTrack,
+          message.configuration.getOutputFormat().maximumChunkSize());
       PlayingTrack existingTrack = tracks.putIfAbsent(message.executorId, playingTrack);
+      attachStreamingOutput(existingTrack != null ? existingTrack : playingTrack, output);
 
       if (existingTrack == null) {
         log.info("Track start request for {} (context {}, position {})", message.trackInfo.identifier, message.executorId, message.position);
 
-        manager.executeTrack(playingTrack, audioTrack, message.configuration, playingTrack.playerOptions);
+        manager.executeTrack(playingTrack, audioTrack, configuration, playingTrack.playerOptions);
         statisticsManager.increaseTrackCount();
       } else {
         log.info("Start request for an already playing track {} (context {}), applying seek to {} from it.",
@@ -87,7 +123,14 @@ public class PlayingTrackManager {
       failureReason = "This node does not support this type of track.";
     }
 
-    output.send(new TrackStartResponseMessage(message.executorId, failureReason == null, failureReason));
+    output.send(new TrackStartResponseMessage(message.executorId, failureReason == null, failureReason, overloaded));
+  }
+
+  private AudioConfiguration createDegradedConfiguration(AudioConfiguration configuration) {
+    AudioConfiguration degraded = configuration.copy();
+    degraded.setOpusEncodingQuality(Math.min(configuration.getOpusEncodingQuality(), DEGRADED_OPUS_QUALITY));
+    degraded.setResamplingQuality(AudioConfiguration.ResamplingQuality.LOW);
+    return degraded;
   }
 
   @MessageHandler
@@ -96,18 +139,27 @@ public class PlayingTrackManager {
     PlayingTrack track = tracks.get(message.executorId);
     boolean finished = false;
 
-    if (track != null) {
-      submitPendingMessages(track, output);
-
-      track.lastFrameRequestTime = System.currentTimeMillis();
-      track.playerOptions.volumeLevel.set(message.volume);
+    if (output.isStreaming()) {
+      if (track != null) {
+        attachStreamingOutput(track, output);
+        applyFrameRequest(track, message);
+        track.frameCredit.addAndGet(message.maximumFrames);
 
-      if (message.seekPosition >= 0) {
-        track.audioTrack.setPosition(message.seekPosition);
+        if (message.seekPosition >= 0) {
+          track.seekedPosition.set(message.seekPosition);
+        }
       }
 
-      if (message.maximumFrames > 0) {
-        track.lastNonZeroFrameRequestTime = track.lastFrameRequestTime;
+      return;
+    }
+
+    if (track != null) {
+      submitPendingMessages(track, output);
+      applyFrameRequest(track, message);
+
+      if (supportsPackedFrames(output)) {
+        sendPackedFrames(track, output, message.maximumFrames, message.seekPosition, true);
+        return;
       }
 
       finished = consumeFramesFromTrack(frames, track.audioTrack, message.maximumFrames);
@@ -121,6 +173,118 @@ public class PlayingTrackManager {
     output.send(new TrackFrameDataMessage(message.executorId, frames, finished, message.seekPosition));
   }
 
+  private void applyFrameRequest(PlayingTrack track, TrackFrameRequestMessage message) {
+    track.lastFrameRequestTime = System.currentTimeMillis();
+    track.playerOptions.volumeLevel.set(message.volume);
+
+    if (message.seekPosition >= 0) {
+      track.audioTrack.setPosition(message.seekPosition);
+    }
+
+    if (message.maximumFrames > 0) {
+      track.lastNonZeroFrameRequestTime = track.lastFrameRequestTime;
+    }
+  }
+
+  private void attachStreamingOutput(PlayingTrack track, MessageOutput output) {
+    if (output.isStreaming()) {
+      track.streamingOutput = output;
+    }
+  }
+
+  /**
+   * Sends the frames that the tracks of a stream have produced since the last call, as far as the master has granted
+   * credit for them.
+   *
+   * @param output The output of the stream
+   */
+  public void pushFrames(MessageOutput output) {
+    for (PlayingTrack track : tracks.values()) {
+      if (track.streamingOutput == output) {
+        pushTrackFrames(track, output);
+      }
+    }
+  }
+
+  private void pushTrackFrames(PlayingTrack track, MessageOutput output) {
+    long seekedPosition = track.seekedPosition.getAndSet(-1);
+
+    submitPendingMessages(track, output);
+
+    if (supportsPackedFrames(output)) {
+      int frameCount = sendPackedFrames(track, output, track.frameCredit.get(), seekedPosition, seekedPosition >= 0);
+      track.frameCredit.addAndGet(-frameCount);
+      return;
+    }
+
+    List<AudioFrame> frames = new ArrayList<>();
+    boolean finished = consumeFramesFromTrack(frames, track.audioTrack, track.frameCredit.get());
+    track.frameCredit.addAndGet(-frames.size());
+
+    if (finished) {
+      log.info("Clearing ended track {} (context {})", track.audioTrack.getIdentifier(), track.executorId);
+      tracks.remove(track.executorId);
+    }
+
+    if (!frames.isEmpty() || finished || seekedPosition >= 0) {
+      output.send(new TrackFrameDataMessage(track.executorId, frames, finished, seekedPosition));
+    }
+  }
+
+  private boolean supportsPackedFrames(MessageOutput output) {
+    return output.getReceiverVersion(RemoteMessageType.TRACK_FRAME_DATA) >= 2;
+  }
+
+  private int sendPackedFrames(PlayingTrack track, MessageOutput output, int maximumFrames, long seekedPosition,
+                               boolean sendEmpty) {
+
+    PackedAudioFrames packedFrames = packedFramesPool.poll();
+
+    if (packedFrames == null) {
+      packedFrames = new PackedAudioFrames(maximumFrames * track.maximumFrameSize);
+    }
+
+    try {
+      while (packedFrames.getFrameCount() < maximumFrames && packedFrames.addFrom(track.audioTrack, track.maximumFrameSize)) {
+        // Frames are stored directly into the packed array.
+      }
+
+      boolean finished = packedFrames.isTerminated();
+
+      if (finished) {
+        log.info("Clearing ended track {} (context {})", track.audioTrack.getIdentifier(), track.executorId);
+        tracks.remove(track.executorId);
+      }
+
+      int frameCount = packedFrames.getFrameCount();
+
+      if (frameCount > 0 || finished || sendEmpty) {
+        // Encoding happens within send, so the array can be reused right after it.
+        output.send(new TrackFrameDataMessage(track.executorId, packedFrames, finished, seekedPosition));
+      }
+
+      return frameCount;
+    } finally {
+      packedFrames.clear();
+      packedFramesPool.add(packedFrames);
+    }
+  }
+
+  /**
+   * Detaches the tracks from a stream which has been closed. They are stopped as abandoned unless the master resumes
+   * them over another connection.
+   *
+   * @param output The output of the stream
+   */
+  public void detachStreamingOutput(MessageOutput output) {
+    for (PlayingTrack track : tracks.values()) {
+      if (track.streamingOutput == output) {
+        track.streamingOutput = null;
+        track.frameCredit.set(0);
+      }
+    }
+  }
+
   private void submitPendingMessages(PlayingTrack track, MessageOutput output) {
     TrackExceptionMessage exceptionMessage = track.popExceptionMessage();
 
@@ -190,14 +354,21 @@ public class PlayingTrackManager {
     private volatile long lastFrameRequestTime;
     private volatile long lastNonZeroFrameRequestTime;
     private AtomicReference<TrackExceptionMessage> exceptionMessage;
+    private final int maximumFrameSize;
+    private final AtomicInteger frameCredit;
+    private final AtomicLong seekedPosition;
+    private volatile MessageOutput streamingOutput;
 
-    private PlayingTrack(long executorId, int volume, InternalAudioTrack audioTrack) {
+    private PlayingTrack(long executorId, int volume, InternalAudioTrack audioTrack, int maximumFrameSize) {
       this.executorId = executorId;
       this.playerOptions = new AudioPlayerOptions();
       this.audioTrack = audioTrack;
       this.lastFrameRequestTime = System.currentTimeMillis();
       this.lastNonZeroFrameRequestTime = lastFrameRequestTime;
       this.exceptionMessage = new AtomicReference<>();
+      this.maximumFrameSize = maximumFrameSize;
+      this.frameCredit = new AtomicInteger();
+      this.seekedPosition = new AtomicLong(-1);
       playerOptions.volumeLevel.set(volume);
     }
 
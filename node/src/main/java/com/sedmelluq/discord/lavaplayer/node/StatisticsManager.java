@@ -20,10 +20,12 @@ public class StatisticsManager {
   private float processCpuUsage;
   private int playingTrackCount;
   private int totalTrackCount;
+  private float frameHeadroom;
 
   public StatisticsManager() {
     synchronizer = new Object();
     runningCpuStatistics = new ArrayDeque<>();
+    frameHeadroom = -1.0f;
   }
 
   public void updateTrackStatistics(int playingTrackCount, int totalTrackCount) {
@@ -40,9 +42,16 @@ public class StatisticsManager {
     }
   }
 
+  public void updateFrameHeadroom(float frameHeadroom) {
+    synchronized (synchronizer) {
+      this.frameHeadroom = frameHeadroom;
+    }
+  }
+
   public NodeStatisticsMessage getStatistics() {
     synchronized (synchronizer) {
-      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage);
+      return new NodeStatisticsMessage(playingTrackCount, totalTrackCount, systemCpuUsage, processCpuUsage,
+          frameHeadroom);
     }
   }
 
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.node.message;
 
+import com.sedmelluq.discord.lavaplayer.remote.message.CodecVersionsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageType;
 import com.sedmelluq.discord.lavaplayer.remote.message.UnknownMessage;
@@ -21,6 +22,7 @@ public class MessageHandlerRegistry implements BeanPostProcessor {
   private static final Logger log = LoggerFactory.getLogger(MessageHandlerRegistry.class);
 
   private final Map<Class<?>, List<MethodEntry>> mapping;
+  private final CodecVersionsMessage localCodecVersions;
 
   public MessageHandlerRegistry() {
     this.mapping = new IdentityHashMap<>();
@@ -30,9 +32,17 @@ public class MessageHandlerRegistry implements BeanPostProcessor {
     }
 
     mapping.put(UnknownMessage.class, Collections.emptyList());
+    localCodecVersions = CodecVersionsMessage.createLocal();
   }
 
   public void processMessage(RemoteMessage message, MessageOutput messageOutput) {
+    if (message instanceof CodecVersionsMessage) {
+      // Handshake of a persistent stream, the reply tells the master which versions this node supports.
+      messageOutput.setReceiverVersions((CodecVersionsMessage) message);
+      messageOutput.send(localCodecVersions);
+      return;
+    }
+
     for (MethodEntry entry : mapping.get(message.getClass())) {
       try {
         if (entry.hasOutputParameter) {
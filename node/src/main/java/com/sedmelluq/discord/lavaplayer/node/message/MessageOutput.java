@@ -1,7 +1,9 @@
 package com.sedmelluq.discord.lavaplayer.node.message;
 
+import com.sedmelluq.discord.lavaplayer.remote.message.CodecVersionsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageType;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -9,15 +11,53 @@ import java.io.IOException;
 public class MessageOutput {
   private final RemoteMessageMapper mapper;
   private final DataOutputStream output;
+  private final boolean streaming;
+  private volatile CodecVersionsMessage receiverVersions;
 
   public MessageOutput(RemoteMessageMapper mapper, DataOutputStream output) {
+    this(mapper, output, false);
+  }
+
+  public MessageOutput(RemoteMessageMapper mapper, DataOutputStream output, boolean streaming) {
     this.mapper = mapper;
     this.output = output;
+    this.streaming = streaming;
+  }
+
+  /**
+   * @return True if this output is a persistent stream, to which frames are pushed instead of being sent as responses
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * @param receiverVersions Codec versions supported by the master which receives the messages
+   */
+  public void setReceiverVersions(CodecVersionsMessage receiverVersions) {
+    this.receiverVersions = receiverVersions;
+  }
+
+  /**
+   * @param type Message type
+   * @return Latest version of the message type that the master supports, 1 if it has not announced its versions
+   */
+  public int getReceiverVersion(RemoteMessageType type) {
+    CodecVersionsMessage versions = receiverVersions;
+    return versions != null ? versions.getVersion(type) : 1;
+  }
+
+  public synchronized void send(RemoteMessage message) {
+    try {
+      mapper.encode(output, message, receiverVersions);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 
-  public void send(RemoteMessage message) {
+  public synchronized void flush() {
     try {
-      mapper.encode(output, message);
+      output.flush();
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -0,0 +1,214 @@
+package com.sedmelluq.discord.lavaplayer.node
+
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager
+import com.sedmelluq.discord.lavaplayer.player.FunctionalResultHandler
+import com.sedmelluq.discord.lavaplayer.remote.message.CodecVersionsMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartResponseMessage
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStoppedMessage
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack
+import com.sun.net.httpserver.HttpServer
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+@Timeout(30)
+class NodeStreamingServerTest extends Specification {
+  static final long EXECUTOR_ID = 1
+
+  HttpServer httpServer
+  NodeStreamingServer server
+  DefaultAudioPlayerManager manager
+  RemoteMessageMapper mapper = new RemoteMessageMapper()
+  LinkedBlockingQueue<RemoteMessage> received = new LinkedBlockingQueue<>()
+  Socket socket
+  DataOutputStream output
+
+  def setup() {
+    byte[] sample = createSilentWav(5)
+
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+    httpServer.createContext("/sample.wav", { exchange ->
+      exchange.responseHeaders.add("Content-Type", "audio/wav")
+      exchange.sendResponseHeaders(200, sample.length)
+      exchange.responseBody.withCloseable { it.write(sample) }
+    })
+    httpServer.start()
+
+    StatisticsManager statisticsManager = new StatisticsManager()
+    PlayingTrackManager trackManager = new PlayingTrackManager(statisticsManager,
+        new AdmissionController(statisticsManager, false, 0.7, 0.9))
+    MessageHandlerRegistry registry = new MessageHandlerRegistry()
+    registry.postProcessAfterInitialization(trackManager, "playingTrackManager")
+
+    int port = findFreePort()
+    server = new NodeStreamingServer(registry, trackManager, statisticsManager, port)
+    server.start()
+
+    manager = new DefaultAudioPlayerManager()
+    manager.registerSourceManager(new HttpAudioSourceManager())
+
+    socket = connect(port)
+    output = new DataOutputStream(new BufferedOutputStream(socket.outputStream))
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.inputStream))
+
+    Thread.startDaemon {
+      RemoteMessage message
+
+      try {
+        while ((message = mapper.decode(input)) != null) {
+          received.add(message)
+        }
+      } catch (IOException ignored) {
+        // Connection closed by the test.
+      }
+    }
+  }
+
+  def cleanup() {
+    socket?.close()
+    server?.stop()
+    manager?.shutdown()
+    httpServer?.stop(0)
+  }
+
+  def "frames are pushed up to the granted credit and keepalives keep the stream open"() {
+    given:
+    AudioTrack track = loadTrack("http://127.0.0.1:${httpServer.address.port}/sample.wav")
+    AudioConfiguration configuration = manager.configuration.copy()
+    configuration.outputFormat = StandardAudioDataFormats.DISCORD_PCM_S16_BE
+
+    when:
+    send(CodecVersionsMessage.createLocal())
+    send(new TrackStartRequestMessage(EXECUTOR_ID, track.info, manager.encodeTrackDetails(track), 100, configuration, 0))
+
+    then:
+    nextMessage(CodecVersionsMessage) != null
+    nextMessage(TrackStartResponseMessage).success
+
+    when:
+    send(new TrackFrameRequestMessage(EXECUTOR_ID, 10, 100, -1))
+
+    then:
+    receiveFrames(10) == 10
+
+    when:
+    send(new TrackFrameRequestMessage(EXECUTOR_ID, 0, 100, -1))
+    List<RemoteMessage> idleMessages = collectMessages(1500)
+
+    then:
+    !idleMessages.any { it instanceof TrackFrameDataMessage }
+    idleMessages.any { it instanceof NodeStatisticsMessage }
+    !socket.closed
+
+    when:
+    send(new TrackFrameRequestMessage(EXECUTOR_ID, 5, 100, -1))
+
+    then:
+    receiveFrames(5) == 5
+    collectMessages(200).every { !(it instanceof TrackFrameDataMessage) }
+
+    cleanup:
+    send(new TrackStoppedMessage(EXECUTOR_ID))
+  }
+
+  private void send(RemoteMessage message) {
+    mapper.encode(output, message)
+    output.flush()
+  }
+
+  private <T extends RemoteMessage> T nextMessage(Class<T> type) {
+    RemoteMessage message
+
+    while ((message = received.poll(10, TimeUnit.SECONDS)) != null) {
+      if (type.isInstance(message)) {
+        return type.cast(message)
+      }
+    }
+
+    return null
+  }
+
+  private int receiveFrames(int expectedCount) {
+    int frameCount = 0
+
+    while (frameCount < expectedCount) {
+      TrackFrameDataMessage message = nextMessage(TrackFrameDataMessage)
+
+      if (message == null) {
+        break
+      }
+
+      frameCount += message.packedFrames != null ? message.packedFrames.frameCount : message.frames.size()
+    }
+
+    return frameCount
+  }
+
+  private List<RemoteMessage> collectMessages(long duration) {
+    List<RemoteMessage> messages = []
+    long endTime = System.currentTimeMillis() + duration
+    long remaining
+
+    while ((remaining = endTime - System.currentTimeMillis()) > 0) {
+      RemoteMessage message = received.poll(remaining, TimeUnit.MILLISECONDS)
+
+      if (message != null) {
+        messages.add(message)
+      }
+    }
+
+    return messages
+  }
+
+  private AudioTrack loadTrack(String identifier) {
+    CompletableFuture<AudioTrack> result = new CompletableFuture<>()
+
+    manager.loadItem(identifier, new FunctionalResultHandler(
+        { result.complete(it) },
+        { result.completeExceptionally(new IllegalArgumentException()) },
+        { result.completeExceptionally(new NoSuchElementException()) },
+        { result.completeExceptionally(it) }
+    ))
+
+    return result.get(10, TimeUnit.SECONDS)
+  }
+
+  private static Socket connect(int port) {
+    Socket socket = new Socket()
+    socket.connect(new InetSocketAddress(InetAddress.loopbackAddress, port), 5000)
+    socket.tcpNoDelay = true
+    return socket
+  }
+
+  private static int findFreePort() {
+    new ServerSocket(0, 0, InetAddress.loopbackAddress).withCloseable { return it.localPort }
+  }
+
+  private static byte[] createSilentWav(int seconds) {
+    int sampleRate = 48000
+    int channels = 2
+    int dataLength = seconds * sampleRate * channels * 2
+
+    ByteBuffer buffer = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN)
+    buffer.put("RIFF".bytes).putInt(36 + dataLength).put("WAVE".bytes)
+    buffer.put("fmt ".bytes).putInt(16).putShort((short) 1).putShort((short) channels).putInt(sampleRate)
+    buffer.putInt(sampleRate * channels * 2).putShort((short) (channels * 2)).putShort((short) 16)
+    buffer.put("data".bytes).putInt(dataLength)
+    return buffer.array()
+  }
+}
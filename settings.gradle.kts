@@ -4,5 +4,12 @@ include("testbot")
 include("node")
 include("stream-merger")
 include("test-samples")
+include("benchmarks")
 include(":extensions:youtube-rotator")
 include(":extensions:format-xm")
+
+// Needs JDK 17 for the incubating vector API, which the Gradle version of this build cannot run on. Only built when
+// requested with -PpcmVector, the module then compiles with a JDK 17 toolchain.
+if (startParameter.projectProperties.containsKey("pcmVector")) {
+  include(":extensions:pcm-vector")
+}
@@ -1,7 +1,9 @@
 package com.sedmelluq.lava.player.extras.stream;
 
 import com.sedmelluq.discord.lavaplayer.filter.PcmFilterFactory;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEvent;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventListener;
@@ -35,14 +37,23 @@ public class StreamAudioPlayer implements AudioPlayer {
   private final Object lock;
   private final List<AudioEventListener> listeners;
   private final DetachListener detachListener;
+  private final AudioDataFormat outputFormat;
+  private final AudioPlayerOptions options;
   private StreamInstance.Cursor streamCursor;
+  private StreamFrameProcessor frameProcessor;
 
   public StreamAudioPlayer(AudioPlayer fallback, StreamAudioPlayerManager manager) {
+    this(fallback, manager, null);
+  }
+
+  public StreamAudioPlayer(AudioPlayer fallback, StreamAudioPlayerManager manager, AudioDataFormat outputFormat) {
     this.fallback = fallback;
     this.manager = manager;
     this.lock = new Object();
     this.listeners = new ArrayList<>();
     this.detachListener = new DetachListener();
+    this.outputFormat = outputFormat;
+    this.options = new AudioPlayerOptions();
 
     fallback.addListener(new StreamEventListener());
   }
@@ -85,10 +96,13 @@ public class StreamAudioPlayer implements AudioPlayer {
           dispatchEvent(new TrackEndEvent(this, previousTrack, REPLACED));
         }
 
-        streamCursor = manager.openTrack(track, detachListener);
+        AudioDataFormat format = outputFormat != null ? outputFormat : manager.getConfiguration().getOutputFormat();
+        streamCursor = manager.openTrack(track, format, detachListener);
 
         if (streamCursor == null) {
           fallback.startTrack(track, false);
+        } else {
+          frameProcessor = new StreamFrameProcessor(manager.getConfiguration(), format, options);
         }
 
         dispatchEvent(new TrackStartEvent(this, track));
@@ -101,11 +115,7 @@ public class StreamAudioPlayer implements AudioPlayer {
   @Override
   public void stopTrack() {
     synchronized (lock) {
-      if (streamCursor != null) {
-        streamCursor.close();
-        streamCursor = null;
-      }
-
+      detachStream();
       fallback.stopTrack();
     }
   }
@@ -118,11 +128,13 @@ public class StreamAudioPlayer implements AudioPlayer {
   @Override
   public void setVolume(int volume) {
     fallback.setVolume(volume);
+    options.volumeLevel.set(fallback.getVolume());
   }
 
   @Override
   public void setFilterFactory(PcmFilterFactory factory) {
     fallback.setFilterFactory(factory);
+    options.filterFactory.set(factory);
   }
 
   @Override
@@ -143,11 +155,7 @@ public class StreamAudioPlayer implements AudioPlayer {
   @Override
   public void destroy() {
     synchronized (lock) {
-      if (streamCursor != null) {
-        streamCursor.close();
-        streamCursor = null;
-      }
-
+      detachStream();
       fallback.destroy();
     }
   }
@@ -175,17 +183,7 @@ public class StreamAudioPlayer implements AudioPlayer {
   public AudioFrame provide() {
     synchronized (lock) {
       if (streamCursor != null) {
-        AudioFrame frame = streamCursor.provide();
-
-        if (frame == null) {
-          if (streamCursor.getTrack() == null) {
-            detachStream();
-          } else {
-            return null;
-          }
-        } else {
-          return frame;
-        }
+        return provideFromStream();
       }
 
       return fallback.provide();
@@ -196,7 +194,8 @@ public class StreamAudioPlayer implements AudioPlayer {
   public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
     synchronized (lock) {
       if (streamCursor != null) {
-        throw new UnsupportedOperationException();
+        // Frames of a stream are pulled by whichever listener is first, so there is nothing to wait for here.
+        return provideFromStream();
       }
 
       return fallback.provide(timeout, unit);
@@ -207,7 +206,7 @@ public class StreamAudioPlayer implements AudioPlayer {
   public boolean provide(MutableAudioFrame targetFrame) {
     synchronized (lock) {
       if (streamCursor != null) {
-        throw new UnsupportedOperationException();
+        return provideFromStream(targetFrame);
       }
 
       return fallback.provide(targetFrame);
@@ -220,18 +219,56 @@ public class StreamAudioPlayer implements AudioPlayer {
 
     synchronized (lock) {
       if (streamCursor != null) {
-        throw new UnsupportedOperationException();
+        return provideFromStream(targetFrame);
       }
 
       return fallback.provide(targetFrame, timeout, unit);
     }
   }
 
+  private AudioFrame provideFromStream() {
+    AudioFrame frame = streamCursor.provide();
+
+    if (frame == null) {
+      if (streamCursor.getTrack() == null) {
+        detachStream();
+        return fallback.provide();
+      }
+
+      return null;
+    } else if (isPaused()) {
+      // The stream keeps going while paused, so the frames are dropped to continue from the live position on resume.
+      return null;
+    }
+
+    return frameProcessor.process(frame);
+  }
+
+  private boolean provideFromStream(MutableAudioFrame targetFrame) {
+    AudioFrame frame = provideFromStream();
+
+    if (frame == null) {
+      return false;
+    }
+
+    targetFrame.setTimecode(frame.getTimecode());
+    targetFrame.setVolume(frame.getVolume());
+    targetFrame.setFormat(frame.getFormat());
+    targetFrame.setTerminator(frame.isTerminator());
+    targetFrame.store(frame.getData(), 0, frame.getDataLength());
+    return true;
+  }
+
   private void detachStream() {
     if (streamCursor != null) {
       streamCursor.close();
       streamCursor = null;
     }
+
+    if (frameProcessor != null) {
+      frameProcessor.close();
+      frameProcessor = null;
+    }
   }
 
   private void dispatchEvent(AudioEvent event) {
@@ -288,7 +325,7 @@ public class StreamAudioPlayer implements AudioPlayer {
 
     @Override
     public void onTrackStuck(AudioPlayer player, AudioTrack track, long thresholdMs) {
-      dispatchEvent(new TrackStuckEvent(StreamAudioPlayer.this, track, thresholdMs));
+      dispatchEvent(new TrackStuckEvent(StreamAudioPlayer.this, track, thresholdMs, null));
     }
   }
 }
@@ -1,5 +1,6 @@
 package com.sedmelluq.lava.player.extras.stream;
 
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
@@ -22,7 +23,7 @@ import static com.sedmelluq.discord.lavaplayer.tools.DataFormatTools.defaultOnNu
 public class StreamAudioPlayerManager extends DefaultAudioPlayerManager {
   private static final Logger log = LoggerFactory.getLogger(StreamAudioPlayerManager.class);
 
-  private final Map<String, StreamInstance> streams;
+  private final Map<String, Map<AudioDataFormat, StreamInstance>> streams;
   private final Predicate<AudioTrack> condition;
   private final ResolutionCache resolutionCache;
   private final int streamFrameCount;
@@ -39,6 +40,11 @@ public class StreamAudioPlayerManager extends DefaultAudioPlayerManager {
     return new StreamAudioPlayer(super.createPlayer(), this);
   }
 
+  @Override
+  public AudioPlayer createPlayer(AudioDataFormat outputFormat) {
+    return new StreamAudioPlayer(super.createPlayer(outputFormat), this, outputFormat);
+  }
+
   @Override
   public Future<Void> loadItem(String identifier, AudioLoadResultHandler resultHandler) {
     if (loadFromStream(identifier, resultHandler)) {
@@ -59,8 +65,19 @@ public class StreamAudioPlayerManager extends DefaultAudioPlayerManager {
   }
 
   public StreamInstance.Cursor openTrack(AudioTrack track, Consumer<StreamInstance.Cursor> detachListener) {
+    return openTrack(track, getConfiguration().getOutputFormat(), detachListener);
+  }
+
+  /**
+   * Streams are shared per output format, so a track is decoded and encoded only once for each format in use, no
+   * matter how many players are listening to it.
+   */
+  public StreamInstance.Cursor openTrack(AudioTrack track, AudioDataFormat format,
+                                         Consumer<StreamInstance.Cursor> detachListener) {
+
     synchronized (streams) {
-      StreamInstance instance = streams.get(track.getIdentifier());
+      Map<AudioDataFormat, StreamInstance> formatStreams = streams.get(track.getIdentifier());
+      StreamInstance instance = formatStreams != null ? formatStreams.get(format) : null;
 
       if (instance != null) {
         StreamInstance.Cursor cursor = instance.createCursor(detachListener);
@@ -68,7 +85,7 @@ public class StreamAudioPlayerManager extends DefaultAudioPlayerManager {
         if (cursor != null) {
           return cursor;
         } else {
-          streams.remove(track.getIdentifier());
+          removeStream(track.getIdentifier(), format);
         }
       }
 
@@ -76,20 +93,33 @@ public class StreamAudioPlayerManager extends DefaultAudioPlayerManager {
         return null;
       }
 
-      instance = new StreamInstance(track, super.createPlayer(), streamFrameCount);
-      streams.put(track.getIdentifier(), instance);
+      instance = new StreamInstance(track, super.createPlayer(format), streamFrameCount);
+      streams.computeIfAbsent(track.getIdentifier(), identifier -> new HashMap<>()).put(format, instance);
 
       return instance.createCursor(detachListener);
     }
   }
 
+  private void removeStream(String identifier, AudioDataFormat format) {
+    Map<AudioDataFormat, StreamInstance> formatStreams = streams.get(identifier);
+
+    if (formatStreams != null) {
+      formatStreams.remove(format);
+
+      if (formatStreams.isEmpty()) {
+        streams.remove(identifier);
+      }
+    }
+  }
+
   private boolean loadFromStream(String identifier, AudioLoadResultHandler resultHandler) {
     try {
       StreamInstance stream;
 
       synchronized (streams) {
         String finalIdentifier = defaultOnNull(resolutionCache.get(identifier), identifier);
-        stream = streams.get(finalIdentifier);
+        Map<AudioDataFormat, StreamInstance> formatStreams = streams.get(finalIdentifier);
+        stream = formatStreams != null && !formatStreams.isEmpty() ? formatStreams.values().iterator().next() : null;
       }
 
       if (stream != null) {
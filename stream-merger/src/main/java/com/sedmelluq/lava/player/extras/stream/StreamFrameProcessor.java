@@ -0,0 +1,136 @@
+package com.sedmelluq.lava.player.extras.stream;
+
+import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
+import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
+import com.sedmelluq.discord.lavaplayer.filter.PcmFilterFactory;
+import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkDecoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the volume and filters of one listener to the shared frames of a stream. Frames pass through untouched while
+ * the listener uses the default options, the decoder and pipeline only exist while they differ from the defaults.
+ * Everything the filters output for a frame is taken from the output buffer right away, so that filters which produce
+ * more frames than they receive can never block the player. The excess is returned on the following calls, up to the
+ * duration of the output buffer.
+ */
+class StreamFrameProcessor {
+  private static final Logger log = LoggerFactory.getLogger(StreamFrameProcessor.class);
+
+  private static final int OUTPUT_BUFFER_DURATION = 200;
+
+  private final AudioConfiguration configuration;
+  private final AudioDataFormat format;
+  private final AudioPlayerOptions options;
+  private AudioChunkDecoder decoder;
+  private ShortBuffer samples;
+  private AudioFrameBuffer outputBuffer;
+  private ArrayDeque<AudioFrame> pendingFrames;
+  private AudioPipeline pipeline;
+  private PcmFilterFactory pipelineFilterFactory;
+
+  StreamFrameProcessor(AudioConfiguration configuration, AudioDataFormat format, AudioPlayerOptions options) {
+    this.configuration = configuration;
+    this.format = format;
+    this.options = options;
+  }
+
+  synchronized AudioFrame process(AudioFrame frame) {
+    PcmFilterFactory filterFactory = options.filterFactory.get();
+
+    if (filterFactory == null && options.volumeLevel.get() == 100) {
+      close();
+      return frame;
+    }
+
+    try {
+      if (pipeline == null || pipelineFilterFactory != filterFactory) {
+        createPipeline(filterFactory, frame.getTimecode());
+      }
+
+      decoder.decode(frame.getData(), samples);
+
+      samples.clear();
+      pipeline.process(samples);
+
+      drainOutput();
+      return pendingFrames.poll();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (Exception e) {
+      log.error("Failed to apply listener options to a stream frame, sending it unprocessed.", e);
+      close();
+      return frame;
+    }
+  }
+
+  private void drainOutput() {
+    AudioFrame outputFrame;
+
+    while ((outputFrame = outputBuffer.provide()) != null) {
+      pendingFrames.add(outputFrame);
+    }
+
+    int droppedCount = 0;
+
+    while (pendingFrames.size() > outputBuffer.getFullCapacity()) {
+      pendingFrames.poll();
+      droppedCount++;
+    }
+
+    if (droppedCount > 0) {
+      log.debug("Filters produced more frames than the stream, dropped {} of them.", droppedCount);
+    }
+  }
+
+  synchronized void close() {
+    if (pipeline != null) {
+      pipeline.close();
+      pipeline = null;
+      pipelineFilterFactory = null;
+    }
+
+    if (decoder != null) {
+      decoder.close();
+      decoder = null;
+    }
+  }
+
+  private void createPipeline(PcmFilterFactory filterFactory, long timecode) {
+    close();
+
+    if (samples == null) {
+      samples = ByteBuffer
+          .allocateDirect(format.totalSampleCount() * 2)
+          .order(ByteOrder.nativeOrder())
+          .asShortBuffer();
+
+      outputBuffer = new AllocatingAudioFrameBuffer(OUTPUT_BUFFER_DURATION, format, new AtomicBoolean());
+      pendingFrames = new ArrayDeque<>();
+    }
+
+    outputBuffer.clear();
+    pendingFrames.clear();
+
+    AudioProcessingContext context = new AudioProcessingContext(configuration, outputBuffer, options, format);
+    decoder = format.createDecoder();
+    pipeline = AudioPipelineFactory.create(context, new PcmFormat(format.channelCount, format.sampleRate));
+    pipeline.seekPerformed(timecode, timecode);
+    pipelineFilterFactory = filterFactory;
+  }
+}
@@ -100,8 +100,12 @@ public class StreamInstance {
         return null;
       }
 
-      absoluteOffset++;
-      frameCount = Math.min(frameCount + 1, ringBuffer.length);
+      // The ring holds the frames from absoluteOffset onwards, the oldest one is only dropped once it is full.
+      if (frameCount < ringBuffer.length) {
+        frameCount++;
+      } else {
+        absoluteOffset++;
+      }
 
       int framePosition = getRelativeOffset(absoluteOffset + frameCount - 1);
       ringBuffer[framePosition] = newFrame;